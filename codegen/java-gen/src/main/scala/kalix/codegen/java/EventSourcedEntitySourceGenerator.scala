@@ -47,18 +47,30 @@ object EventSourcedEntitySourceGenerator {
 
     val stateType = entity.state.messageType.fullName
 
+    // events are dispatched on their index in the event classes, a class lookup and a switch,
+    // rather than an instanceof chain, which is linear in the number of event types
+    val eventClassIndex =
+      if (entity.events.isEmpty) ""
+      else
+        Format.indent(
+          s"""|private static final EventSourcedEntityRouter.EventClassIndex eventClasses =
+              |    EventSourcedEntityRouter.eventClassIndex(
+              |        ${entity.events.map(evt => s"${evt.messageType.fullName}.class").mkString(",\n        ")});""".stripMargin,
+          2) + "\n\n  "
+
     val eventCases = {
       if (entity.events.isEmpty)
         List(s"throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());")
       else
+        "switch (eventClasses.indexOf(event)) {" +:
         entity.events.zipWithIndex.map { case (evt, i) =>
           val eventType = evt.messageType.fullName
-          s"""|${if (i == 0) "" else "} else "}if (event instanceof $eventType) {
-              |  return entity().${lowerFirst(evt.messageType.name)}(state, ($eventType) event);""".stripMargin
+          s"""|  case $i:
+              |    return entity().${lowerFirst(evt.messageType.name)}(state, ($eventType) event);""".stripMargin
         }.toSeq :+
-        s"""|} else {
-              |  throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
-              |}""".stripMargin
+        s"""|  default:
+            |    throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
+            |}""".stripMargin
     }
 
     val commandCases = service.commands
@@ -82,7 +94,7 @@ object EventSourcedEntitySourceGenerator {
        | */
        |public class ${className}Router extends EventSourcedEntityRouter<$stateType, Object, ${entity.messageType.name}> {
        |
-       |  public ${className}Router(${entity.messageType.name} entity) {
+       |  ${eventClassIndex}public ${className}Router(${entity.messageType.name} entity) {
        |    super(entity);
        |  }
        |
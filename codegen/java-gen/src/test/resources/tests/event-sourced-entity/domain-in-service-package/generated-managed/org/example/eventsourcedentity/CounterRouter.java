@@ -15,18 +15,24 @@ import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter;
  */
 public class CounterRouter extends EventSourcedEntityRouter<CounterDomain.CounterState, Object, Counter> {
 
+  private static final EventSourcedEntityRouter.EventClassIndex eventClasses =
+      EventSourcedEntityRouter.eventClassIndex(
+          CounterDomain.Increased.class,
+          CounterDomain.Decreased.class);
+
   public CounterRouter(Counter entity) {
     super(entity);
   }
 
   @Override
   public CounterDomain.CounterState handleEvent(CounterDomain.CounterState state, Object event) {
-    if (event instanceof CounterDomain.Increased) {
-      return entity().increased(state, (CounterDomain.Increased) event);
-    } else if (event instanceof CounterDomain.Decreased) {
-      return entity().decreased(state, (CounterDomain.Decreased) event);
-    } else {
-      throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
+    switch (eventClasses.indexOf(event)) {
+      case 0:
+        return entity().increased(state, (CounterDomain.Increased) event);
+      case 1:
+        return entity().decreased(state, (CounterDomain.Decreased) event);
+      default:
+        throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
     }
   }
 
@@ -18,18 +18,24 @@ import org.example.eventsourcedentity.state.OuterCounterState;
  */
 public class CounterRouter extends EventSourcedEntityRouter<OuterCounterState.CounterState, Object, Counter> {
 
+  private static final EventSourcedEntityRouter.EventClassIndex eventClasses =
+      EventSourcedEntityRouter.eventClassIndex(
+          OuterCounterEvents.Increased.class,
+          OuterCounterEvents.Decreased.class);
+
   public CounterRouter(Counter entity) {
     super(entity);
   }
 
   @Override
   public OuterCounterState.CounterState handleEvent(OuterCounterState.CounterState state, Object event) {
-    if (event instanceof OuterCounterEvents.Increased) {
-      return entity().increased(state, (OuterCounterEvents.Increased) event);
-    } else if (event instanceof OuterCounterEvents.Decreased) {
-      return entity().decreased(state, (OuterCounterEvents.Decreased) event);
-    } else {
-      throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
+    switch (eventClasses.indexOf(event)) {
+      case 0:
+        return entity().increased(state, (OuterCounterEvents.Increased) event);
+      case 1:
+        return entity().decreased(state, (OuterCounterEvents.Decreased) event);
+      default:
+        throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
     }
   }
 
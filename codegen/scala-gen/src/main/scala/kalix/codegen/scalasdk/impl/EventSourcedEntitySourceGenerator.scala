@@ -93,12 +93,34 @@ object EventSourcedEntitySourceGenerator {
     val stateType = eventSourcedEntity.state.messageType
     val eventSourcedEntityName = eventSourcedEntity.messageType
 
-    val eventCases = eventSourcedEntity.events.map { evt =>
-      c"""|case evt: ${evt.messageType} =>
-          |  entity.${lowerFirst(evt.messageType.name)}(state, evt)
+    // events are dispatched on their index in the event classes, a class lookup and a switch,
+    // rather than a type pattern per event type, which is linear in the number of event types
+    val events = eventSourcedEntity.events.toSeq
+
+    val eventClasses = events.zipWithIndex.map { case (evt, i) =>
+      val separator = if (i == events.size - 1) ")" else ","
+      c"classOf[${evt.messageType}]$separator"
+    }
+
+    val eventCases = events.zipWithIndex.map { case (evt, i) =>
+      c"""|case ${i.toString} =>
+          |  entity.${lowerFirst(evt.messageType.name)}(state, event.asInstanceOf[${evt.messageType}])
           |"""
     }
 
+    val routerObject =
+      if (events.isEmpty) c""
+      else
+        c"""|object ${eventSourcedEntityName}Router {
+            |  private val eventClasses =
+            |    $eventClassIndex(
+            |      $eventClasses
+            |}
+            |
+            |"""
+
+    val eventDispatch = if (events.isEmpty) c"event" else c"${eventSourcedEntityName}Router.eventClasses.indexOf(event)"
+
     val commandCases = service.commands
       .map { cmd =>
         val methodName = cmd.name
@@ -111,7 +133,7 @@ object EventSourcedEntitySourceGenerator {
       eventSourcedEntity.routerName,
       c"""|$managedComment
           |
-          |/**
+          |${routerObject}/**
           | * An event sourced entity handler that is the glue between the Protobuf service <code>CounterService</code>
           | * and the command handler methods in the <code>Counter</code> class.
           | */
@@ -124,7 +146,7 @@ object EventSourcedEntitySourceGenerator {
           |    }
           |  }
           |  def handleEvent(state: $stateType, event: Any): $stateType = {
-          |    event match {
+          |    $eventDispatch match {
           |      $eventCases
           |      case _ =>
           |        throw new $EventHandlerNotFound(event.getClass)
@@ -42,6 +42,8 @@ object Types {
       "kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.CommandHandlerNotFound")
     val EventHandlerNotFound = ClassMessageType(
       "kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.EventHandlerNotFound")
+    val eventClassIndex = ClassMessageType(
+      "kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.eventClassIndex")
   }
 
   object ValueEntity {
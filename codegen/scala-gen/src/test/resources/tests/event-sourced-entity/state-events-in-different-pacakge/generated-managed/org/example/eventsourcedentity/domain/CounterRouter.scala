@@ -2,6 +2,7 @@ package org.example.eventsourcedentity.domain
 
 import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.CommandHandlerNotFound
 import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.EventHandlerNotFound
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.eventClassIndex
 import kalix.scalasdk.eventsourcedentity.CommandContext
 import kalix.scalasdk.eventsourcedentity.EventSourcedEntity
 import kalix.scalasdk.impl.eventsourcedentity.EventSourcedEntityRouter
@@ -14,6 +15,13 @@ import org.example.eventsourcedentity.state.CounterState
 // It will be re-generated to reflect any changes to your protobuf definitions.
 // DO NOT EDIT
 
+object CounterRouter {
+  private val eventClasses =
+    eventClassIndex(
+      classOf[Increased],
+      classOf[Decreased])
+}
+
 /**
  * An event sourced entity handler that is the glue between the Protobuf service <code>CounterService</code>
  * and the command handler methods in the <code>Counter</code> class.
@@ -32,12 +40,12 @@ class CounterRouter(entity: Counter) extends EventSourcedEntityRouter[CounterSta
     }
   }
   def handleEvent(state: CounterState, event: Any): CounterState = {
-    event match {
-      case evt: Increased =>
-        entity.increased(state, evt)
+    CounterRouter.eventClasses.indexOf(event) match {
+      case 0 =>
+        entity.increased(state, event.asInstanceOf[Increased])
 
-      case evt: Decreased =>
-        entity.decreased(state, evt)
+      case 1 =>
+        entity.decreased(state, event.asInstanceOf[Decreased])
 
       case _ =>
         throw new EventHandlerNotFound(event.getClass)
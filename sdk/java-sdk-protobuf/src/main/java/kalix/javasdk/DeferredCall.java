@@ -16,6 +16,10 @@
 
 package kalix.javasdk;
 
+import kalix.javasdk.impl.VirtualThreadExecutorConfigurator;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -42,6 +46,78 @@ public interface DeferredCall<I, O> {
    */
   CompletionStage<O> execute();
 
+  /**
+   * Execute this call right away and wait for the result. Blocks the calling thread, so should only
+   * be used from components running on virtual threads, see the {@code
+   * kalix.system.virtual-thread-dispatcher} in the reference configuration, or on another
+   * dispatcher dedicated to blocking calls. A warning is logged the first time it is called on a
+   * thread that is not a virtual thread.
+   *
+   * @throws java.util.concurrent.CompletionException if the call failed with a checked exception,
+   *     unchecked exceptions are thrown as is
+   */
+  default O executeBlocking() {
+    VirtualThreadExecutorConfigurator.checkBlockingCall("DeferredCall.executeBlocking()");
+    try {
+      return execute().toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+      else throw e;
+    }
+  }
+
   /** @return DeferredCall with updated metadata */
   DeferredCall<I, O> withMetadata(Metadata metadata);
+
+  /**
+   * Limit how long {@link #execute()} waits for a reply. Each attempt, including retries and hedged
+   * attempts, fails with a {@link java.util.concurrent.TimeoutException} if no reply arrived
+   * within the timeout.
+   *
+   * <p>Only applies when the call is executed right away, not when it is used as a forward or a
+   * side effect.
+   *
+   * <p>The default implementation ignores the timeout and returns this call unchanged, the calls
+   * created by the SDK override it.
+   *
+   * @return DeferredCall with the given timeout per attempt
+   */
+  default DeferredCall<I, O> withTimeout(Duration timeout) {
+    return this;
+  }
+
+  /**
+   * Retry a failed {@link #execute()} up to {@code maxRetries} times, waiting {@code delay} between
+   * attempts. Only errors that may succeed on a new attempt, such as timeouts or an unavailable
+   * service, are retried. Should only be used for idempotent calls.
+   *
+   * <p>Only applies when the call is executed right away, not when it is used as a forward or a
+   * side effect.
+   *
+   * <p>The default implementation ignores the retry policy and returns this call unchanged, the
+   * calls created by the SDK override it.
+   *
+   * @return DeferredCall with the given retry policy
+   */
+  default DeferredCall<I, O> withRetry(int maxRetries, Duration delay) {
+    return this;
+  }
+
+  /**
+   * Issue a second, identical, attempt if {@link #execute()} did not complete within {@code
+   * hedgeDelay}. The first successful reply is used and the other attempt is cancelled. A good
+   * value for the delay is around the p95 latency of the called method. Should only be used for
+   * idempotent calls, since both attempts may reach the called component.
+   *
+   * <p>Only applies when the call is executed right away, not when it is used as a forward or a
+   * side effect.
+   *
+   * <p>The default implementation ignores the hedging and returns this call unchanged, the calls
+   * created by the SDK override it.
+   *
+   * @return DeferredCall with hedging enabled
+   */
+  default DeferredCall<I, O> withHedging(Duration hedgeDelay) {
+    return this;
+  }
 }
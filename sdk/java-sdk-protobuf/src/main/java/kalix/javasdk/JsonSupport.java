@@ -34,6 +34,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.UnsafeByteOperations;
@@ -49,8 +50,19 @@ public final class JsonSupport {
 
   public static final String KALIX_JSON = "json.kalix.io/";
 
+  /**
+   * Type URL prefix of values encoded as Smile, a binary form of JSON which is smaller and faster
+   * to parse. Such values can be decoded with the same methods as JSON values.
+   */
+  public static final String KALIX_SMILE = "smile.kalix.io/";
+
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
+  // created on first use, so that it gets the configuration applied to the JSON object mapper
+  private static final class SmileMapperHolder {
+    static final ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+  }
+
   static {
     // Date/time in ISO-8601 (rfc3339) yyyy-MM-dd'T'HH:mm:ss.SSSZ format
     // as defined by com.fasterxml.jackson.databind.util.StdDateFormat
@@ -128,14 +140,49 @@ public final class JsonSupport {
     }
   }
 
+  /**
+   * Encode the given value as Smile, the binary form of JSON, using Jackson and put the encoded
+   * bytes in a protobuf Any with the type URL {@code "smile.kalix.io/[jsonType]"}.
+   *
+   * <p>Only use for values that are read by this service alone, such as entity state and events
+   * that are not consumed by views, Kalix can't read the encoded values as it reads JSON.
+   *
+   * @throws IllegalArgumentException if the given value cannot be encoded
+   */
+  public static <T> Any encodeSmile(T value, String jsonType) {
+    try {
+      ByteString bytes = encodeToSmileBytes(value);
+      ByteString encodedBytes = ByteStringEncoding.encodePrimitiveBytes(bytes);
+      return Any.newBuilder().setTypeUrl(KALIX_SMILE + jsonType).setValue(encodedBytes).build();
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException(
+          "Could not encode [" + value.getClass().getName() + "] as Smile", ex);
+    }
+  }
+
+  /** @return true if the type URL is the one of a value encoded as JSON or Smile */
+  public static boolean isJson(String typeUrl) {
+    return typeUrl.startsWith(KALIX_JSON) || typeUrl.startsWith(KALIX_SMILE);
+  }
+
+  private static ObjectMapper mapperFor(Any any) {
+    return any.getTypeUrl().startsWith(KALIX_SMILE) ? SmileMapperHolder.smileMapper : objectMapper;
+  }
+
   public static <T> ByteString encodeToBytes(T value) throws JsonProcessingException {
     return UnsafeByteOperations.unsafeWrap(
         objectMapper.writerFor(value.getClass()).writeValueAsBytes(value));
   }
 
+  public static <T> ByteString encodeToSmileBytes(T value) throws JsonProcessingException {
+    return UnsafeByteOperations.unsafeWrap(
+        SmileMapperHolder.smileMapper.writerFor(value.getClass()).writeValueAsBytes(value));
+  }
+
   /**
    * Decode the given protobuf Any object to an instance of T using Jackson. The object must have
-   * the JSON string as bytes as value and a type URL starting with "json.kalix.io/".
+   * the JSON string as bytes as value and a type URL starting with "json.kalix.io/", or the Smile
+   * encoded bytes and a type URL starting with "smile.kalix.io/".
    *
    * @param valueClass The type of class to deserialize the object to, the class must have the
    *                   proper Jackson annotations for deserialization.
@@ -144,7 +191,7 @@ public final class JsonSupport {
    * @throws IllegalArgumentException if the given value cannot be decoded to a T
    */
   public static <T> T decodeJson(Class<T> valueClass, Any any) {
-    if (!any.getTypeUrl().startsWith(KALIX_JSON)) {
+    if (!isJson(any.getTypeUrl())) {
       throw new IllegalArgumentException(
           "Protobuf bytes with type url ["
               + any.getTypeUrl()
@@ -163,17 +210,17 @@ public final class JsonSupport {
           int currentVersion = migration.currentVersion();
           int supportedForwardVersion = migration.supportedForwardVersion();
           if (fromVersion < currentVersion) {
-            return migrate(valueClass, decodedBytes, fromVersion, migration);
+            return migrate(mapperFor(any), valueClass, decodedBytes, fromVersion, migration);
           } else if (fromVersion == currentVersion) {
-            return parseBytes(decodedBytes.toByteArray(), valueClass);
+            return mapperFor(any).readValue(decodedBytes.toByteArray(), valueClass);
           } else if (fromVersion <= supportedForwardVersion) {
-            return migrate(valueClass, decodedBytes, fromVersion, migration);
+            return migrate(mapperFor(any), valueClass, decodedBytes, fromVersion, migration);
           } else {
             throw new IllegalStateException("Migration version " + supportedForwardVersion + " is " +
                 "behind version " + fromVersion + " of deserialized type [" + valueClass.getName() + "]");
           }
         } else {
-          return parseBytes(decodedBytes.toByteArray(), valueClass);
+          return mapperFor(any).readValue(decodedBytes.toByteArray(), valueClass);
         }
       } catch (JsonProcessingException e) {
         throw jsonProcessingException(valueClass, any, e);
@@ -208,10 +255,10 @@ public final class JsonSupport {
         e);
   }
 
-  private static <T> T migrate(Class<T> valueClass, ByteString decodedBytes, int fromVersion, JsonMigration jsonMigration) throws IOException {
-    JsonNode jsonNode = objectMapper.readTree(decodedBytes.toByteArray());
+  private static <T> T migrate(ObjectMapper mapper, Class<T> valueClass, ByteString decodedBytes, int fromVersion, JsonMigration jsonMigration) throws IOException {
+    JsonNode jsonNode = mapper.readTree(decodedBytes.toByteArray());
     JsonNode newJsonNode = jsonMigration.transform(fromVersion, jsonNode);
-    return objectMapper.treeToValue(newJsonNode, valueClass);
+    return mapper.treeToValue(newJsonNode, valueClass);
   }
 
   private static int parseVersion(String typeUrl) {
@@ -225,7 +272,7 @@ public final class JsonSupport {
   }
 
   public static <T, C extends Collection<T>> C decodeJsonCollection(Class<T> valueClass, Class<C> collectionType, Any any) {
-    if (!any.getTypeUrl().startsWith(KALIX_JSON)) {
+    if (!isJson(any.getTypeUrl())) {
       throw new IllegalArgumentException(
           "Protobuf bytes with type url ["
               + any.getTypeUrl()
@@ -236,7 +283,7 @@ public final class JsonSupport {
       try {
         ByteString decodedBytes = ByteStringEncoding.decodePrimitiveBytes(any.getValue());
         var typeRef = objectMapper.getTypeFactory().constructCollectionType(collectionType, valueClass);
-        return objectMapper.readValue(decodedBytes.toByteArray(), typeRef);
+        return mapperFor(any).readValue(decodedBytes.toByteArray(), typeRef);
       } catch (JsonProcessingException e) {
         throw jsonProcessingException(valueClass, any, e);
       } catch (IOException e) {
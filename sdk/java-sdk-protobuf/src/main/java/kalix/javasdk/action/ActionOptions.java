@@ -20,13 +20,14 @@ import kalix.javasdk.impl.ComponentOptions;
 import kalix.javasdk.impl.action.ActionOptionsImpl;
 
 import java.util.Collections;
+import java.util.Optional;
 
 /** Options for actions */
 public interface ActionOptions extends ComponentOptions {
 
   /** Create default options for an action. */
   static ActionOptions defaults() {
-    return new ActionOptionsImpl(Collections.emptySet());
+    return new ActionOptionsImpl(Collections.emptySet(), Optional.empty());
   }
 
   /**
@@ -40,4 +41,30 @@ public interface ActionOptions extends ComponentOptions {
    * incoming commands. By default, no headers except "X-Server-Timing" are forwarded.
    */
   ActionOptions withForwardHeaders(java.util.Set<String> headers);
+
+  /**
+   * @return the maximum number of concurrent requests, if limited with {@link
+   *     #withConcurrencyLimit(int)}
+   */
+  default Optional<Integer> concurrencyLimit() {
+    return Optional.empty();
+  }
+
+  /**
+   * Limit the number of unary requests the action handles concurrently. The actual limit adapts to
+   * the latency of the action, shrinking when requests start to queue up and latencies grow, and
+   * growing up to {@code maxConcurrency} as long as latencies stay stable. Requests over the limit
+   * are rejected right away with the gRPC status {@code UNAVAILABLE}, so that they can be retried,
+   * instead of adding to the latency of all requests.
+   *
+   * <p>The current limit and the number of requests in flight are reported as the OpenTelemetry
+   * gauges {@code kalix.component.concurrency.limit} and {@code
+   * kalix.component.concurrency.in_flight}, if a global OpenTelemetry instance is configured.
+   *
+   * <p>The default implementation ignores the limit and returns these options unchanged, the
+   * options created by {@link #defaults()} override it.
+   */
+  default ActionOptions withConcurrencyLimit(int maxConcurrency) {
+    return this;
+  }
 }
@@ -21,6 +21,7 @@ import kalix.javasdk.PassivationStrategy;
 import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityOptionsImpl;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 
 /** Root entity options for all event sourcing entities. */
@@ -39,6 +40,42 @@ public interface EventSourcedEntityOptions extends EntityOptions {
    */
   EventSourcedEntityOptions withSnapshotEvery(int numberOfEvents);
 
+  /**
+   * @return The snapshot policy of the entity, if one was set with {@link
+   *     #withSnapshotPolicy(SnapshotPolicy)}
+   */
+  default Optional<SnapshotPolicy> snapshotPolicy() {
+    return Optional.empty();
+  }
+
+  /**
+   * Specifies when snapshots of the entity state should be made, based on the number, the size of
+   * the events or the time it takes to apply them. Takes precedence over {@link
+   * #withSnapshotEvery(int)} and the default from the configuration file.
+   */
+  EventSourcedEntityOptions withSnapshotPolicy(SnapshotPolicy snapshotPolicy);
+
+  /**
+   * @return the size in bytes from which events and snapshots are compressed, if enabled with
+   *     {@link #withCompression(int)}
+   */
+  default Optional<Integer> compressionThreshold() {
+    return Optional.empty();
+  }
+
+  /**
+   * Compress events and snapshots of at least the given size in bytes before sending them to Kalix,
+   * to reduce storage and network usage. Compressed payloads are transparently decompressed when
+   * read by this service.
+   *
+   * <p>Compressed events are stored with a different type url (with a {@code ;deflate} suffix) and
+   * can not be read by anything else than the entity itself: views and subscriptions consuming the
+   * events of the entity, in this service as well as in other services, no longer match or decode
+   * them, and neither can Kalix itself. Only enable this for entities whose events are not consumed
+   * elsewhere.
+   */
+  EventSourcedEntityOptions withCompression(int thresholdBytes);
+
   /**
    * @deprecated passivation strategy is ignored
    */
@@ -56,6 +93,10 @@ public interface EventSourcedEntityOptions extends EntityOptions {
    */
   static EventSourcedEntityOptions defaults() {
     return new EventSourcedEntityOptionsImpl(
-        0, PassivationStrategy.defaultTimeout(), Collections.emptySet());
+        0,
+        PassivationStrategy.defaultTimeout(),
+        Collections.emptySet(),
+        Optional.empty(),
+        Optional.empty());
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.eventsourcedentity;
+
+import java.time.Duration;
+
+/**
+ * Decides when a snapshot of the state of an event sourced entity should be stored, to bound the
+ * cost of recovering the entity. The policy is consulted after each command that persisted events.
+ *
+ * <p>Policies can be combined with {@link #or(SnapshotPolicy)}, for example to snapshot after 100
+ * events or 1 MB of events, whatever comes first:
+ *
+ * <pre>{@code
+ * EventSourcedEntityOptions.defaults()
+ *   .withSnapshotPolicy(
+ *     SnapshotPolicy.everyEvents(100).or(SnapshotPolicy.everyEventBytes(1024 * 1024)));
+ * }</pre>
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+
+  /** Statistics about the events of an entity instance since its last snapshot. */
+  interface Stats {
+
+    /** @return The sequence number of the last persisted event */
+    long sequenceNumber();
+
+    /** @return The number of events persisted since the last snapshot */
+    long eventsSinceSnapshot();
+
+    /**
+     * @return The serialized size of the events persisted since the last snapshot, as far as known
+     *     by this entity instance
+     */
+    long eventBytesSinceSnapshot();
+
+    /**
+     * @return The time spent in the event handler applying the events since the last snapshot, as
+     *     far as known by this entity instance. This approximates the time it takes to recover the
+     *     entity from its last snapshot.
+     */
+    Duration replayTime();
+  }
+
+  /** @return true if the current state should be stored as a snapshot */
+  boolean shouldSnapshot(Stats stats);
+
+  /** @return A policy that snapshots when either this or the other policy asks for it */
+  default SnapshotPolicy or(SnapshotPolicy other) {
+    return stats -> shouldSnapshot(stats) || other.shouldSnapshot(stats);
+  }
+
+  /** Snapshot once the given number of events were persisted since the last snapshot. */
+  static SnapshotPolicy everyEvents(int numberOfEvents) {
+    if (numberOfEvents < 1)
+      throw new IllegalArgumentException(
+          "numberOfEvents must be positive, was [" + numberOfEvents + "]");
+    return stats -> stats.eventsSinceSnapshot() >= numberOfEvents;
+  }
+
+  /**
+   * Snapshot once the serialized size of the events since the last snapshot reaches the given
+   * number of bytes.
+   */
+  static SnapshotPolicy everyEventBytes(long bytes) {
+    if (bytes < 1)
+      throw new IllegalArgumentException("bytes must be positive, was [" + bytes + "]");
+    return stats -> stats.eventBytesSinceSnapshot() >= bytes;
+  }
+
+  /**
+   * Snapshot once applying the events since the last snapshot took longer than the given
+   * threshold, for entities with expensive event handlers.
+   */
+  static SnapshotPolicy whenReplayTimeExceeds(Duration threshold) {
+    if (threshold.isNegative())
+      throw new IllegalArgumentException(
+          "threshold must not be negative, was [" + threshold + "]");
+    return stats -> stats.replayTime().compareTo(threshold) > 0;
+  }
+
+  /**
+   * Never snapshot. Not recommended unless the entities are known to only ever have a few events.
+   */
+  static SnapshotPolicy never() {
+    return stats -> false;
+  }
+}
@@ -20,6 +20,8 @@ import akka.Done;
 import kalix.javasdk.DeferredCall;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 public interface TimerScheduler {
@@ -72,4 +74,46 @@ public interface TimerScheduler {
    * name.
    */
   CompletionStage<Done> cancel(String name);
+
+  /**
+   * Schedule several single timers in Kalix, see {@link #startSingleTimer(String, Duration, int,
+   * DeferredCall)}. The timer scheduler provided by the SDK schedules them with a bounded number of
+   * concurrent requests instead of one after the other.
+   *
+   * <p>The returned {@link CompletionStage} completes once all timers are scheduled. If scheduling
+   * one of them fails, it fails and the timers not scheduled yet are skipped. Timers already
+   * scheduled are kept, and since a timer with the same name replaces the previous one, the whole
+   * batch can be retried.
+   *
+   * <p>The default implementation schedules the timers one after the other.
+   *
+   * @param timers the timers to schedule
+   */
+  default CompletionStage<Done> startSingleTimers(Collection<TimerSpec> timers) {
+    CompletionStage<Done> result = CompletableFuture.completedFuture(Done.getInstance());
+    for (TimerSpec timer : timers) {
+      result =
+          result.thenCompose(
+              done ->
+                  startSingleTimer(
+                      timer.name(), timer.delay(), timer.maxRetries(), timer.deferredCall()));
+    }
+    return result;
+  }
+
+  /**
+   * Cancel several existing timers. The timer scheduler provided by the SDK cancels them with a
+   * bounded number of concurrent requests, the default implementation one after the other. The
+   * returned {@link CompletionStage} completes once all timers are cancelled, timers that are not
+   * registered are ignored.
+   *
+   * @param names the names of the timers to cancel
+   */
+  default CompletionStage<Done> cancel(Collection<String> names) {
+    CompletionStage<Done> result = CompletableFuture.completedFuture(Done.getInstance());
+    for (String name : names) {
+      result = result.thenCompose(done -> cancel(name));
+    }
+    return result;
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.timer;
+
+import kalix.javasdk.DeferredCall;
+
+import java.time.Duration;
+
+/**
+ * A single timer to schedule together with others through {@link
+ * TimerScheduler#startSingleTimers(java.util.Collection)}. The parameters have the same meaning as
+ * for {@link TimerScheduler#startSingleTimer(String, Duration, int, DeferredCall)}.
+ */
+public final class TimerSpec {
+
+  private final String name;
+  private final Duration delay;
+  private final int maxRetries;
+  private final DeferredCall<?, ?> deferredCall;
+
+  private TimerSpec(String name, Duration delay, int maxRetries, DeferredCall<?, ?> deferredCall) {
+    this.name = name;
+    this.delay = delay;
+    this.maxRetries = maxRetries;
+    this.deferredCall = deferredCall;
+  }
+
+  /**
+   * @param name unique name for the timer
+   * @param delay delay, starting from now, in which the timer should be triggered
+   * @param deferredCall a call to component that will be executed when the timer is triggered
+   */
+  public static TimerSpec of(String name, Duration delay, DeferredCall<?, ?> deferredCall) {
+    return new TimerSpec(name, delay, 0, deferredCall);
+  }
+
+  /**
+   * @param name unique name for the timer
+   * @param delay delay, starting from now, in which the timer should be triggered
+   * @param maxRetries Retry up to this many times before giving up
+   * @param deferredCall a call to component that will be executed when the timer is triggered
+   */
+  public static TimerSpec of(
+      String name, Duration delay, int maxRetries, DeferredCall<?, ?> deferredCall) {
+    return new TimerSpec(name, delay, maxRetries, deferredCall);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public Duration delay() {
+    return delay;
+  }
+
+  public int maxRetries() {
+    return maxRetries;
+  }
+
+  public DeferredCall<?, ?> deferredCall() {
+    return deferredCall;
+  }
+
+  @Override
+  public String toString() {
+    return "TimerSpec(" + name + ", " + delay + ", " + maxRetries + ")";
+  }
+}
@@ -19,6 +19,7 @@ package kalix.javasdk.valueentity;
 import kalix.javasdk.PassivationStrategy;
 import kalix.javasdk.impl.valueentity.ValueEntityOptionsImpl;
 
+import java.util.Optional;
 import java.util.Set;
 
 /** Root entity options for all value based entities. */
@@ -34,6 +35,27 @@ public interface ValueEntityOptions extends kalix.javasdk.EntityOptions {
   @Override
   ValueEntityOptions withForwardHeaders(Set<String> headers);
 
+  /**
+   * @return the size in bytes from which states are compressed, if enabled with {@link
+   *     #withCompression(int)}
+   */
+  default Optional<Integer> compressionThreshold() {
+    return Optional.empty();
+  }
+
+  /**
+   * Compress states of at least the given size in bytes before sending them to Kalix, to reduce
+   * storage and network usage. Compressed payloads are transparently decompressed when read by this
+   * service.
+   *
+   * <p>Compressed states are stored with a different type url (with a {@code ;deflate} suffix) and
+   * can not be read by anything else than the entity itself: views and subscriptions consuming the
+   * state changes of the entity, in this service as well as in other services, no longer match or
+   * decode them, and neither can Kalix itself. Only enable this for entities whose state changes
+   * are not consumed elsewhere.
+   */
+  ValueEntityOptions withCompression(int thresholdBytes);
+
   /**
    * Create a default entity option for a value based entity.
    *
@@ -572,6 +572,52 @@ public abstract class Workflow<S> {
     }
   }
 
+  public static class ParallelCallStep<CallInput, AggregateOutput, FailoverInput> implements Step {
+
+    final private String _name;
+    final public Function<CallInput, List<Supplier<CompletionStage<?>>>> callFunc;
+    final public int maxConcurrency;
+    final public Function<List<Object>, AggregateOutput> aggregateFunc;
+    final public Function<AggregateOutput, Effect.TransitionalEffect<Void>> transitionFunc;
+    final public Class<CallInput> callInputClass;
+    final public Class<AggregateOutput> transitionInputClass;
+    private Optional<Duration> _timeout = Optional.empty();
+
+    public ParallelCallStep(String name,
+                            Class<CallInput> callInputClass,
+                            Function<CallInput, List<Supplier<CompletionStage<?>>>> callFunc,
+                            int maxConcurrency,
+                            Class<AggregateOutput> transitionInputClass,
+                            Function<List<Object>, AggregateOutput> aggregateFunc,
+                            Function<AggregateOutput, Effect.TransitionalEffect<Void>> transitionFunc) {
+      _name = name;
+      this.callInputClass = callInputClass;
+      this.callFunc = callFunc;
+      this.maxConcurrency = maxConcurrency;
+      this.transitionInputClass = transitionInputClass;
+      this.aggregateFunc = aggregateFunc;
+      this.transitionFunc = transitionFunc;
+    }
+
+    @Override
+    public String name() {
+      return this._name;
+    }
+
+    @Override
+    public Optional<Duration> timeout() {
+      return this._timeout;
+    }
+
+    /**
+     * Define a step timeout.
+     */
+    public ParallelCallStep<CallInput, AggregateOutput, FailoverInput> timeout(Duration timeout) {
+      this._timeout = Optional.of(timeout);
+      return this;
+    }
+  }
+
   /**
    * Start a step definition with a given step name.
    *
@@ -746,6 +792,94 @@ public abstract class Workflow<S> {
     }
 
 
+    /**
+     * Build a step action with several independent calls to existing Kalix components via {@link DeferredCall}.
+     * <p>
+     * The {@link Function} passed to this method should return the list of {@link DeferredCall}s to execute.
+     * Unlike a {@code call} step, the calls are executed by the workflow itself, concurrently, up to the limit given
+     * with {@code maxConcurrency}. Once all of them completed successfully, their results are aggregated into a single
+     * value that is made available to this workflow via the {@code andThen} method.
+     * <p>
+     * On failure of any of the calls, the whole step will be retried according to the default retry strategy or the
+     * one defined in the step configuration, so the calls should be idempotent.
+     *
+     * @param callInputClass Input class for call factory.
+     * @param callFactory    Factory method for creating the deferred calls.
+     * @param <Input>        Input for deferred calls factory, provided by transition method.
+     * @return Step builder.
+     */
+    @ApiMayChange
+    public <Input> ParallelCallStepBuilder<Input> parallelCall(Class<Input> callInputClass, Function<Input, List<DeferredCall<?, ?>>> callFactory) {
+      return new ParallelCallStepBuilder<>(name, callInputClass, (Input input) -> executeAll(callFactory.apply(input)));
+    }
+
+    /**
+     * Build a step action with several independent calls to existing Kalix components via {@link DeferredCall}.
+     * <p>
+     * The {@link Supplier} function passed to this method should return the list of {@link DeferredCall}s to execute.
+     * Unlike a {@code call} step, the calls are executed by the workflow itself, concurrently, up to the limit given
+     * with {@code maxConcurrency}. Once all of them completed successfully, their results are aggregated into a single
+     * value that is made available to this workflow via the {@code andThen} method.
+     * <p>
+     * On failure of any of the calls, the whole step will be retried according to the default retry strategy or the
+     * one defined in the step configuration, so the calls should be idempotent.
+     *
+     * @param callSupplier Factory method for creating the deferred calls.
+     * @return Step builder.
+     */
+    @ApiMayChange
+    public ParallelCallStepBuilder<Void> parallelCall(Supplier<List<DeferredCall<?, ?>>> callSupplier) {
+      return new ParallelCallStepBuilder<>(name, Void.class, (Void v) -> executeAll(callSupplier.get()));
+    }
+
+    /**
+     * Build a step action with several independent async calls.
+     * <p>
+     * The {@link Function} passed to this method should return one {@link Supplier} per async call, each starting
+     * the call and returning its {@link CompletionStage}. The calls are started concurrently, up to the limit given
+     * with {@code maxConcurrency}. Once all of them completed successfully, their results are aggregated into a single
+     * value that is made available to this workflow via the {@code andThen} method.
+     * <p>
+     * On failure of any of the calls, the whole step will be retried according to the default retry strategy or the
+     * one defined in the step configuration, so the calls should be idempotent.
+     *
+     * @param callInputClass Input class for call factory.
+     * @param callFactory    Factory method for creating the async calls.
+     * @param <Input>        Input for async calls factory, provided by transition method.
+     * @return Step builder.
+     */
+    @ApiMayChange
+    public <Input> ParallelCallStepBuilder<Input> parallelAsyncCall(Class<Input> callInputClass, Function<Input, List<Supplier<CompletionStage<?>>>> callFactory) {
+      return new ParallelCallStepBuilder<>(name, callInputClass, callFactory);
+    }
+
+    /**
+     * Build a step action with several independent async calls.
+     * <p>
+     * The {@link Supplier} function passed to this method should return one {@link Supplier} per async call, each
+     * starting the call and returning its {@link CompletionStage}. The calls are started concurrently, up to the limit
+     * given with {@code maxConcurrency}. Once all of them completed successfully, their results are aggregated into a
+     * single value that is made available to this workflow via the {@code andThen} method.
+     * <p>
+     * On failure of any of the calls, the whole step will be retried according to the default retry strategy or the
+     * one defined in the step configuration, so the calls should be idempotent.
+     *
+     * @param callSupplier Factory method for creating the async calls.
+     * @return Step builder.
+     */
+    @ApiMayChange
+    public ParallelCallStepBuilder<Void> parallelAsyncCall(Supplier<List<Supplier<CompletionStage<?>>>> callSupplier) {
+      return new ParallelCallStepBuilder<>(name, Void.class, (Void v) -> callSupplier.get());
+    }
+
+    private static List<Supplier<CompletionStage<?>>> executeAll(List<DeferredCall<?, ?>> deferredCalls) {
+      List<Supplier<CompletionStage<?>>> calls = new ArrayList<>(deferredCalls.size());
+      for (DeferredCall<?, ?> deferredCall : deferredCalls) {
+        calls.add(deferredCall::execute);
+      }
+      return calls;
+    }
+
     public static class CallStepBuilder<Input, DefCallInput, DefCallOutput> {
 
       final private String name;
@@ -814,5 +948,62 @@ public abstract class Workflow<S> {
         return new AsyncCallStep<>(name, callInputClass, callFunc, transitionInputClass, transitionFunc);
       }
     }
+
+    public static class ParallelCallStepBuilder<CallInput> {
+
+      /**
+       * Maximum number of calls of a parallel step in flight at the same time, unless configured with {@link
+       * #maxConcurrency(int)}.
+       */
+      public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+      final private String name;
+
+      final private Class<CallInput> callInputClass;
+      final private Function<CallInput, List<Supplier<CompletionStage<?>>>> callFunc;
+      private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+      public ParallelCallStepBuilder(String name, Class<CallInput> callInputClass, Function<CallInput, List<Supplier<CompletionStage<?>>>> callFunc) {
+        this.name = name;
+        this.callInputClass = callInputClass;
+        this.callFunc = callFunc;
+      }
+
+      /**
+       * Limit how many of the calls are in flight at the same time, defaults to {@link #DEFAULT_MAX_CONCURRENCY}.
+       */
+      @ApiMayChange
+      public ParallelCallStepBuilder<CallInput> maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1)
+          throw new IllegalArgumentException("maxConcurrency must be at least 1, was [" + maxConcurrency + "]");
+        this.maxConcurrency = maxConcurrency;
+        return this;
+      }
+
+      /**
+       * Aggregate the results of the step calls and transition to the next step based on the aggregated value.
+       * <p>
+       * The aggregate {@link Function} receives the results of the calls, in the order the calls were listed, and
+       * returns a single value of type {@code transitionInputClass}. The transition {@link Function} then receives
+       * this value and returns an {@link Effect.TransitionalEffect} describing the next step to transition to.
+       * <p>
+       * When defining the Effect, you can update the workflow state and indicate the next step to transition to.
+       * This can be another step, or a pause or end of the workflow.
+       * <p>
+       * When transition to another step, you can also pass an input parameter to the next step.
+       *
+       * @param transitionInputClass Input class for transition, the type of the aggregated value.
+       * @param aggregateFunc        Function that combines the results of the calls into the transition input.
+       * @param transitionFunc       Function that transform the aggregated value to a {@link Effect.TransitionalEffect}
+       * @param <Output>             Type of the aggregated value.
+       * @return ParallelCallStep
+       */
+      @ApiMayChange
+      public <Output> ParallelCallStep<CallInput, Output, ?> andThen(Class<Output> transitionInputClass,
+                                                                  Function<List<Object>, Output> aggregateFunc,
+                                                                  Function<Output, Effect.TransitionalEffect<Void>> transitionFunc) {
+        return new ParallelCallStep<>(name, callInputClass, callFunc, maxConcurrency, transitionInputClass, aggregateFunc, transitionFunc);
+      }
+    }
   }
 }
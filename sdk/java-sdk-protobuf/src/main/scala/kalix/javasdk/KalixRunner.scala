@@ -25,6 +25,7 @@ import scala.concurrent.Future
 import scala.jdk.CollectionConverters._
 import scala.util.Failure
 import scala.util.Success
+import scala.util.control.NonFatal
 
 import akka.Done
 import akka.actor.ActorSystem
@@ -71,7 +72,10 @@ object KalixRunner {
       userFunctionPort: Int,
       snapshotEvery: Int,
       cleanupDeletedEventSourcedEntityAfter: Duration,
-      cleanupDeletedValueEntityAfter: Duration) {
+      cleanupDeletedValueEntityAfter: Duration,
+      skipUnchangedValueEntityUpdates: Boolean = false,
+      warmUpEnabled: Boolean = true,
+      warmUpRoundTrips: Int = 0) {
     validate()
     def this(config: Config) = {
       this(
@@ -79,12 +83,16 @@ object KalixRunner {
         userFunctionPort = config.getInt("user-function-port"),
         snapshotEvery = config.getInt("event-sourced-entity.snapshot-every"),
         cleanupDeletedEventSourcedEntityAfter = config.getDuration("event-sourced-entity.cleanup-deleted-after"),
-        cleanupDeletedValueEntityAfter = config.getDuration("value-entity.cleanup-deleted-after"))
+        cleanupDeletedValueEntityAfter = config.getDuration("value-entity.cleanup-deleted-after"),
+        skipUnchangedValueEntityUpdates = config.getBoolean("value-entity.skip-unchanged-updates"),
+        warmUpEnabled = config.getBoolean("warm-up.enabled"),
+        warmUpRoundTrips = config.getInt("warm-up.round-trips"))
     }
 
     private def validate(): Unit = {
       require(userFunctionInterface.nonEmpty, s"user-function-interface must not be empty")
       require(userFunctionPort > 0, s"user-function-port must be greater than 0")
+      require(warmUpRoundTrips >= 0, s"warm-up.round-trips must not be negative")
     }
   }
 
@@ -221,6 +229,9 @@ final class KalixRunner private[javasdk] (
 
     logJvmInfo()
 
+    // before binding, so that the runtime does not discover the service until it is warmed up
+    if (configuration.warmUpEnabled) warmUp()
+
     // start containers if application (only possible when running locally)
     dockerComposeUtils.foreach { dcu =>
       dcu.start()
@@ -268,6 +279,30 @@ final class KalixRunner private[javasdk] (
   def terminate(): CompletionStage[Done] =
     FutureConverters.toJava(system.terminate()).thenApply(_ => Done)
 
+  private def warmUp(): Unit = {
+    val start = System.nanoTime()
+    // services of the same kind share their codec
+    val codecs = services.values.toSeq.collect {
+      case service: EventSourcedEntityService => service.messageCodec
+      case service: ValueEntityService        => service.messageCodec
+      case service: WorkflowService           => service.messageCodec
+      case service: ActionService             => service.messageCodec
+      case service: ViewService               => service.messageCodec
+      case service: ReplicatedEntityService   => service.anySupport
+    }.distinct
+
+    val roundTrips = codecs.map { codec =>
+      try {
+        codec.warmUp(configuration.warmUpRoundTrips)
+      } catch {
+        case NonFatal(ex) =>
+          log.warn("Warm-up of [{}] failed, continuing without it", codec.getClass.getName, ex)
+          0
+      }
+    }.sum
+    log.debug("Warm-up with [{}] round trips done in [{}] ms", roundTrips, (System.nanoTime() - start) / 1000000)
+  }
+
   private def logJvmInfo(): Unit = {
     val osMBean = ManagementFactory.getOperatingSystemMXBean
     val memoryMBean = ManagementFactory.getMemoryMXBean
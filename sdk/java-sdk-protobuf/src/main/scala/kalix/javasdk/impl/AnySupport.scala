@@ -22,6 +22,7 @@ import scala.collection.concurrent.TrieMap
 import scala.jdk.CollectionConverters._
 import scala.reflect.ClassTag
 import scala.util.Try
+import scala.util.control.NonFatal
 import com.google.common.base.CaseFormat
 import com.google.protobuf.ByteString
 import com.google.protobuf.CodedInputStream
@@ -338,6 +339,16 @@ class AnySupport(
   private def resolveTypeUrl(typeName: String): Option[ResolvedType[_]] =
     allTypes.get(typeName).map(resolveTypeDescriptor)
 
+  // full type url, with the configured prefix, to parser for all known message types, resolved up front so that
+  // decoding the common case is a single lookup, types that can not be resolved are left to the slow path
+  private val resolvedTypeUrls: Map[String, ResolvedType[Any]] =
+    allTypes.values.iterator.flatMap { typeDescriptor =>
+      try Some(typeUrlPrefix + "/" + typeDescriptor.getFullName -> resolveTypeDescriptor(typeDescriptor))
+      catch {
+        case NonFatal(_) => None
+      }
+    }.toMap
+
   def encodeJava(value: Any): JavaPbAny =
     value match {
       case javaPbAny: JavaPbAny   => javaPbAny
@@ -391,7 +402,8 @@ class AnySupport(
    * Decodes a JavaPbAny wrapped proto message into the concrete user message type or a ScalaPbAny wrapped Kalix
    * primitive into the Java primitive type value. Must only be used where primitive values are expected.
    */
-  def decodePossiblyPrimitive(any: ScalaPbAny): Any = {
+  def decodePossiblyPrimitive(compressedOrNot: ScalaPbAny): Any = {
+    val any = PayloadCompression.decompress(compressedOrNot)
     val typeUrl = any.typeUrl
     if (typeUrl.startsWith(KalixPrimitive)) {
       // Note that this decodes primitive bytestring and string but not json which falls over to message decode below
@@ -413,9 +425,15 @@ class AnySupport(
    *
    * Other JavaPbAny wrapped primitives are not expected, but the wrapped value is passed through as it is.
    */
-  def decodeMessage(any: ScalaPbAny): Any = {
+  def decodeMessage(compressedOrNot: ScalaPbAny): Any = {
+    val any = PayloadCompression.decompress(compressedOrNot)
     val typeUrl = any.typeUrl
-    if (typeUrl.equals(BytesPrimitive.fullName)) {
+    val resolvedType = resolvedTypeUrls.getOrElse(typeUrl, null)
+    if (resolvedType ne null) {
+      // known protobuf message with the configured prefix, by far the most common case
+      resolvedType.parseFrom(any.value)
+
+    } else if (typeUrl.equals(BytesPrimitive.fullName)) {
       // raw byte strings we turn into BytesValue and expect service method to accept
       val bytes = bytesToPrimitive(BytesPrimitive, any.value)
       if (prefer == PREFER_JAVA)
@@ -431,7 +449,7 @@ class AnySupport(
       else
         com.google.protobuf.wrappers.StringValue.of(string)
 
-    } else if (typeUrl.startsWith(JsonSupport.KALIX_JSON)) {
+    } else if (JsonSupport.isJson(typeUrl)) {
       // we do not actually parse JSON here but returns it as is and let the user
       // decide which json type to try decode it into etc. based on the type_url which
       // may have additional detail about what it can be JSON-deserialized into
@@ -471,6 +489,17 @@ class AnySupport(
     }
   }
 
+  // the parsers are all resolved when created, what is left is to run the code paths
+  override def warmUp(roundTrips: Int): Int = {
+    resolvedTypeUrls.values.foreach { resolvedType =>
+      val defaultInstance = resolvedType.parseFrom(ByteString.EMPTY)
+      (1 to roundTrips).foreach(_ => decodeMessage(encodeScala(defaultInstance)))
+    }
+    resolvedTypeUrls.size * roundTrips
+  }
+
+  private[kalix] def knownTypeCount: Int = resolvedTypeUrls.size
+
   override def typeUrlFor(clz: Class[_]): String = clz.getName
 }
 
@@ -496,4 +525,19 @@ trait MessageCodec {
   def encodeScala(value: Any): ScalaPbAny
   def encodeJava(value: Any): JavaPbAny
   def typeUrlFor(clz: Class[_]): String
+
+  /**
+   * Prepares up front what would otherwise be prepared on first use of each known type, and encodes and decodes each
+   * known type the given number of times, so that the first requests do not pay for it.
+   *
+   * @return
+   *   the number of round trips run
+   */
+  def warmUp(roundTrips: Int): Int = 0
+
+  /**
+   * The codec for the states, events and snapshots of entities, which are only read by this service and may therefore
+   * use an encoding that Kalix can't read. The same as this codec unless overridden.
+   */
+  def persistenceCodec: MessageCodec = this
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.net.ConnectException
+import java.net.SocketTimeoutException
+import java.nio.channels.ClosedChannelException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+import scala.annotation.tailrec
+
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
+import kalix.javasdk.DeferredCallResponseException
+import kalix.javasdk.Metadata
+import kalix.javasdk.StatusCode.ErrorCode
+
+/**
+ * INTERNAL API
+ */
+object CallPolicy {
+
+  val Default: CallPolicy = CallPolicy(timeout = None, maxRetries = 0, retryDelay = Duration.ZERO, hedgeDelay = None)
+
+  private val RetryableGrpcCodes: Set[Status.Code] =
+    Set(Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED, Status.Code.RESOURCE_EXHAUSTED, Status.Code.ABORTED)
+
+  private val RetryableErrorCodes: Set[ErrorCode] =
+    Set(ErrorCode.TOO_MANY_REQUESTS, ErrorCode.SERVICE_UNAVAILABLE, ErrorCode.GATEWAY_TIMEOUT)
+
+  // thrown by the Spring WebClient when the request could not be sent or no response arrived, not a dependency here
+  private val WebClientRequestExceptionClassName =
+    "org.springframework.web.reactive.function.client.WebClientRequestException"
+
+  /**
+   * Only errors known to be transient (timeouts, unavailable service, connection failures) are retried. Errors that
+   * say something about the request itself (bad input, not found, permission denied...) and any other exception, for
+   * example a serialization error or a bug in user code, are not retried, a new attempt would only fail in the same
+   * way.
+   */
+  private[impl] def isRetryable(error: Throwable): Boolean =
+    unwrap(error) match {
+      case _: TimeoutException                  => true
+      case sre: StatusRuntimeException          => RetryableGrpcCodes.contains(sre.getStatus.getCode)
+      case dcre: DeferredCallResponseException => RetryableErrorCodes.contains(dcre.errorCode)
+      case other                                => isTransportError(other)
+    }
+
+  @tailrec
+  private def isTransportError(error: Throwable): Boolean =
+    error match {
+      case null                                                          => false
+      case _: ConnectException                                           => true
+      case _: SocketTimeoutException                                     => true
+      case _: ClosedChannelException                                     => true
+      case e if e.getClass.getName == WebClientRequestExceptionClassName => true
+      case e                                                             => isTransportError(e.getCause)
+    }
+
+  private def unwrap(error: Throwable): Throwable =
+    error match {
+      case e @ (_: CompletionException | _: ExecutionException) if e.getCause != null => unwrap(e.getCause)
+      case other                                                                   => other
+    }
+
+  private def delayed(delay: Duration)(task: () => Unit): Unit =
+    CompletableFuture.delayedExecutor(delay.toNanos, TimeUnit.NANOSECONDS).execute(() => task())
+}
+
+/**
+ * INTERNAL API
+ *
+ * Wraps the whole execution of a call, with all the attempts made by its [[CallPolicy]], for example to share it
+ * between identical concurrent calls.
+ */
+trait CallExecution[O] {
+  def apply(metadata: Metadata, callPolicy: CallPolicy)(execute: () => CompletionStage[O]): CompletionStage[O]
+}
+
+/**
+ * INTERNAL API
+ */
+object CallExecution {
+
+  private val Direct: CallExecution[scala.Any] = new CallExecution[scala.Any] {
+    override def apply(metadata: Metadata, callPolicy: CallPolicy)(
+        execute: () => CompletionStage[scala.Any]): CompletionStage[scala.Any] =
+      execute()
+  }
+
+  /** Executes the call as is. */
+  def direct[O]: CallExecution[O] = Direct.asInstanceOf[CallExecution[O]]
+}
+
+/**
+ * INTERNAL API
+ *
+ * Timeout, retry and hedging settings applied when executing a [[kalix.javasdk.DeferredCall]]. Each attempt (including
+ * a hedged one) is individually bounded by the timeout, retries are only performed for errors that could succeed on a
+ * new attempt.
+ */
+final case class CallPolicy(
+    timeout: Option[Duration],
+    maxRetries: Int,
+    retryDelay: Duration,
+    hedgeDelay: Option[Duration]) {
+  import CallPolicy._
+
+  def withTimeout(timeout: Duration): CallPolicy = {
+    require(!timeout.isNegative && !timeout.isZero, s"timeout must be positive, was [$timeout]")
+    copy(timeout = Some(timeout))
+  }
+
+  def withRetry(maxRetries: Int, retryDelay: Duration): CallPolicy = {
+    require(maxRetries >= 0, s"maxRetries must not be negative, was [$maxRetries]")
+    require(!retryDelay.isNegative, s"retryDelay must not be negative, was [$retryDelay]")
+    copy(maxRetries = maxRetries, retryDelay = retryDelay)
+  }
+
+  def withHedging(hedgeDelay: Duration): CallPolicy = {
+    require(!hedgeDelay.isNegative, s"hedgeDelay must not be negative, was [$hedgeDelay]")
+    copy(hedgeDelay = Some(hedgeDelay))
+  }
+
+  def run[O](call: () => CompletionStage[O]): CompletionStage[O] =
+    if (this == Default) call()
+    else {
+      val result = new CompletableFuture[O]()
+      runAttempt(call, maxRetries, result)
+      result
+    }
+
+  private def runAttempt[O](call: () => CompletionStage[O], retriesLeft: Int, result: CompletableFuture[O]): Unit = {
+    val attempt = hedgeDelay match {
+      case Some(delay) => hedged(call, delay)
+      case None        => timed(call)
+    }
+    attempt.whenComplete { (value, error) =>
+      if (error eq null) result.complete(value)
+      else if (retriesLeft > 0 && isRetryable(error))
+        delayed(retryDelay)(() => runAttempt(call, retriesLeft - 1, result))
+      else result.completeExceptionally(unwrap(error))
+    }
+  }
+
+  /**
+   * Runs the call, failing with a `TimeoutException` if a timeout is defined and exceeded. The underlying call is
+   * cancelled on timeout, which releases the request for clients that support cancellation.
+   */
+  private def timed[O](call: () => CompletionStage[O]): CompletableFuture[O] = {
+    val underlying = call().toCompletableFuture
+    timeout match {
+      case None => underlying
+      case Some(t) =>
+        val timedOut = new CompletableFuture[O]()
+        underlying.whenComplete { (value, error) =>
+          if (error eq null) timedOut.complete(value) else timedOut.completeExceptionally(error)
+        }
+        timedOut.orTimeout(t.toNanos, TimeUnit.NANOSECONDS)
+        timedOut.whenComplete((_, _) => if (!underlying.isDone) underlying.cancel(false))
+        timedOut
+    }
+  }
+
+  /**
+   * Starts a second attempt if the first has not completed after the hedge delay. The first successful attempt wins
+   * and the other one is cancelled, the result only fails if all started attempts failed.
+   */
+  private def hedged[O](call: () => CompletionStage[O], delay: Duration): CompletableFuture[O] = {
+    val result = new CompletableFuture[O]()
+    val attempts = new ConcurrentLinkedQueue[CompletableFuture[O]]()
+    val pending = new AtomicInteger(1)
+
+    def launch(): Unit = {
+      val attempt = timed(call)
+      attempts.add(attempt)
+      attempt.whenComplete { (value, error) =>
+        if (error eq null) {
+          if (result.complete(value)) attempts.forEach(other => if (other ne attempt) other.cancel(false))
+        } else if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(error)
+        }
+      }
+    }
+
+    launch()
+    delayed(delay) { () =>
+      // only start the hedged attempt if the first one is still running
+      if (!result.isDone && pending.getAndUpdate(n => if (n == 0) 0 else n + 1) > 0) launch()
+    }
+    result
+  }
+}
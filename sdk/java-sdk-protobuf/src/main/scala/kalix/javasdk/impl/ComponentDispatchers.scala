@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.concurrent.ExecutionContext
+import scala.concurrent.Future
+import scala.jdk.CollectionConverters._
+
+import akka.NotUsed
+import akka.actor.ActorSystem
+import akka.actor.ClassicActorSystemProvider
+import akka.actor.ExtendedActorSystem
+import akka.actor.Extension
+import akka.actor.ExtensionId
+import akka.actor.ExtensionIdProvider
+import akka.dispatch.Dispatchers
+import akka.stream.scaladsl.Flow
+import com.typesafe.config.Config
+import com.typesafe.config.ConfigFactory
+import com.typesafe.config.ConfigUtil
+
+/**
+ * INTERNAL API
+ */
+object ComponentDispatchers extends ExtensionId[ComponentDispatchers] with ExtensionIdProvider {
+  override def get(system: ActorSystem): ComponentDispatchers = super.get(system)
+
+  override def get(system: ClassicActorSystemProvider): ComponentDispatchers = super.get(system)
+
+  override def createExtension(system: ExtendedActorSystem): ComponentDispatchers =
+    new ComponentDispatchers(system)
+  override def lookup: ExtensionId[_ <: Extension] = this
+
+  // component types, as used for the keys in the config section
+  val Action = "action"
+  val View = "view"
+  val Workflow = "workflow"
+  val EventSourcedEntity = "event-sourced-entity"
+  val ValueEntity = "value-entity"
+  val ReplicatedEntity = "replicated-entity"
+
+  private val ComponentTypes = Seq(Action, View, Workflow, EventSourcedEntity, ValueEntity, ReplicatedEntity)
+
+  /**
+   * Runs the block on the given execution context, if any, and otherwise directly on the calling thread.
+   */
+  def runOn[T](executionContext: Option[ExecutionContext])(block: => Future[T]): Future[T] =
+    executionContext match {
+      case None     => block
+      case Some(ec) => Future(block)(ec).flatten
+    }
+}
+
+/**
+ * INTERNAL API
+ *
+ * The dispatchers to run user component code on, configured per component type and per component in the
+ * `kalix.system.component-dispatchers` section. Components without a dispatcher of their own keep running on the
+ * default dispatcher, together with the gRPC server and the entity streams.
+ */
+final class ComponentDispatchers(system: ExtendedActorSystem) extends Extension {
+  import ComponentDispatchers._
+
+  private val config: Config =
+    if (system.settings.config.hasPath("component-dispatchers"))
+      system.settings.config.getConfig("component-dispatchers")
+    else ConfigFactory.empty()
+
+  private val components: Config =
+    if (config.hasPath("components")) config.getConfig("components") else ConfigFactory.empty()
+
+  private val dispatcherIds = new ConcurrentHashMap[(String, String), Option[String]]()
+
+  // fail fast on startup rather than on the first command for a component
+  validate()
+
+  /**
+   * The id of the dispatcher to run the user code of the given component on, or None if it should run on the default
+   * dispatcher.
+   */
+  def dispatcherIdFor(componentType: String, serviceName: String): Option[String] =
+    dispatcherIds.computeIfAbsent(
+      (componentType, serviceName),
+      _ => {
+        val componentPath = ConfigUtil.joinPath(serviceName)
+        if (components.hasPath(componentPath)) toDispatcherId(components.getString(componentPath))
+        else if (config.hasPath(componentType)) toDispatcherId(config.getString(componentType))
+        else None
+      })
+
+  /**
+   * The execution context to run the user code of the given component on, or None if it should run on the default
+   * dispatcher.
+   */
+  def executionContextFor(componentType: String, serviceName: String): Option[ExecutionContext] =
+    dispatcherIdFor(componentType, serviceName).map(system.dispatchers.lookup)
+
+  /**
+   * Runs the given flow of an entity, which calls the user code, on the dispatcher of the component, behind an async
+   * boundary, if it has one.
+   */
+  def runOnDispatcherOf[In, Out](componentType: String, serviceName: String)(
+      flow: Flow[In, Out, NotUsed]): Flow[In, Out, NotUsed] =
+    dispatcherIdFor(componentType, serviceName) match {
+      case Some(dispatcherId) => flow.async(dispatcherId)
+      case None               => flow
+    }
+
+  private def toDispatcherId(id: String): Option[String] =
+    if (id.isEmpty || id == Dispatchers.DefaultDispatcherId) None else Some(id)
+
+  private def validate(): Unit = {
+    val typeDispatchers = ComponentTypes.filter(config.hasPath).map(key => key -> config.getString(key))
+    val componentDispatchers = components.root().keySet().asScala.toSeq.map { serviceName =>
+      serviceName -> components.getString(ConfigUtil.joinPath(serviceName))
+    }
+    (typeDispatchers ++ componentDispatchers).foreach { case (key, id) =>
+      if (toDispatcherId(id).isDefined) {
+        if (!system.dispatchers.hasDispatcher(id))
+          throw new IllegalArgumentException(
+            s"Dispatcher [$id] configured for [$key] in kalix.system.component-dispatchers is not defined, " +
+            "it should be defined in the kalix.system section")
+        // creates the dispatcher, so that an executor not supported by the JVM fails on startup
+        system.dispatchers.lookup(id)
+      }
+    }
+  }
+}
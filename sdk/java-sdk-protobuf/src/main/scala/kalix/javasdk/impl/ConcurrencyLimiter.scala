@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+import io.opentelemetry.api.GlobalOpenTelemetry
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.common.Attributes
+import org.slf4j.LoggerFactory
+
+/**
+ * INTERNAL API
+ *
+ * Adaptive limit of the number of requests a component handles concurrently, based on the gradient between the long
+ * term and the short term latency of the requests, like the Gradient2 limit of Netflix concurrency-limits. The short
+ * term latency is a percentile of the latencies of a window of requests, so that single slow requests don't shrink the
+ * limit, and the long term latency is an average of the short term ones. While latencies stay close to the long term
+ * average the limit grows, by about the square root of the limit, and once requests start queueing up and latencies
+ * grow, the limit shrinks proportionally. Requests over the limit are rejected right away, rather than adding to the
+ * latency of all requests.
+ *
+ * Thread safe. Acquiring and releasing only use atomic counters, the limit is updated by the request completing a
+ * window, and a window completed while the previous one is still being processed is skipped.
+ */
+private[kalix] final class ConcurrencyLimiter(
+    val componentName: String,
+    val maxLimit: Int,
+    initialLimit: Int,
+    windowSize: Int = ConcurrencyLimiter.DefaultWindowSize) {
+  import ConcurrencyLimiter._
+
+  require(maxLimit > 0, s"maxLimit must be positive, was [$maxLimit]")
+  require(windowSize > 0, s"windowSize must be positive, was [$windowSize]")
+
+  private val inFlightCounter = new AtomicInteger()
+
+  // written without coordination, a window may see a few samples of the previous window, fine for an estimate
+  private val samples = new AtomicLongArray(windowSize)
+  private val sampleCount = new AtomicLong()
+  private val maxInFlightInWindow = new AtomicInteger()
+
+  // only accessed by the request holding the updating flag
+  private val updating = new AtomicBoolean()
+  private var estimatedLimit: Double = math.min(initialLimit, maxLimit).toDouble
+  private var longTermRttNanos: Double = 0.0
+
+  // read without locking by tryAcquire
+  @volatile private var currentLimit: Int = estimatedLimit.toInt
+
+  def limit: Int = currentLimit
+
+  def inFlight: Int = inFlightCounter.get()
+
+  /**
+   * Tries to start handling a request, returning false if it should be rejected. A successful acquire must be followed
+   * by a release once the request has been handled.
+   */
+  def tryAcquire(): Boolean = {
+    val current = inFlightCounter.get()
+    if (current >= currentLimit) false
+    else if (inFlightCounter.compareAndSet(current, current + 1)) true
+    else tryAcquire()
+  }
+
+  /**
+   * Marks the end of a request, which took the given time to handle.
+   */
+  def release(rttNanos: Long): Unit = {
+    val inFlightBefore = inFlightCounter.getAndDecrement()
+    if (maxInFlightInWindow.get() < inFlightBefore)
+      maxInFlightInWindow.accumulateAndGet(inFlightBefore, (a: Int, b: Int) => math.max(a, b))
+
+    val sample = sampleCount.getAndIncrement()
+    samples.set((sample % windowSize).toInt, math.max(rttNanos, 1L))
+    if (sample % windowSize == windowSize - 1 && updating.compareAndSet(false, true)) {
+      try update()
+      finally updating.set(false)
+    }
+  }
+
+  private def update(): Unit = {
+    val shortTermRtt = percentile(ShortTermPercentile).toDouble
+    val maxInFlight = maxInFlightInWindow.getAndSet(0)
+
+    longTermRttNanos =
+      if (longTermRttNanos == 0.0) shortTermRtt
+      else longTermRttNanos * (1.0 - LongTermSmoothing) + shortTermRtt * LongTermSmoothing
+    // recover quicker once latencies dropped back, rather than waiting for the long term average to catch up
+    if (longTermRttNanos / shortTermRtt > 2.0) longTermRttNanos *= RecoveryDecay
+
+    // only grow the limit when it is actually used, to not let it drift to max while requests are few
+    if (maxInFlight * 2 >= estimatedLimit || shortTermRtt > longTermRttNanos) {
+      val gradient = math.max(MinGradient, math.min(1.0, Tolerance * longTermRttNanos / shortTermRtt))
+      val queueSize = math.sqrt(estimatedLimit)
+      val newLimit = estimatedLimit * gradient + queueSize
+      estimatedLimit =
+        math.max(MinLimit, math.min(maxLimit, estimatedLimit * (1.0 - Smoothing) + newLimit * Smoothing))
+
+      val newIntLimit = estimatedLimit.toInt
+      if (newIntLimit != currentLimit) {
+        if (log.isDebugEnabled)
+          log.debug("Concurrency limit of [{}] changed from [{}] to [{}]", componentName, currentLimit, newIntLimit)
+        currentLimit = newIntLimit
+      }
+    }
+  }
+
+  private def percentile(p: Double): Long = {
+    val sorted = Array.tabulate(windowSize)(samples.get)
+    java.util.Arrays.sort(sorted)
+    sorted(math.max(0, math.ceil(p * windowSize).toInt - 1))
+  }
+
+  /** Reports the limit and the number of requests in flight as OpenTelemetry gauges, if a global meter is set up. */
+  def registerMetrics(): Unit = {
+    val attributes = Attributes.of(ComponentKey, componentName)
+    val meter = GlobalOpenTelemetry.getMeter(MeterName)
+    meter
+      .gaugeBuilder("kalix.component.concurrency.limit")
+      .ofLongs()
+      .setDescription("The current concurrency limit of the component")
+      .buildWithCallback(measurement => measurement.record(limit.toLong, attributes))
+    meter
+      .gaugeBuilder("kalix.component.concurrency.in_flight")
+      .ofLongs()
+      .setDescription("The number of requests the component is currently handling")
+      .buildWithCallback(measurement => measurement.record(inFlight.toLong, attributes))
+  }
+}
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object ConcurrencyLimiter {
+  private val log = LoggerFactory.getLogger(classOf[ConcurrencyLimiter])
+
+  private val MeterName = "kalix.javasdk"
+  private val ComponentKey = AttributeKey.stringKey("component")
+
+  val DefaultWindowSize = 50
+
+  private val MinLimit = 1
+  private val MinGradient = 0.5
+  private val Smoothing = 0.2
+  private val ShortTermPercentile = 0.9
+  private val LongTermSmoothing = 0.05
+  private val RecoveryDecay = 0.95
+  // short term latencies up to this factor of the long term one don't shrink the limit
+  private val Tolerance = 1.5
+
+  def apply(componentName: String, maxLimit: Int): ConcurrencyLimiter =
+    new ConcurrencyLimiter(componentName, maxLimit, initialLimit = math.min(maxLimit, 20))
+}
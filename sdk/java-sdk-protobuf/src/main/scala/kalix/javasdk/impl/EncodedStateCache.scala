@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+
+/**
+ * INTERNAL API
+ *
+ * The encoded form of the state of a single entity instance, as last loaded or written, together with the state object
+ * it was produced from. Encoding the very same state object again returns the cached encoding, as long as the state is
+ * of an immutable type.
+ *
+ * The reuse is limited on purpose: states are compared by reference, since comparing by value would cost about as much
+ * as encoding them, and only protobuf messages (Java and ScalaPB) and strings are known to be immutable. States of the
+ * Spring SDK serialized as JSON may have been mutated in place between two commands while still being the same
+ * instance, so they never reuse the cached encoding and are always encoded again.
+ *
+ * Not thread safe, only to be used from the stream of the entity.
+ */
+private[kalix] final class EncodedStateCache(messageCodec: MessageCodec) {
+
+  private var state: AnyRef = _
+  private var encoded: ScalaPbAny = _
+
+  def lastEncoded: Option[ScalaPbAny] = Option(encoded)
+
+  def set(state: Any, encoded: ScalaPbAny): Unit = {
+    this.state = state.asInstanceOf[AnyRef]
+    this.encoded = encoded
+  }
+
+  def clear(): Unit = {
+    state = null
+    encoded = null
+  }
+
+  /**
+   * Encodes the given state, reusing the cached encoding if it is the same instance as the cached state and of a type
+   * known to be immutable, that is a protobuf message or a string.
+   */
+  def encode(value: Any): ScalaPbAny =
+    if ((encoded ne null) && (value.asInstanceOf[AnyRef] eq state) && EncodedStateCache.isImmutable(value)) encoded
+    else messageCodec.encodeScala(value)
+
+  /** Encodes the given state, and caches it as the last persisted state. */
+  def encodeAndSet(value: Any): ScalaPbAny = {
+    val result = encode(value)
+    set(value, result)
+    result
+  }
+}
+
+private[kalix] object EncodedStateCache {
+  private def isImmutable(value: Any): Boolean =
+    value match {
+      case _: com.google.protobuf.Message => true
+      case _: scalapb.GeneratedMessage    => true
+      case _: String                      => true
+      case _                              => false
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import scala.concurrent.ExecutionContext
+import scala.util.Failure
+import scala.util.Success
+import scala.util.Try
+import scala.util.control.NonFatal
+
+import akka.stream.Attributes
+import akka.stream.FlowShape
+import akka.stream.Inlet
+import akka.stream.Outlet
+import akka.stream.stage.GraphStage
+import akka.stream.stage.GraphStageLogic
+import akka.stream.stage.InHandler
+import akka.stream.stage.OutHandler
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object EntityStreamStage {
+
+  /**
+   * Handles the messages of a single entity instance, after its init message.
+   */
+  trait Handler[In, Out] {
+
+    /** Handles a message, returning the message to reply with, if any. */
+    def handle(in: In): Option[Out]
+
+    /** The message to reply with before completing the stream, when the handling of a message failed. */
+    def failure(error: Throwable): Out
+
+    /**
+     * The execution context to handle the messages on, when the user code of the entity runs on a dispatcher of its
+     * own, otherwise the messages are handled by the stage itself.
+     */
+    def executionContext: Option[ExecutionContext] = None
+  }
+}
+
+/**
+ * INTERNAL API
+ *
+ * The stream of a single entity instance as one stage, without the buffers and the nested stream materialization of a
+ * `prefixAndTail` and `flatMapConcat` stream. With many active entities per service, that keeps the memory used per
+ * active entity low. The entity streams still put an async boundary after the stage, so that each entity runs in an
+ * actor of its own.
+ *
+ * The first message creates the handler for the rest of the messages. Failures, in creating the handler, in handling a
+ * message or from upstream, are turned into a last failure message, after which the stream completes. When the handler
+ * has an execution context, each message is handled on it, one at a time, and the result is passed back to the stage.
+ *
+ * @param initialize
+ *   creates the handler for the entity from the first message, throws if it is not a valid init message
+ * @param closedBeforeInit
+ *   called when the stream completes without any message
+ * @param initFailure
+ *   the message to reply with when there is no handler yet, or creating it failed
+ */
+private[kalix] final class EntityStreamStage[In, Out](
+    initialize: In => EntityStreamStage.Handler[In, Out],
+    closedBeforeInit: () => Unit,
+    initFailure: Throwable => Out)
+    extends GraphStage[FlowShape[In, Out]] {
+
+  val in: Inlet[In] = Inlet("EntityStreamStage.in")
+  val out: Outlet[Out] = Outlet("EntityStreamStage.out")
+
+  override val shape: FlowShape[In, Out] = FlowShape(in, out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with InHandler with OutHandler {
+      private var handler: EntityStreamStage.Handler[In, Out] = _
+      // a message is being handled on the execution context of the handler
+      private var handling = false
+      private var failed = false
+
+      private val onHandled = getAsyncCallback[Try[Option[Out]]](handled)
+
+      override def onPush(): Unit = {
+        val message = grab(in)
+        if (handler eq null) {
+          try {
+            handler = initialize(message)
+            pull(in)
+          } catch {
+            case NonFatal(error) => failWith(initFailure(error))
+          }
+        } else {
+          handler.executionContext match {
+            case None =>
+              try {
+                handler.handle(message) match {
+                  case Some(reply) => push(out, reply)
+                  case None        => pull(in)
+                }
+              } catch {
+                case NonFatal(error) => failWith(handler.failure(error))
+              }
+            case Some(ec) =>
+              handling = true
+              val current = handler
+              ec.execute(() => onHandled.invoke(Try(current.handle(message))))
+          }
+        }
+      }
+
+      // the result of handling a message on the execution context of the handler
+      private def handled(result: Try[Option[Out]]): Unit = {
+        handling = false
+        // a failure from upstream while handling already completes the stream
+        if (!failed) result match {
+          case Success(Some(reply)) =>
+            if (isClosed(in)) emit(out, reply, () => completeStage())
+            else push(out, reply)
+          case Success(None) =>
+            if (isClosed(in)) completeStage()
+            else pull(in)
+          case Failure(error) =>
+            failWith(handler.failure(error))
+        }
+      }
+
+      override def onPull(): Unit =
+        if (!hasBeenPulled(in) && !isClosed(in) && !handling) pull(in)
+
+      override def onUpstreamFinish(): Unit = {
+        if (handler eq null) closedBeforeInit()
+        // otherwise completed once the message being handled is done
+        if (!handling) complete(out)
+      }
+
+      override def onUpstreamFailure(error: Throwable): Unit =
+        failWith(if (handler eq null) initFailure(error) else handler.failure(error))
+
+      // the failure is sent as a last message, like a recover would do
+      private def failWith(failure: Out): Unit = {
+        failed = true
+        if (!isClosed(in)) cancel(in)
+        emit(out, failure, () => completeStage())
+      }
+
+      setHandlers(in, out, this)
+    }
+
+  override def toString: String = "EntityStreamStage"
+}
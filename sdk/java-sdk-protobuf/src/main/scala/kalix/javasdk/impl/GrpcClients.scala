@@ -18,6 +18,7 @@ package kalix.javasdk.impl
 
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicReference
 
 import scala.concurrent.ExecutionContext
 import scala.concurrent.Future
@@ -36,7 +37,15 @@ import akka.grpc.GrpcClientSettings
 import akka.grpc.javadsl.{ AkkaGrpcClient => AkkaGrpcJavaClient }
 import akka.grpc.scaladsl.{ AkkaGrpcClient => AkkaGrpcScalaClient }
 import io.grpc.CallCredentials
+import io.grpc.CallOptions
+import io.grpc.Channel
+import io.grpc.ClientCall
+import io.grpc.ClientInterceptor
+import io.grpc.ForwardingClientCall.SimpleForwardingClientCall
+import io.grpc.ManagedChannel
+import io.grpc.ManagedChannelBuilder
 import io.grpc.Metadata
+import io.grpc.MethodDescriptor
 import org.slf4j.LoggerFactory
 
 /**
@@ -64,6 +73,7 @@ final class GrpcClients(system: ExtendedActorSystem) extends Extension {
   private val proxyInfoHolder = ProxyInfoHolder(system)
   private implicit val ec: ExecutionContext = system.dispatcher
   private val clients = new ConcurrentHashMap[Key, AnyRef]()
+  private val proxyChannel = new AtomicReference[ManagedChannel]()
   private val MaxCrossServiceResponseContentLength =
     system.settings.config.getBytes("kalix.cross-service.max-content-length").toInt
 
@@ -73,7 +83,10 @@ final class GrpcClients(system: ExtendedActorSystem) extends Extension {
         case javaClient: AkkaGrpcJavaClient   => javaClient.close().asScala
         case scalaClient: AkkaGrpcScalaClient => scalaClient.close()
       }
-      .map(_ => Done))
+      .map { _ =>
+        Option(proxyChannel.get()).foreach(_.shutdown())
+        Done
+      })
 
   def getComponentGrpcClient[T](serviceClass: Class[T]): T = {
     getProxyGrpcClient(serviceClass)
@@ -91,6 +104,56 @@ final class GrpcClients(system: ExtendedActorSystem) extends Extension {
     getGrpcClient(serviceClass, service, port = 80, remoteAddHeader)
   }
 
+  /**
+   * A plain gRPC channel to the Kalix Runtime, for calls to components that have no generated client (for example the
+   * components of the Spring SDK, which are described dynamically). All calls are multiplexed over the same HTTP/2
+   * connection.
+   */
+  def getProxyChannel: Channel = {
+    val existing = proxyChannel.get()
+    if (existing ne null) existing
+    else
+      synchronized {
+        if (proxyChannel.get() eq null) proxyChannel.set(createProxyChannel())
+        proxyChannel.get()
+      }
+  }
+
+  private def createProxyChannel(): ManagedChannel = {
+    val (host, port) = (proxyInfoHolder.proxyHostname, proxyInfoHolder.proxyPort) match {
+      case (Some(internalProxyHostname), Some(port)) => (internalProxyHostname, port)
+      case _ =>
+        throw new IllegalStateException(
+          "Service proxy hostname and port are not set by proxy at discovery, too old proxy version?")
+    }
+    log.debug("Creating gRPC channel for Kalix Runtime [{}:{}]", host, port)
+
+    val builder = ManagedChannelBuilder
+      .forAddress(host, port)
+      // (TLS is handled for us by Kalix infra)
+      .usePlaintext()
+      .maxInboundMessageSize(MaxCrossServiceResponseContentLength)
+
+    proxyInfoHolder.localIdentificationHeader.foreach { case (key, value) =>
+      val headers = new Metadata()
+      headers.put(Metadata.Key.of(key, Metadata.ASCII_STRING_MARSHALLER), value)
+      builder.intercept(new ClientInterceptor {
+        override def interceptCall[ReqT, RespT](
+            method: MethodDescriptor[ReqT, RespT],
+            callOptions: CallOptions,
+            next: Channel): ClientCall[ReqT, RespT] =
+          new SimpleForwardingClientCall[ReqT, RespT](next.newCall(method, callOptions)) {
+            override def start(responseListener: ClientCall.Listener[RespT], requestHeaders: Metadata): Unit = {
+              requestHeaders.merge(headers)
+              super.start(responseListener, requestHeaders)
+            }
+          }
+      })
+    }
+
+    builder.build()
+  }
+
   /** gRPC clients point to services (user components or Kalix services) in the same deployable */
   private def getLocalGrpcClient[T](serviceClass: Class[T]): T = {
 
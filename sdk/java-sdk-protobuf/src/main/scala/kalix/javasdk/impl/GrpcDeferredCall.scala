@@ -21,6 +21,7 @@ import io.grpc.StatusRuntimeException
 import kalix.javasdk.DeferredCall
 import kalix.javasdk.Metadata
 
+import java.time.Duration
 import java.util.concurrent.CompletionStage
 
 /**
@@ -31,9 +32,20 @@ final case class GrpcDeferredCall[I, O](
     metadata: MetadataImpl,
     fullServiceName: String,
     methodName: String,
-    asyncCall: Metadata => CompletionStage[O])
+    asyncCall: Metadata => CompletionStage[O],
+    callPolicy: CallPolicy = CallPolicy.Default)
     extends DeferredCall[I, O] {
-  override def execute(): CompletionStage[O] = asyncCall(metadata).exceptionally {
+
+  // keeps the constructor without call policy available from Java, like in generated code
+  def this(
+      message: I,
+      metadata: MetadataImpl,
+      fullServiceName: String,
+      methodName: String,
+      asyncCall: Metadata => CompletionStage[O]) =
+    this(message, metadata, fullServiceName, methodName, asyncCall, CallPolicy.Default)
+
+  override def execute(): CompletionStage[O] = callPolicy.run(() => asyncCall(metadata)).exceptionally {
     case sre: StatusRuntimeException =>
       throw new StatusRuntimeException(
         sre.getStatus
@@ -45,4 +57,13 @@ final case class GrpcDeferredCall[I, O](
   override def withMetadata(metadata: Metadata): GrpcDeferredCall[I, O] = {
     this.copy(metadata = metadata.asInstanceOf[MetadataImpl])
   }
+
+  override def withTimeout(timeout: Duration): GrpcDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withTimeout(timeout))
+
+  override def withRetry(maxRetries: Int, delay: Duration): GrpcDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withRetry(maxRetries, delay))
+
+  override def withHedging(hedgeDelay: Duration): GrpcDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withHedging(hedgeDelay))
 }
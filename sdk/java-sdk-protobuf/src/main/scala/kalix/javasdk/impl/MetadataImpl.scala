@@ -16,8 +16,12 @@
 
 package kalix.javasdk.impl
 
+import com.fasterxml.jackson.core.JsonProcessingException
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.`type`.TypeFactory
 import com.google.protobuf.ByteString
 import kalix.javasdk.CloudEvent
+import kalix.javasdk.JsonSupport
 import kalix.javasdk.JwtClaims
 import kalix.javasdk.Metadata
 import kalix.javasdk.Principal
@@ -25,6 +29,7 @@ import kalix.javasdk.Principals
 import kalix.javasdk.StatusCode
 import kalix.javasdk.StatusCode.ErrorCode
 import kalix.javasdk.impl.MetadataImpl.JwtClaimPrefix
+import kalix.javasdk.impl.MetadataImpl.JwtClaimValue
 import kalix.protocol.component
 import kalix.protocol.component.MetadataEntry
 
@@ -36,6 +41,7 @@ import java.time.format.DateTimeFormatter
 import java.util
 import java.util.Objects
 import java.util.Optional
+import java.util.concurrent.ConcurrentHashMap
 import scala.compat.java8.OptionConverters._
 import scala.jdk.CollectionConverters._
 
@@ -209,6 +215,21 @@ private[kalix] class MetadataImpl(val entries: Seq[MetadataEntry]) extends Metad
     override def allClaimNames(): lang.Iterable[String] = allJwtClaimNames.asJava
     override def asMap(): util.Map[String, String] = jwtClaimsAsMap.asJava
     override def getString(name: String): Optional[String] = getJwtClaim(name).asJava
+    override def getInteger(name: String): Optional[Integer] = typedJwtClaim(name)(_.asInteger)
+    override def getLong(name: String): Optional[lang.Long] = typedJwtClaim(name)(_.asLong)
+    override def getDouble(name: String): Optional[lang.Double] = typedJwtClaim(name)(_.asDouble)
+    override def getBoolean(name: String): Optional[lang.Boolean] = typedJwtClaim(name)(_.asBoolean)
+    override def getObject(name: String): Optional[JsonNode] = typedJwtClaim(name)(_.asObject)
+    override def getStringList(name: String): Optional[util.List[String]] =
+      typedJwtClaim(name)(_.asList(classOf[String]))
+    override def getIntegerList(name: String): Optional[util.List[Integer]] =
+      typedJwtClaim(name)(_.asList(classOf[Integer]))
+    override def getLongList(name: String): Optional[util.List[lang.Long]] =
+      typedJwtClaim(name)(_.asList(classOf[lang.Long]))
+    override def getDoubleList(name: String): Optional[util.List[lang.Double]] =
+      typedJwtClaim(name)(_.asList(classOf[lang.Double]))
+    override def getBooleanList(name: String): Optional[util.List[lang.Boolean]] =
+      typedJwtClaim(name)(_.asList(classOf[lang.Boolean]))
   }
 
   override lazy val principals: Principals = new Principals {
@@ -240,12 +261,21 @@ private[kalix] class MetadataImpl(val entries: Seq[MetadataEntry]) extends Metad
         key -> value
     }.toMap
 
-  private[kalix] def getJwtClaim(name: String): Option[String] = {
-    val prefixedName = JwtClaimPrefix + name
-    entries.collectFirst {
-      case MetadataEntry(key, MetadataEntry.Value.StringValue(value), _) if key == prefixedName => value
+  // the claims by name, built on first access, the first entry wins when a claim is repeated
+  private lazy val jwtClaimValues: Map[String, JwtClaimValue] =
+    entries.reverseIterator.collect {
+      case MetadataEntry(key, MetadataEntry.Value.StringValue(value), _) if key.startsWith(JwtClaimPrefix) =>
+        key.substring(JwtClaimPrefix.length) -> new JwtClaimValue(value)
+    }.toMap
+
+  private[kalix] def getJwtClaim(name: String): Option[String] =
+    jwtClaimValues.get(name).map(_.raw)
+
+  private def typedJwtClaim[T](name: String)(typed: JwtClaimValue => Optional[T]): Optional[T] =
+    jwtClaimValues.get(name) match {
+      case Some(value) => typed(value)
+      case None        => Optional.empty()
     }
-  }
 }
 
 object MetadataImpl {
@@ -265,6 +295,49 @@ object MetadataImpl {
 
   val JwtClaimPrefix = "_kalix-jwt-claim-"
 
+  /**
+   * The raw value of a JWT claim, with its typed values parsed on first access. Parsing fails the same way as the
+   * default methods of [[JwtClaims]], with an empty result. Lists and JSON objects are mutable, so a copy of the parsed
+   * value is returned on each access.
+   */
+  private[kalix] final class JwtClaimValue(val raw: String) {
+
+    lazy val asInteger: Optional[Integer] = parseNumber(Integer.valueOf(raw))
+    lazy val asLong: Optional[lang.Long] = parseNumber(lang.Long.valueOf(raw))
+    lazy val asDouble: Optional[lang.Double] = parseNumber(lang.Double.valueOf(raw))
+
+    lazy val asBoolean: Optional[lang.Boolean] =
+      if (raw.equalsIgnoreCase("true")) Optional.of(lang.Boolean.TRUE)
+      else if (raw.equalsIgnoreCase("false")) Optional.of(lang.Boolean.FALSE)
+      else Optional.empty()
+
+    private lazy val parsedObject: Optional[JsonNode] =
+      parseJson(JsonSupport.getObjectMapper.readTree(raw))
+
+    def asObject: Optional[JsonNode] = parsedObject.map((node: JsonNode) => node.deepCopy[JsonNode]())
+
+    // by element type, a claim is usually only read as one type of list
+    private lazy val parsedLists = new ConcurrentHashMap[Class[_], Optional[util.List[_]]](2)
+
+    def asList[T](elementType: Class[T]): Optional[util.List[T]] =
+      parsedLists
+        .computeIfAbsent(elementType, (_: Class[_]) => parseJson(parseList(elementType)))
+        .map((list: util.List[_]) => new util.ArrayList[T](list.asInstanceOf[util.List[T]]): util.List[T])
+
+    private def parseList(elementType: Class[_]): util.List[_] = {
+      val listType = TypeFactory.defaultInstance.constructCollectionType(classOf[util.List[_]], elementType)
+      JsonSupport.getObjectMapper.readValue[util.List[_]](raw, listType)
+    }
+
+    private def parseNumber[T](parse: => T): Optional[T] =
+      try Optional.of(parse)
+      catch { case _: NumberFormatException => Optional.empty() }
+
+    private def parseJson[T](parse: => T): Optional[T] =
+      try Optional.of(parse)
+      catch { case _: JsonProcessingException => Optional.empty() }
+  }
+
   val PrincipalsSource = "_kalix-src"
   val PrincipalsService = "_kalix-src-svc"
 
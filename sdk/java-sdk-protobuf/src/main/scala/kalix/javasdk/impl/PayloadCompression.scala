@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.InflaterInputStream
+
+import com.google.protobuf.ByteString
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+import com.google.protobuf.{ Any => JavaPbAny }
+
+/**
+ * INTERNAL API
+ *
+ * Compression of encoded payloads. A compressed payload keeps the type url of the original payload with a suffix
+ * added, so that it can be recognized and decompressed before being decoded by any codec.
+ */
+private[kalix] object PayloadCompression {
+
+  val CompressedTypeUrlSuffix = ";deflate"
+
+  def isCompressed(any: ScalaPbAny): Boolean = any.typeUrl.endsWith(CompressedTypeUrlSuffix)
+
+  /**
+   * Compresses the payload if it is at least as big as the threshold, and if compressing it actually makes it smaller.
+   */
+  def compress(any: ScalaPbAny, threshold: Int): ScalaPbAny =
+    if (any.value.size < threshold || isCompressed(any)) any
+    else {
+      val output = ByteString.newOutput(any.value.size / 2)
+      val deflater = new Deflater(Deflater.BEST_SPEED)
+      try {
+        val stream = new DeflaterOutputStream(output, deflater)
+        any.value.writeTo(stream)
+        stream.close()
+      } finally {
+        deflater.end()
+      }
+      val compressed = output.toByteString
+      if (compressed.size >= any.value.size) any
+      else ScalaPbAny(any.typeUrl + CompressedTypeUrlSuffix, compressed)
+    }
+
+  def decompress(any: ScalaPbAny): ScalaPbAny =
+    if (!isCompressed(any)) any
+    else {
+      val stream = new InflaterInputStream(any.value.newInput())
+      try {
+        ScalaPbAny(any.typeUrl.dropRight(CompressedTypeUrlSuffix.length), ByteString.readFrom(stream))
+      } finally {
+        stream.close()
+      }
+    }
+}
+
+/**
+ * INTERNAL API
+ *
+ * Compresses the encoded payloads above the given size. Decoding is left to the delegate, since all codecs decompress
+ * payloads before decoding them.
+ */
+private[kalix] final class CompressingMessageCodec(delegate: MessageCodec, threshold: Int) extends MessageCodec {
+
+  override def decodeMessage(any: ScalaPbAny): Any = delegate.decodeMessage(any)
+
+  override def encodeScala(value: Any): ScalaPbAny =
+    PayloadCompression.compress(delegate.encodeScala(value), threshold)
+
+  override def encodeJava(value: Any): JavaPbAny = ScalaPbAny.toJavaProto(encodeScala(value))
+
+  override def typeUrlFor(clz: Class[_]): String = delegate.typeUrlFor(clz)
+
+  override def warmUp(roundTrips: Int): Int = delegate.warmUp(roundTrips)
+}
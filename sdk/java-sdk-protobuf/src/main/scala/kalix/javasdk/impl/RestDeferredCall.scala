@@ -19,6 +19,7 @@ package kalix.javasdk.impl
 import kalix.javasdk.DeferredCall
 import kalix.javasdk.Metadata
 
+import java.time.Duration
 import java.util.concurrent.CompletionStage
 
 /**
@@ -29,11 +30,43 @@ final case class RestDeferredCall[I, O](
     metadata: MetadataImpl,
     fullServiceName: String,
     methodName: String,
-    asyncCall: Metadata => CompletionStage[O])
+    asyncCall: Metadata => CompletionStage[O],
+    callPolicy: CallPolicy = CallPolicy.Default,
+    execution: CallExecution[O] = CallExecution.direct[O])
     extends DeferredCall[I, O] {
-  override def execute(): CompletionStage[O] = asyncCall(metadata)
+
+  // keeps the constructor without call policy available from Java, like in generated code
+  def this(
+      message: I,
+      metadata: MetadataImpl,
+      fullServiceName: String,
+      methodName: String,
+      asyncCall: Metadata => CompletionStage[O]) =
+    this(message, metadata, fullServiceName, methodName, asyncCall, CallPolicy.Default, CallExecution.direct[O])
+
+  def this(
+      message: I,
+      metadata: MetadataImpl,
+      fullServiceName: String,
+      methodName: String,
+      asyncCall: Metadata => CompletionStage[O],
+      callPolicy: CallPolicy) =
+    this(message, metadata, fullServiceName, methodName, asyncCall, callPolicy, CallExecution.direct[O])
+
+  // all the attempts of the call policy are run within the execution, never around each attempt
+  override def execute(): CompletionStage[O] =
+    execution(metadata, callPolicy)(() => callPolicy.run(() => asyncCall(metadata)))
 
   override def withMetadata(metadata: Metadata): RestDeferredCall[I, O] = {
     this.copy(metadata = metadata.asInstanceOf[MetadataImpl])
   }
+
+  override def withTimeout(timeout: Duration): RestDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withTimeout(timeout))
+
+  override def withRetry(maxRetries: Int, delay: Duration): RestDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withRetry(maxRetries, delay))
+
+  override def withHedging(hedgeDelay: Duration): RestDeferredCall[I, O] =
+    this.copy(callPolicy = callPolicy.withHedging(hedgeDelay))
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicBoolean
+
+import scala.util.Try
+
+import akka.dispatch.DispatcherPrerequisites
+import akka.dispatch.ExecutorServiceConfigurator
+import akka.dispatch.ExecutorServiceFactory
+import com.typesafe.config.Config
+import org.slf4j.LoggerFactory
+
+/**
+ * INTERNAL API
+ *
+ * Executor for an Akka dispatcher that runs each task on a new virtual thread. The SDK is built for Java 11, so virtual
+ * threads, available from Java 21, are created through reflection.
+ */
+final class VirtualThreadExecutorConfigurator(config: Config, prerequisites: DispatcherPrerequisites)
+    extends ExecutorServiceConfigurator(config, prerequisites) {
+
+  // fail when the dispatcher is looked up rather than on the first task
+  if (!VirtualThreadExecutorConfigurator.virtualThreadsSupported)
+    throw new IllegalStateException(
+      s"The virtual thread dispatcher requires Java 21 or later, running on Java [${System.getProperty("java.version")}]")
+
+  override def createExecutorServiceFactory(id: String, threadFactory: ThreadFactory): ExecutorServiceFactory =
+    new ExecutorServiceFactory {
+      override def createExecutorService: ExecutorService =
+        VirtualThreadExecutorConfigurator.newVirtualThreadPerTaskExecutor(id)
+    }
+}
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object VirtualThreadExecutorConfigurator {
+
+  private val log = LoggerFactory.getLogger(classOf[VirtualThreadExecutorConfigurator])
+
+  private val isVirtualMethod = Try(classOf[Thread].getMethod("isVirtual")).toOption
+  private val blockingCallWarningLogged = new AtomicBoolean(false)
+
+  def virtualThreadsSupported: Boolean =
+    try {
+      classOf[Thread].getMethod("ofVirtual")
+      true
+    } catch {
+      case _: NoSuchMethodException => false
+    }
+
+  def newVirtualThreadPerTaskExecutor(namePrefix: String): ExecutorService = {
+    val builderClass = Class.forName("java.lang.Thread$Builder")
+    val builder = classOf[Thread].getMethod("ofVirtual").invoke(null)
+    val namedBuilder =
+      builderClass.getMethod("name", classOf[String], java.lang.Long.TYPE).invoke(builder, s"$namePrefix-", Long.box(0L))
+    val threadFactory = builderClass.getMethod("factory").invoke(namedBuilder).asInstanceOf[ThreadFactory]
+    classOf[Executors]
+      .getMethod("newThreadPerTaskExecutor", classOf[ThreadFactory])
+      .invoke(null, threadFactory)
+      .asInstanceOf[ExecutorService]
+  }
+
+  def isVirtual(thread: Thread): Boolean =
+    isVirtualMethod.exists(_.invoke(thread).asInstanceOf[Boolean])
+
+  /**
+   * Logs a warning, only the first time, if the given blocking operation is called on a thread that is not a virtual
+   * thread, where it ties up a thread of the dispatcher running the component.
+   */
+  def checkBlockingCall(operation: String): Unit =
+    if (!isVirtual(Thread.currentThread()) && blockingCallWarningLogged.compareAndSet(false, true))
+      log.warn(
+        "{} called on thread [{}], which is not a virtual thread. The thread is blocked until the call completes, " +
+        "consider running the component on the kalix.system.virtual-thread-dispatcher. This is only logged once.",
+        operation,
+        Thread.currentThread().getName)
+}
@@ -19,8 +19,16 @@ package kalix.javasdk.impl.action
 import kalix.javasdk.action.ActionOptions
 
 import java.util
+import java.util.Optional
 
-private[kalix] final case class ActionOptionsImpl(override val forwardHeaders: java.util.Set[String])
+private[kalix] final case class ActionOptionsImpl(
+    override val forwardHeaders: java.util.Set[String],
+    override val concurrencyLimit: Optional[Integer])
     extends ActionOptions {
   def withForwardHeaders(headers: util.Set[String]): ActionOptions = copy(forwardHeaders = headers)
+
+  def withConcurrencyLimit(maxConcurrency: Int): ActionOptions = {
+    require(maxConcurrency > 0, s"maxConcurrency must be positive, was [$maxConcurrency]")
+    copy(concurrencyLimit = Optional.of(Int.box(maxConcurrency)))
+  }
 }
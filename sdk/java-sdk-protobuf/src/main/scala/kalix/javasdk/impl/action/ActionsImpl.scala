@@ -41,8 +41,10 @@ import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
 import java.util.Optional
+import scala.concurrent.ExecutionContext
 import scala.concurrent.Future
 import scala.jdk.CollectionConverters.SeqHasAsJava
+import scala.jdk.OptionConverters._
 import scala.util.control.NonFatal
 
 final class ActionService(
@@ -126,6 +128,17 @@ private[javasdk] final class ActionsImpl(
     (s.serviceName, telemetry.traceInstrumentation(s.serviceName, ActionCategory))
   }.toMap
 
+  private val dispatchers = ComponentDispatchers(system)
+
+  private val concurrencyLimiters: Map[String, ConcurrencyLimiter] =
+    services.flatMap { case (serviceName, service) =>
+      service.actionOptions.flatMap(_.concurrencyLimit().toScala).map { maxConcurrency =>
+        val limiter = ConcurrencyLimiter(serviceName, maxConcurrency)
+        limiter.registerMetrics()
+        serviceName -> limiter
+      }
+    }
+
   private object creationContext extends AbstractContext(system) with ActionCreationContext {
     override def getGrpcClient[T](clientClass: Class[T], service: String): T =
       GrpcClients(system).getGrpcClient(clientClass, service)
@@ -198,25 +211,34 @@ private[javasdk] final class ActionsImpl(
    */
   override def handleUnary(in: ActionCommand): Future[ActionResponse] =
     services.get(in.serviceName) match {
+      // acquires a permit when the action has a concurrency limit, released when the response is complete
+      case Some(_) if concurrencyLimiters.get(in.serviceName).exists(!_.tryAcquire()) =>
+        Future.successful(overloaded(in))
       case Some(service) =>
+        val limiter = concurrencyLimiters.get(in.serviceName)
+        val startNanos = if (limiter.isDefined) System.nanoTime() else 0L
+
         val span = telemetries(service.serviceName).buildSpan(service, in)
 
         val fut =
-          try {
-            val context = createContext(in, service.messageCodec)
-            val decodedPayload = service.messageCodec.decodeMessage(
-              in.payload.getOrElse(throw new IllegalArgumentException("No command payload")))
-            val effect = service.factory
-              .create(creationContext)
-              .handleUnary(in.name, MessageEnvelope.of(decodedPayload, context.metadata()), context)
-            effectToResponse(service, in, effect, service.messageCodec)
-          } catch {
-            case NonFatal(ex) =>
-              // command handler threw an "unexpected" error
-              Future.successful(handleUnexpectedException(service, in, ex))
+          ComponentDispatchers.runOn(userCodeExecutionContext(service)) {
+            try {
+              val context = createContext(in, service.messageCodec)
+              val decodedPayload = service.messageCodec.decodeMessage(
+                in.payload.getOrElse(throw new IllegalArgumentException("No command payload")))
+              val effect = service.factory
+                .create(creationContext)
+                .handleUnary(in.name, MessageEnvelope.of(decodedPayload, context.metadata()), context)
+              effectToResponse(service, in, effect, service.messageCodec)
+            } catch {
+              case NonFatal(ex) =>
+                // command handler threw an "unexpected" error
+                Future.successful(handleUnexpectedException(service, in, ex))
+            }
           }
         fut.andThen { case _ =>
           span.foreach(_.end())
+          limiter.foreach(_.release(System.nanoTime() - startNanos))
         }
       case None =>
         Future.successful(
@@ -244,23 +266,25 @@ private[javasdk] final class ActionsImpl(
         case (Seq(call), messages) =>
           services.get(call.serviceName) match {
             case Some(service) =>
-              try {
-                val effect = service.factory
-                  .create(creationContext)
-                  .handleStreamedIn(
-                    call.name,
-                    messages.map { message =>
-                      val metadata = new MetadataImpl(message.metadata.map(_.entries.toVector).getOrElse(Nil))
-                      val decodedPayload = service.messageCodec.decodeMessage(
-                        message.payload.getOrElse(throw new IllegalArgumentException("No command payload")))
-                      MessageEnvelope.of(decodedPayload, metadata)
-                    }.asJava,
-                    createContext(call, service.messageCodec))
-                effectToResponse(service, call, effect, service.messageCodec)
-              } catch {
-                case NonFatal(ex) =>
-                  // command handler threw an "unexpected" error
-                  Future.successful(handleUnexpectedException(service, call, ex))
+              ComponentDispatchers.runOn(userCodeExecutionContext(service)) {
+                try {
+                  val effect = service.factory
+                    .create(creationContext)
+                    .handleStreamedIn(
+                      call.name,
+                      messages.map { message =>
+                        val metadata = new MetadataImpl(message.metadata.map(_.entries.toVector).getOrElse(Nil))
+                        val decodedPayload = service.messageCodec.decodeMessage(
+                          message.payload.getOrElse(throw new IllegalArgumentException("No command payload")))
+                        MessageEnvelope.of(decodedPayload, metadata)
+                      }.asJava,
+                      createContext(call, service.messageCodec))
+                  effectToResponse(service, call, effect, service.messageCodec)
+                } catch {
+                  case NonFatal(ex) =>
+                    // command handler threw an "unexpected" error
+                    Future.successful(handleUnexpectedException(service, call, ex))
+                }
               }
             case None =>
               Future.successful(
@@ -282,7 +306,7 @@ private[javasdk] final class ActionsImpl(
           val context = createContext(in, service.messageCodec)
           val decodedPayload = service.messageCodec.decodeMessage(
             in.payload.getOrElse(throw new IllegalArgumentException("No command payload")))
-          service.factory
+          val responses = service.factory
             .create(creationContext)
             .handleStreamedOut(in.name, MessageEnvelope.of(decodedPayload, context.metadata()), context)
             .asScala
@@ -291,7 +315,10 @@ private[javasdk] final class ActionsImpl(
               // user stream failed with an "unexpected" error
               handleUnexpectedException(service, in, ex)
             }
-            .async
+          userCodeDispatcherId(service) match {
+            case Some(dispatcherId) => responses.async(dispatcherId)
+            case None               => responses.async
+          }
         } catch {
           case NonFatal(ex) =>
             // command handler threw an "unexpected" error
@@ -324,7 +351,7 @@ private[javasdk] final class ActionsImpl(
           services.get(call.serviceName) match {
             case Some(service) =>
               try {
-                service.factory
+                val responses = service.factory
                   .create(creationContext)
                   .handleStreamed(
                     call.name,
@@ -341,6 +368,10 @@ private[javasdk] final class ActionsImpl(
                     // user stream failed with an "unexpected" error
                     handleUnexpectedException(service, call, ex)
                   }
+                userCodeDispatcherId(service) match {
+                  case Some(dispatcherId) => responses.async(dispatcherId)
+                  case None               => responses
+                }
               } catch {
                 case NonFatal(ex) =>
                   // command handler threw an "unexpected" error
@@ -355,6 +386,18 @@ private[javasdk] final class ActionsImpl(
           }
       }
 
+  private def overloaded(in: ActionCommand): ActionResponse =
+    ActionResponse(
+      ActionResponse.Response.Failure(
+        Failure(0, s"Action [${in.serviceName}] is overloaded, retry later", Status.Code.UNAVAILABLE.value())))
+
+  private def userCodeExecutionContext(service: ActionService): Option[ExecutionContext] =
+    dispatchers.executionContextFor(ComponentDispatchers.Action, service.descriptor.getFullName)
+
+  // the stages of streamed replies, including the user provided source, run on the dispatcher of the action
+  private def userCodeDispatcherId(service: ActionService): Option[String] =
+    dispatchers.dispatcherIdFor(ComponentDispatchers.Action, service.descriptor.getFullName)
+
   private def createContext(in: ActionCommand, messageCodec: MessageCodec): ActionContext = {
     val metadata = new MetadataImpl(in.metadata.map(_.entries.toVector).getOrElse(Nil))
     new ActionContextImpl(metadata, messageCodec, system)
@@ -17,7 +17,6 @@
 package kalix.javasdk.impl.effect
 
 import com.google.protobuf.any.{ Any => ScalaPbAny }
-import com.google.protobuf.{ Any => JavaPbAny }
 import kalix.javasdk.SideEffect
 import kalix.javasdk.impl.GrpcDeferredCall
 import kalix.javasdk.impl.MessageCodec
@@ -27,10 +26,8 @@ import kalix.protocol.component
 
 object EffectSupport {
 
-  def asProtocol(messageReply: MessageReplyImpl[JavaPbAny]): component.Reply =
-    component.Reply(
-      Some(ScalaPbAny.fromJavaProto(messageReply.message)),
-      MetadataImpl.toProtocol(messageReply.metadata))
+  def asProtocol(messageReply: MessageReplyImpl[ScalaPbAny]): component.Reply =
+    component.Reply(Some(messageReply.message), MetadataImpl.toProtocol(messageReply.metadata))
 
   def asProtocol(messageCodec: MessageCodec, forward: ForwardReplyImpl[_]): component.Forward = {
     forward match {
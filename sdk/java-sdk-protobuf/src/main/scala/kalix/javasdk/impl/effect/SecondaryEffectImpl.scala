@@ -16,6 +16,7 @@
 
 package kalix.javasdk.impl.effect
 
+import com.google.protobuf.any.{ Any => ScalaPbAny }
 import com.google.protobuf.{ Any => JavaPbAny }
 import io.grpc.Status
 import kalix.javasdk.impl.MessageCodec
@@ -31,7 +32,7 @@ sealed trait SecondaryEffectImpl {
 
   final def replyToClientAction(messageCodec: MessageCodec, commandId: Long): Option[ClientAction] = {
     this match {
-      case message: effect.MessageReplyImpl[JavaPbAny] @unchecked =>
+      case message: effect.MessageReplyImpl[ScalaPbAny] @unchecked =>
         Some(ClientAction(ClientAction.Action.Reply(EffectSupport.asProtocol(message))))
       case forward: effect.ForwardReplyImpl[JavaPbAny] @unchecked =>
         Some(ClientAction(ClientAction.Action.Forward(EffectSupport.asProtocol(messageCodec, forward))))
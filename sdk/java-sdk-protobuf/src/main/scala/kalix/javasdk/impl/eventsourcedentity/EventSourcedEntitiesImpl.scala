@@ -16,12 +16,8 @@
 
 package kalix.javasdk.impl.eventsourcedentity
 
-import akka.NotUsed
 import akka.actor.ActorSystem
-import akka.stream.scaladsl.Flow
-import akka.stream.scaladsl.Source
 import com.google.protobuf.Descriptors
-import com.google.protobuf.any.{ Any => ScalaPbAny }
 import io.grpc.Status
 import kalix.javasdk.KalixRunner.Configuration
 import kalix.javasdk.Metadata
@@ -48,6 +44,8 @@ import kalix.protocol.event_sourced_entity.EventSourcedStreamOut.Message.{ Snaps
 import kalix.protocol.event_sourced_entity._
 import org.slf4j.LoggerFactory
 
+import scala.concurrent.ExecutionContext
+import scala.jdk.OptionConverters._
 import scala.util.control.NonFatal
 
 final class EventSourcedEntityService(
@@ -78,6 +76,13 @@ final class EventSourcedEntityService(
 
   override final val componentType = EventSourcedEntities.name
 
+  /** Codec for the events and snapshots, in the persistence encoding, compressed if enabled in the entity options. */
+  val stateCodec: MessageCodec =
+    entityOptions.flatMap(_.compressionThreshold().toScala) match {
+      case Some(threshold) => new CompressingMessageCodec(messageCodec.persistenceCodec, threshold)
+      case None            => messageCodec.persistenceCodec
+    }
+
   def withSnapshotEvery(snapshotEvery: Int): EventSourcedEntityService =
     if (snapshotEvery != this.snapshotEvery)
       new EventSourcedEntityService(
@@ -103,12 +108,13 @@ final class EventSourcedEntitiesImpl(
 
   private val log = LoggerFactory.getLogger(this.getClass)
   private final val services = _services.iterator.map { case (name, service) =>
-    if (service.snapshotEvery < 0)
+    if (service.snapshotEvery < 0 && service.entityOptions.forall(_.snapshotPolicy().isEmpty))
       log.warn("Snapshotting disabled for entity [{}], this is not recommended.", service.serviceName)
     // FIXME overlay configuration provided by _system
     (name, if (service.snapshotEvery == 0) service.withSnapshotEvery(configuration.snapshotEvery) else service)
   }.toMap
   val telemetry = Telemetry(system)
+  private val dispatchers = ComponentDispatchers(system)
   lazy val instrumentations: Map[String, Instrumentation] = services.values.map { s =>
     (s.serviceName, telemetry.traceInstrumentation(s.serviceName, EventSourcedEntityCategory))
   }.toMap
@@ -127,60 +133,83 @@ final class EventSourcedEntitiesImpl(
    * events when the event stream was being replayed on load.
    */
   override def handle(in: akka.stream.scaladsl.Source[EventSourcedStreamIn, akka.NotUsed])
-      : akka.stream.scaladsl.Source[EventSourcedStreamOut, akka.NotUsed] = {
-    in.prefixAndTail(1)
-      .flatMapConcat {
-        case (Seq(EventSourcedStreamIn(InInit(init), _)), source) =>
-          source.via(runEntity(init))
-        case (Seq(), _) =>
-          // if error during recovery in proxy the stream will be completed before init
-          log.error("Event Sourced Entity stream closed before init.")
-          Source.empty[EventSourcedStreamOut]
-        case (Seq(EventSourcedStreamIn(other, _)), _) =>
-          throw ProtocolException(
-            s"Expected init message for Event Sourced Entity, but received [${other.getClass.getName}]")
-      }
-      .recover { case error =>
-        // only "unexpected" exceptions should end up here
-        ErrorHandling.withCorrelationId { correlationId =>
-          log.error(failureMessageForLog(error), error)
-          EventSourcedStreamOut(OutFailure(Failure(description = s"Unexpected failure [$correlationId]")))
-        }
-      }
-  }
+      : akka.stream.scaladsl.Source[EventSourcedStreamOut, akka.NotUsed] =
+    in.via(
+      new EntityStreamStage[EventSourcedStreamIn, EventSourcedStreamOut](
+        {
+          case EventSourcedStreamIn(InInit(init), _) => new EntityHandler(init)
+          case EventSourcedStreamIn(other, _)        => throw unexpectedInit(other)
+        },
+        () => logClosedBeforeInit(),
+        unexpectedFailure))
+      .async
+
+  private def logClosedBeforeInit(): Unit =
+    // if error during recovery in proxy the stream will be completed before init
+    log.error("Event Sourced Entity stream closed before init.")
+
+  private def unexpectedInit(other: EventSourcedStreamIn.Message): ProtocolException =
+    ProtocolException(s"Expected init message for Event Sourced Entity, but received [${other.getClass.getName}]")
 
-  private def runEntity(init: EventSourcedInit): Flow[EventSourcedStreamIn, EventSourcedStreamOut, NotUsed] = {
-    val service =
+  private def unexpectedFailure(error: Throwable): EventSourcedStreamOut =
+    // only "unexpected" exceptions should end up here
+    ErrorHandling.withCorrelationId { correlationId =>
+      log.error(failureMessageForLog(error), error)
+      EventSourcedStreamOut(OutFailure(Failure(description = s"Unexpected failure [$correlationId]")))
+    }
+
+  private final class EntityHandler(init: EventSourcedInit)
+      extends EntityStreamStage.Handler[EventSourcedStreamIn, EventSourcedStreamOut] {
+    val service: EventSourcedEntityService =
       services.getOrElse(init.serviceName, throw ProtocolException(init, s"Service not found: ${init.serviceName}"))
 
-    val router = service.factory
+    private val router = service.factory
       .create(new EventSourcedEntityContextImpl(init.entityId))
       .asInstanceOf[EventSourcedEntityRouter[Any, Any, EventSourcedEntity[Any, Any]]]
-    val thisEntityId = init.entityId
+    private val thisEntityId = init.entityId
+    // a snapshot policy replaces the snapshotEvery check of the router
+    private val snapshotPolicy = service.entityOptions.flatMap(_.snapshotPolicy().toScala)
+    private val snapshotEvery = if (snapshotPolicy.isDefined) 0 else service.snapshotEvery
 
-    val startingSequenceNumber = (for {
+    override val executionContext: Option[ExecutionContext] =
+      dispatchers.executionContextFor(ComponentDispatchers.EventSourcedEntity, service.descriptor.getFullName)
+
+    private val encodedState = new EncodedStateCache(service.stateCodec)
+    private val startingSequenceNumber = (for {
       snapshot <- init.snapshot
       any <- snapshot.snapshot
     } yield {
       val snapshotSequence = snapshot.snapshotSequence
-      router._internalHandleSnapshot(service.messageCodec.decodeMessage(any))
+      val decoded = service.messageCodec.decodeMessage(any)
+      router._internalHandleSnapshot(decoded)
+      encodedState.set(decoded, any)
       snapshotSequence
     }).getOrElse(0L)
-    Flow[EventSourcedStreamIn]
-      .map(_.message)
-      .scan[(Long, Option[EventSourcedStreamOut.Message])]((startingSequenceNumber, None)) {
-        case (_, InEvent(event)) =>
+    private val stats = new SnapshotStats(startingSequenceNumber)
+    private var sequence = startingSequenceNumber
+
+    override def handle(in: EventSourcedStreamIn): Option[EventSourcedStreamOut] =
+      in.message match {
+        case InEvent(event) =>
           // Note that these only come on replay
           val context = new EventContextImpl(thisEntityId, event.sequence)
+          val start = System.nanoTime()
           val ev =
             service.messageCodec
               .decodeMessage(event.payload.get)
               .asInstanceOf[AnyRef] // FIXME empty?
           router._internalHandleEvent(ev, context)
-          (event.sequence, None)
-        case ((sequence, _), InCommand(command)) =>
+          stats.recordReplayedEvent(event.sequence, event.payload.get.value.size, System.nanoTime() - start)
+          sequence = event.sequence
+          None
+        case InCommand(command) =>
           if (thisEntityId != command.entityId)
             throw ProtocolException(command, "Receiving entity is not the intended recipient of command")
+          if (stats.recovering) {
+            stats.recoveryCompleted()
+            if (log.isDebugEnabled)
+              log.debug("Entity [{}] [{}] recovered {}", service.serviceName, thisEntityId, stats.recoveryDescription)
+          }
           val span = instrumentations(service.serviceName).buildSpan(service, command)
           try {
             val cmd =
@@ -195,13 +224,14 @@ final class EventSourcedEntitiesImpl(
               secondaryEffect: SecondaryEffectImpl,
               snapshot: Option[Any],
               endSequenceNumber,
-              deleteEntity) =
+              deleteEntity,
+              eventHandlingNanos) =
               try {
                 router._internalHandleCommand(
                   command.name,
                   cmd,
                   context,
-                  service.snapshotEvery,
+                  snapshotEvery,
                   seqNr => new EventContextImpl(thisEntityId, seqNr))
               } catch {
                 case BadRequestException(msg) =>
@@ -217,7 +247,7 @@ final class EventSourcedEntitiesImpl(
 
             val serializedSecondaryEffect = secondaryEffect match {
               case MessageReplyImpl(message, metadata, sideEffects) =>
-                MessageReplyImpl(service.messageCodec.encodeJava(message), metadata, sideEffects)
+                MessageReplyImpl(service.messageCodec.encodeScala(message), metadata, sideEffects)
               case other => other
             }
 
@@ -225,18 +255,28 @@ final class EventSourcedEntitiesImpl(
 
             serializedSecondaryEffect match {
               case _: ErrorReplyImpl[_] => // error
-                (
-                  endSequenceNumber,
-                  Some(OutReply(EventSourcedReply(commandId = command.id, clientAction = clientAction))))
+                sequence = endSequenceNumber
+                Some(
+                  EventSourcedStreamOut(OutReply(EventSourcedReply(commandId = command.id, clientAction = clientAction))))
               case _ => // non-error
                 val serializedEvents =
-                  events.map(event => ScalaPbAny.fromJavaProto(service.messageCodec.encodeJava(event)))
-                val serializedSnapshot =
-                  snapshot.map(state => ScalaPbAny.fromJavaProto(service.messageCodec.encodeJava(state)))
+                  events.map(event => service.stateCodec.encodeScala(event))
+                if (events.nonEmpty)
+                  stats.recordEvents(
+                    endSequenceNumber,
+                    serializedEvents.iterator.map(_.value.size.toLong).sum,
+                    eventHandlingNanos)
+                val snapshotState = snapshotPolicy match {
+                  case Some(policy) if events.nonEmpty && policy.shouldSnapshot(stats) => Some(router._stateOrEmpty())
+                  case Some(_)                                                         => None
+                  case None                                                            => snapshot
+                }
+                if (snapshotState.isDefined) stats.recordSnapshot()
+                val serializedSnapshot = snapshotState.map(encodedState.encodeAndSet)
                 val delete = if (deleteEntity) pbCleanupDeletedEventSourcedEntityAfter else None
-                (
-                  endSequenceNumber,
-                  Some(
+                sequence = endSequenceNumber
+                Some(
+                  EventSourcedStreamOut(
                     OutReply(
                       EventSourcedReply(
                         command.id,
@@ -247,26 +287,23 @@ final class EventSourcedEntitiesImpl(
                         delete))))
             }
           } finally { span.foreach(_.end()) }
-        case ((sequence, _), InSnapshotRequest(request)) =>
+        case InSnapshotRequest(request) =>
+          stats.recordSnapshot()
           val reply =
-            EventSourcedSnapshotReply(request.requestId, Some(service.messageCodec.encodeScala(router._stateOrEmpty())))
-          (sequence, Some(OutSnapshotReply(reply)))
-        case (_, InInit(_)) =>
+            EventSourcedSnapshotReply(request.requestId, Some(encodedState.encodeAndSet(router._stateOrEmpty())))
+          Some(EventSourcedStreamOut(OutSnapshotReply(reply)))
+        case InInit(_) =>
           throw ProtocolException(init, "Entity already initiated")
-        case (_, InEmpty) =>
+        case InEmpty =>
           throw ProtocolException(init, "Received empty/unknown message")
       }
-      .collect { case (_, Some(message)) =>
-        EventSourcedStreamOut(message)
-      }
-      .recover { case error =>
-        // only "unexpected" exceptions should end up here
-        ErrorHandling.withCorrelationId { correlationId =>
-          LoggerFactory.getLogger(router.entityClass).error(failureMessageForLog(error), error)
-          EventSourcedStreamOut(OutFailure(Failure(description = s"Unexpected failure [$correlationId]")))
-        }
+
+    override def failure(error: Throwable): EventSourcedStreamOut =
+      // only "unexpected" exceptions should end up here
+      ErrorHandling.withCorrelationId { correlationId =>
+        LoggerFactory.getLogger(router.entityClass).error(failureMessageForLog(error), error)
+        EventSourcedStreamOut(OutFailure(Failure(description = s"Unexpected failure [$correlationId]")))
       }
-      .async
   }
 
   private class CommandContextImpl(
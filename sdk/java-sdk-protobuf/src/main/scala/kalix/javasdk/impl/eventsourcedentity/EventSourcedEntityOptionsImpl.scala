@@ -18,19 +18,31 @@ package kalix.javasdk.impl.eventsourcedentity
 
 import kalix.javasdk.PassivationStrategy
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityOptions
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy
 
 import java.util
 import java.util.Collections
+import java.util.Optional
 
 private[impl] final case class EventSourcedEntityOptionsImpl(
     override val snapshotEvery: Int,
     override val passivationStrategy: PassivationStrategy,
-    override val forwardHeaders: java.util.Set[String])
+    override val forwardHeaders: java.util.Set[String],
+    override val snapshotPolicy: Optional[SnapshotPolicy],
+    override val compressionThreshold: Optional[Integer])
     extends EventSourcedEntityOptions {
 
   override def withSnapshotEvery(numberOfEvents: Int): EventSourcedEntityOptions =
     copy(snapshotEvery = numberOfEvents)
 
+  override def withSnapshotPolicy(snapshotPolicy: SnapshotPolicy): EventSourcedEntityOptions =
+    copy(snapshotPolicy = Optional.of(snapshotPolicy))
+
+  override def withCompression(thresholdBytes: Int): EventSourcedEntityOptions = {
+    require(thresholdBytes >= 0, s"thresholdBytes must not be negative, was [$thresholdBytes]")
+    copy(compressionThreshold = Optional.of(Int.box(thresholdBytes)))
+  }
+
   override def withPassivationStrategy(strategy: PassivationStrategy): EventSourcedEntityOptions =
     copy(passivationStrategy = strategy)
 
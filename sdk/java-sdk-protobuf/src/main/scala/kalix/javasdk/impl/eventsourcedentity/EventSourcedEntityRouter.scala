@@ -26,6 +26,8 @@ import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityEffectImpl.NoPrim
 
 import java.util.Optional
 
+import scala.annotation.varargs
+
 object EventSourcedEntityRouter {
 
   final case class CommandResult(
@@ -33,11 +35,34 @@ object EventSourcedEntityRouter {
       secondaryEffect: SecondaryEffectImpl,
       snapshot: Option[Any],
       endSequenceNumber: Long,
-      deleteEntity: Boolean)
+      deleteEntity: Boolean,
+      eventHandlingNanos: Long = 0L)
 
   final case class CommandHandlerNotFound(commandName: String) extends RuntimeException
 
   final case class EventHandlerNotFound(eventClass: Class[_]) extends RuntimeException
+
+  /**
+   * INTERNAL API
+   *
+   * Index of the event classes handled by a generated router, so that it can dispatch events with a class lookup and a
+   * switch on the index, rather than a chain of type checks that grows with the number of event types. Events that are
+   * not an instance of any of the classes have index -1.
+   */
+  final class EventClassIndex private[EventSourcedEntityRouter] (eventClasses: Array[Class[_]]) {
+    private val index = new ClassValue[Integer] {
+      override def computeValue(eventClass: Class[_]): Integer =
+        Int.box(eventClasses.indexWhere(_.isAssignableFrom(eventClass)))
+    }
+
+    def indexOf(event: Any): Int =
+      if (event == null) -1 else index.get(event.getClass).intValue
+  }
+
+  /** INTERNAL API */
+  @varargs
+  def eventClassIndex(eventClasses: Class[_]*): EventClassIndex =
+    new EventClassIndex(eventClasses.toArray)
 }
 
 /**
@@ -112,6 +137,7 @@ abstract class EventSourcedEntityRouter[S, E, ES <: EventSourcedEntity[S, E]](pr
     commandEffect.primaryEffect match {
       case EmitEvents(events, deleteEntity) =>
         var shouldSnapshot = false
+        val eventHandlingStart = System.nanoTime()
         events.foreach { event =>
           try {
             entity._internalSetEventContext(Optional.of(eventContextFactory(currentSequence)))
@@ -128,6 +154,7 @@ abstract class EventSourcedEntityRouter[S, E, ES <: EventSourcedEntity[S, E]](pr
           currentSequence += 1
           shouldSnapshot = shouldSnapshot || (snapshotEvery > 0 && currentSequence % snapshotEvery == 0)
         }
+        val eventHandlingNanos = System.nanoTime() - eventHandlingStart
         // snapshotting final state since that is the "atomic" write
         // emptyState can be null but null snapshot should not be stored, but that can't even
         // happen since event handler is not allowed to return null as newState
@@ -144,7 +171,8 @@ abstract class EventSourcedEntityRouter[S, E, ES <: EventSourcedEntity[S, E]](pr
             commandEffect.secondaryEffect(endState),
             snapshot,
             currentSequence,
-            deleteEntity)
+            deleteEntity,
+            eventHandlingNanos)
         } finally {
           entity._internalSetCommandContext(Optional.empty())
         }
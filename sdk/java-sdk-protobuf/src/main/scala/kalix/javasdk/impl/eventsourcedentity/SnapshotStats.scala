@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.eventsourcedentity
+
+import java.time.Duration
+
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy
+
+/**
+ * INTERNAL API
+ *
+ * Keeps track of the events of a single entity instance, since the last snapshot for the snapshot policy and during
+ * recovery for reporting. Not thread safe, only to be used from the stream of the entity.
+ */
+private[impl] final class SnapshotStats(startingSequenceNumber: Long) extends SnapshotPolicy.Stats {
+
+  private var _sequenceNumber = startingSequenceNumber
+  private var snapshotSequenceNumber = startingSequenceNumber
+  private var eventBytes = 0L
+  private var eventHandlingNanos = 0L
+
+  private var _recovering = true
+  private var replayedEvents = 0L
+  private var replayedBytes = 0L
+  private var replayNanos = 0L
+
+  override def sequenceNumber(): Long = _sequenceNumber
+  override def eventsSinceSnapshot(): Long = _sequenceNumber - snapshotSequenceNumber
+  override def eventBytesSinceSnapshot(): Long = eventBytes
+  override def replayTime(): Duration = Duration.ofNanos(eventHandlingNanos)
+
+  def recovering: Boolean = _recovering
+
+  def recordReplayedEvent(sequenceNumber: Long, bytes: Long, handlingNanos: Long): Unit = {
+    replayedEvents += 1
+    replayedBytes += bytes
+    replayNanos += handlingNanos
+    recordEvents(sequenceNumber, bytes, handlingNanos)
+  }
+
+  def recordEvents(endSequenceNumber: Long, bytes: Long, handlingNanos: Long): Unit = {
+    _sequenceNumber = endSequenceNumber
+    eventBytes += bytes
+    eventHandlingNanos += handlingNanos
+  }
+
+  def recordSnapshot(): Unit = {
+    snapshotSequenceNumber = _sequenceNumber
+    eventBytes = 0L
+    eventHandlingNanos = 0L
+  }
+
+  def recoveryCompleted(): Unit =
+    _recovering = false
+
+  def recoveryDescription: String =
+    s"from snapshot at sequence [$snapshotSequenceNumber] and [$replayedEvents] events " +
+    s"([$replayedBytes] bytes) in [${replayNanos / 1000000}] ms"
+}
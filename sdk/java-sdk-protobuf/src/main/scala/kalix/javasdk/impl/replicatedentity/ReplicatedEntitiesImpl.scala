@@ -72,6 +72,7 @@ final class ReplicatedEntitiesImpl(system: ActorSystem, services: Map[String, Re
   import EntityExceptions._
 
   private val log = LoggerFactory.getLogger(this.getClass)
+  private val dispatchers = ComponentDispatchers(system)
 
   /**
    * After invoking handle, the first message sent will always be a ReplicatedEntityInit message, containing the entity
@@ -112,7 +113,7 @@ final class ReplicatedEntitiesImpl(system: ActorSystem, services: Map[String, Re
 
     val runner = new EntityRunner(service, init.entityId, initialData, system)
 
-    Flow[ReplicatedEntityStreamIn]
+    val flow = Flow[ReplicatedEntityStreamIn]
       .mapConcat { in =>
         in.message match {
           case In.Command(command) =>
@@ -135,6 +136,7 @@ final class ReplicatedEntitiesImpl(system: ActorSystem, services: Map[String, Re
           ReplicatedEntityStreamOut(Out.Failure(Failure(description = s"Unexpected error [$correlationId]")))
         }
       }
+    dispatchers.runOnDispatcherOf(ComponentDispatchers.ReplicatedEntity, service.descriptor.getFullName)(flow)
   }
 }
 
@@ -182,7 +184,7 @@ object ReplicatedEntitiesImpl {
 
       val serializedSecondaryEffect = effect.secondaryEffect match {
         case MessageReplyImpl(message, metadata, sideEffects) =>
-          MessageReplyImpl(service.anySupport.encodeJava(message), metadata, sideEffects)
+          MessageReplyImpl(service.anySupport.encodeScala(message), metadata, sideEffects)
         case other => other
       }
 
@@ -17,24 +17,76 @@
 package kalix.javasdk.impl.timer
 
 import java.time.Duration
+import java.util
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionStage
 
+import scala.concurrent.ExecutionContext
+import scala.concurrent.Future
+import scala.jdk.CollectionConverters._
 import scala.jdk.FutureConverters.FutureOps
+import scala.util.control.NonFatal
 
 import akka.Done
 import akka.actor.ActorSystem
+import akka.stream.SystemMaterializer
+import akka.stream.scaladsl.Sink
+import akka.stream.scaladsl.Source
 import com.google.protobuf.duration.{ Duration => ProtoDuration }
 import com.google.protobuf.wrappers.StringValue
 import com.google.protobuf.any.{ Any => ScalaPbAny }
 import kalix.javasdk.DeferredCall
 import kalix.javasdk.impl.{ GrpcClients, GrpcDeferredCall, MessageCodec, RestDeferredCall }
 import kalix.javasdk.timer.TimerScheduler
+import kalix.javasdk.timer.TimerSpec
 import kalix.timers.timers.Call
 import kalix.timers.timers.SingleTimer
 import kalix.timers.timers.TimerService
 
 /** INTERNAL API */
-private[kalix] final class TimerSchedulerImpl(messageCodec: MessageCodec, system: ActorSystem) extends TimerScheduler {
+private[kalix] object TimerSchedulerImpl {
+
+  /** Maximum number of timer service requests in flight for the bulk operations. */
+  private[timer] val MaxConcurrentRequests = 16
+
+  /** The calls made to the timer service of the runtime. */
+  private[timer] trait TimerServiceCalls {
+    def addSingle(timer: SingleTimer): Future[Any]
+    def remove(name: StringValue): Future[Any]
+  }
+
+  /**
+   * Sends the requests of a bulk operation with at most [[MaxConcurrentRequests]] of them in flight. Completes once all
+   * requests completed, or fails with the first failed request, skipping the requests not sent yet.
+   */
+  private[kalix] def sendAll[T](requests: List[T], system: ActorSystem)(send: T => Future[Any]): Future[Done] =
+    requests match {
+      case Nil           => Future.successful(Done)
+      case single :: Nil => send(single).map(_ => Done)(ExecutionContext.parasitic)
+      case _ =>
+        Source(requests)
+          .mapAsyncUnordered(MaxConcurrentRequests)(send)
+          .runWith(Sink.ignore)(SystemMaterializer(system).materializer)
+    }
+
+  private final class ProxyTimerServiceCalls(system: ActorSystem) extends TimerServiceCalls {
+    // created on first use, the client is looked up once and reused for all calls
+    private lazy val client = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
+    override def addSingle(timer: SingleTimer): Future[Any] = client.addSingle(timer)
+    override def remove(name: StringValue): Future[Any] = client.remove(name)
+  }
+}
+
+/** INTERNAL API */
+private[kalix] final class TimerSchedulerImpl private[timer] (
+    messageCodec: MessageCodec,
+    system: ActorSystem,
+    timerServiceClient: TimerSchedulerImpl.TimerServiceCalls)
+    extends TimerScheduler {
+  import TimerSchedulerImpl._
+
+  def this(messageCodec: MessageCodec, system: ActorSystem) =
+    this(messageCodec, system, new TimerSchedulerImpl.ProxyTimerServiceCalls(system))
 
   override def startSingleTimer[I, O](
       name: String,
@@ -46,30 +98,52 @@ private[kalix] final class TimerSchedulerImpl(messageCodec: MessageCodec, system
       name: String,
       delay: Duration,
       maxRetries: Int,
-      deferredCall: DeferredCall[I, O]): CompletionStage[Done] = {
-    val timerServiceClient = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
+      deferredCall: DeferredCall[I, O]): CompletionStage[Done] =
+    timerServiceClient.addSingle(singleTimer(name, delay, maxRetries, deferredCall)).asJava.thenApply(_ => Done)
 
+  override def startSingleTimers(timers: util.Collection[TimerSpec]): CompletionStage[Done] =
+    try {
+      // encode all timers before sending any of them, so that an invalid call does not leave a partially scheduled batch
+      val singleTimers = timers.asScala.iterator
+        .map(timer => singleTimer(timer.name, timer.delay, timer.maxRetries, timer.deferredCall))
+        .toList
+      inBatch(singleTimers)(timerServiceClient.addSingle)
+    } catch {
+      case NonFatal(ex) => CompletableFuture.failedFuture[Done](ex)
+    }
+
+  def cancel(name: String): CompletionStage[Done] =
+    timerServiceClient.remove(StringValue(name)).asJava.thenApply(_ => Done)
+
+  override def cancel(names: util.Collection[String]): CompletionStage[Done] =
+    inBatch(names.asScala.iterator.map(StringValue(_)).toList)(timerServiceClient.remove)
+
+  private def singleTimer(
+      name: String,
+      delay: Duration,
+      maxRetries: Int,
+      deferredCall: DeferredCall[_, _]): SingleTimer = {
     val call = deferredCall match {
-      case grpcDeferredCall: GrpcDeferredCall[I, O] =>
+      case grpcDeferredCall: GrpcDeferredCall[_, _] =>
         Call(
           grpcDeferredCall.fullServiceName,
           grpcDeferredCall.methodName,
           Some(messageCodec.encodeScala(grpcDeferredCall.message)))
-      case restDeferredCall: RestDeferredCall[I, O] =>
+      case restDeferredCall: RestDeferredCall[_, _] =>
         Call(
           restDeferredCall.fullServiceName,
           restDeferredCall.methodName,
           Some(restDeferredCall.message.asInstanceOf[ScalaPbAny]))
+      case other =>
+        throw new IllegalArgumentException(
+          s"Incompatible DeferredCall instance. Found ${other.getClass.getName}, expecting a DeferredCall created by " +
+          "the ComponentClient or the generated components")
     }
 
-    val singleTimer = SingleTimer(name, Some(call), Some(ProtoDuration(delay)), maxRetries)
-
-    timerServiceClient.addSingle(singleTimer).asJava.thenApply(_ => Done)
+    SingleTimer(name, Some(call), Some(ProtoDuration(delay)), maxRetries)
   }
 
-  def cancel(name: String): CompletionStage[Done] = {
-    val timerServiceClient = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
-    timerServiceClient.remove(StringValue(name)).asJava.thenApply(_ => Done)
-  }
+  private def inBatch[T](requests: List[T])(send: T => Future[Any]): CompletionStage[Done] =
+    sendAll(requests, system)(send).asJava
 
 }
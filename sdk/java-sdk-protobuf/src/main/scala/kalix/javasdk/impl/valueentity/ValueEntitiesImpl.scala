@@ -16,10 +16,7 @@
 
 package kalix.javasdk.impl.valueentity
 
-import akka.NotUsed
 import akka.actor.ActorSystem
-import akka.stream.scaladsl.Flow
-import akka.stream.scaladsl.Source
 import io.grpc.Status
 import kalix.javasdk.KalixRunner.Configuration
 import kalix.javasdk.impl.ErrorHandling.BadRequestException
@@ -29,6 +26,8 @@ import kalix.javasdk.impl.telemetry.ValueEntityCategory
 import kalix.protocol.component.Failure
 import org.slf4j.LoggerFactory
 
+import scala.concurrent.ExecutionContext
+import scala.jdk.OptionConverters._
 import scala.util.control.NonFatal
 
 // FIXME these don't seem to be 'public API', more internals?
@@ -78,6 +77,13 @@ final class ValueEntityService(
 
   override final val componentType = ValueEntities.name
 
+  /** Codec for the entity states, in the persistence encoding, compressed if enabled in the entity options. */
+  val stateCodec: MessageCodec =
+    entityOptions.flatMap(_.compressionThreshold().toScala) match {
+      case Some(threshold) => new CompressingMessageCodec(messageCodec.persistenceCodec, threshold)
+      case None            => messageCodec.persistenceCodec
+    }
+
   override def componentOptions: Option[ComponentOptions] = entityOptions
 }
 
@@ -92,6 +98,7 @@ final class ValueEntitiesImpl(
   private final val log = LoggerFactory.getLogger(this.getClass)
 
   val telemetry = Telemetry(system)
+  private val dispatchers = ComponentDispatchers(system)
   lazy val instrumentations: Map[String, Instrumentation] = services.values.map { s =>
     (s.serviceName, telemetry.traceInstrumentation(s.serviceName, ValueEntityCategory))
   }.toMap
@@ -99,6 +106,8 @@ final class ValueEntitiesImpl(
   private val pbCleanupDeletedValueEntityAfter =
     Some(com.google.protobuf.duration.Duration(configuration.cleanupDeletedValueEntityAfter))
 
+  private val skipUnchangedUpdates = configuration.skipUnchangedValueEntityUpdates
+
   /**
    * One stream will be established per active entity. Once established, the first message sent will be Init, which
    * contains the entity ID, and, a state if the entity has previously persisted one. Once the Init message is sent, one
@@ -109,31 +118,40 @@ final class ValueEntitiesImpl(
    */
   override def handle(in: akka.stream.scaladsl.Source[ValueEntityStreamIn, akka.NotUsed])
       : akka.stream.scaladsl.Source[ValueEntityStreamOut, akka.NotUsed] =
-    in.prefixAndTail(1)
-      .flatMapConcat {
-        case (Seq(ValueEntityStreamIn(InInit(init), _)), source) =>
-          source.via(runEntity(init))
-        case (Seq(), _) =>
-          // if error during recovery in proxy the stream will be completed before init
-          log.warn("Value Entity stream closed before init.")
-          Source.empty[ValueEntityStreamOut]
-        case (Seq(ValueEntityStreamIn(other, _)), _) =>
-          throw ProtocolException(s"Expected init message for Value Entity, but received [${other.getClass.getName}]")
-      }
-      .recover { case error =>
-        ErrorHandling.withCorrelationId { correlationId =>
-          log.error(failureMessageForLog(error), error)
-          ValueEntityStreamOut(OutFailure(Failure(description = s"Unexpected error [$correlationId]")))
-        }
-      }
+    in.via(
+      new EntityStreamStage[ValueEntityStreamIn, ValueEntityStreamOut](
+        {
+          case ValueEntityStreamIn(InInit(init), _) => new EntityHandler(init)
+          case ValueEntityStreamIn(other, _)        => throw unexpectedInit(other)
+        },
+        () => logClosedBeforeInit(),
+        unexpectedFailure))
       .async
 
-  private def runEntity(init: ValueEntityInit): Flow[ValueEntityStreamIn, ValueEntityStreamOut, NotUsed] = {
-    val service =
+  private def logClosedBeforeInit(): Unit =
+    // if error during recovery in proxy the stream will be completed before init
+    log.warn("Value Entity stream closed before init.")
+
+  private def unexpectedInit(other: ValueEntityStreamIn.Message): ProtocolException =
+    ProtocolException(s"Expected init message for Value Entity, but received [${other.getClass.getName}]")
+
+  private def unexpectedFailure(error: Throwable): ValueEntityStreamOut =
+    ErrorHandling.withCorrelationId { correlationId =>
+      log.error(failureMessageForLog(error), error)
+      ValueEntityStreamOut(OutFailure(Failure(description = s"Unexpected error [$correlationId]")))
+    }
+
+  private final class EntityHandler(init: ValueEntityInit)
+      extends EntityStreamStage.Handler[ValueEntityStreamIn, ValueEntityStreamOut] {
+    val service: ValueEntityService =
       services.getOrElse(init.serviceName, throw ProtocolException(init, s"Service not found: ${init.serviceName}"))
-    val router =
+    private val router =
       service.factory.create(new ValueEntityContextImpl(init.entityId, system))
-    val thisEntityId = init.entityId
+    private val thisEntityId = init.entityId
+    private val encodedState = new EncodedStateCache(service.stateCodec)
+
+    override val executionContext: Option[ExecutionContext] =
+      dispatchers.executionContextFor(ComponentDispatchers.ValueEntity, service.descriptor.getFullName)
 
     init.state match {
       case Some(ValueEntityInitState(stateOpt, _)) =>
@@ -141,15 +159,18 @@ final class ValueEntitiesImpl(
           case Some(state) =>
             val decoded = service.messageCodec.decodeMessage(state)
             router._internalSetInitState(decoded)
+            encodedState.set(decoded, state)
           case None => // no initial state
         }
       case None =>
         throw new IllegalStateException("ValueEntityInitState is mandatory")
     }
 
-    Flow[ValueEntityStreamIn]
-      .map(_.message)
-      .map {
+    override def handle(in: ValueEntityStreamIn): Option[ValueEntityStreamOut] =
+      Some(handleMessage(in))
+
+    private def handleMessage(in: ValueEntityStreamIn): ValueEntityStreamOut =
+      in.message match {
         case InCommand(command) if thisEntityId != command.entityId =>
           throw ProtocolException(command, "Receiving Value entity is not the intended recipient of command")
 
@@ -184,7 +205,7 @@ final class ValueEntitiesImpl(
 
             val serializedSecondaryEffect = effect.secondaryEffect match {
               case MessageReplyImpl(message, metadata, sideEffects) =>
-                MessageReplyImpl(service.messageCodec.encodeJava(message), metadata, sideEffects)
+                MessageReplyImpl(service.messageCodec.encodeScala(message), metadata, sideEffects)
               case other => other
             }
 
@@ -198,10 +219,18 @@ final class ValueEntitiesImpl(
               case _ => // non-error
                 val action: Option[ValueEntityAction] = effect.primaryEffect match {
                   case DeleteEntity =>
+                    encodedState.clear()
                     Some(ValueEntityAction(Delete(ValueEntityDelete(pbCleanupDeletedValueEntityAfter))))
                   case UpdateState(newState) =>
-                    val newStateScalaPbAny = service.messageCodec.encodeScala(newState)
-                    Some(ValueEntityAction(Update(ValueEntityUpdate(Some(newStateScalaPbAny)))))
+                    val newStateScalaPbAny = encodedState.encode(newState)
+                    if (skipUnchangedUpdates && encodedState.lastEncoded.contains(newStateScalaPbAny)) {
+                      if (log.isTraceEnabled)
+                        log.trace("Skipping update of unchanged state for entity [{}].", thisEntityId)
+                      None
+                    } else {
+                      encodedState.set(newState, newStateScalaPbAny)
+                      Some(ValueEntityAction(Update(ValueEntityUpdate(Some(newStateScalaPbAny)))))
+                    }
                   case _ =>
                     None
                 }
@@ -224,11 +253,11 @@ final class ValueEntitiesImpl(
         case InEmpty =>
           throw ProtocolException(init, "Value entity received empty/unknown message")
       }
-      .recover { case error =>
-        ErrorHandling.withCorrelationId { correlationId =>
-          LoggerFactory.getLogger(router.entityClass).error(failureMessageForLog(error), error)
-          ValueEntityStreamOut(OutFailure(Failure(description = s"Unexpected error [$correlationId]")))
-        }
+
+    override def failure(error: Throwable): ValueEntityStreamOut =
+      ErrorHandling.withCorrelationId { correlationId =>
+        LoggerFactory.getLogger(router.entityClass).error(failureMessageForLog(error), error)
+        ValueEntityStreamOut(OutFailure(Failure(description = s"Unexpected error [$correlationId]")))
       }
   }
 
@@ -21,10 +21,12 @@ import kalix.javasdk.valueentity.ValueEntityOptions
 
 import java.util.Collections
 import java.util
+import java.util.Optional
 
 private[impl] case class ValueEntityOptionsImpl(
     override val passivationStrategy: PassivationStrategy,
-    override val forwardHeaders: java.util.Set[String])
+    override val forwardHeaders: java.util.Set[String],
+    override val compressionThreshold: Optional[Integer])
     extends ValueEntityOptions {
 
   override def withPassivationStrategy(strategy: PassivationStrategy): ValueEntityOptions =
@@ -32,7 +34,12 @@ private[impl] case class ValueEntityOptionsImpl(
 
   override def withForwardHeaders(headers: util.Set[String]): ValueEntityOptions =
     copy(forwardHeaders = Collections.unmodifiableSet(new util.HashSet(headers)))
+
+  override def withCompression(thresholdBytes: Int): ValueEntityOptions = {
+    require(thresholdBytes >= 0, s"thresholdBytes must not be negative, was [$thresholdBytes]")
+    copy(compressionThreshold = Optional.of(Int.box(thresholdBytes)))
+  }
 }
 object ValueEntityOptionsImpl {
-  val defaults = new ValueEntityOptionsImpl(PassivationStrategy.defaultTimeout(), Collections.emptySet())
+  val defaults = new ValueEntityOptionsImpl(PassivationStrategy.defaultTimeout(), Collections.emptySet(), Optional.empty())
 }
@@ -19,6 +19,7 @@ package kalix.javasdk.impl.view
 import java.util.Optional
 import scala.compat.java8.OptionConverters._
 import scala.util.control.NonFatal
+import akka.NotUsed
 import akka.actor.ActorSystem
 import akka.stream.scaladsl.Source
 import kalix.javasdk.impl.{ Service, ViewFactory }
@@ -27,7 +28,6 @@ import kalix.javasdk.impl._
 import kalix.javasdk.view.{ UpdateContext, View, ViewContext, ViewCreationContext, ViewOptions }
 import kalix.protocol.{ view => pv }
 import com.google.protobuf.Descriptors
-import com.google.protobuf.any.{ Any => ScalaPbAny }
 import org.slf4j.LoggerFactory
 
 /** INTERNAL API */
@@ -70,6 +70,7 @@ final class ViewsImpl(system: ActorSystem, _services: Map[String, ViewService],
   import ViewsImpl.log
 
   private final val services = _services.iterator.toMap
+  private val dispatchers = ComponentDispatchers(system)
 
   /**
    * Handle a full duplex streamed session. One stream will be established per incoming message to the view service.
@@ -89,54 +90,16 @@ final class ViewsImpl(system: ActorSystem, _services: Map[String, ViewService],
         case (Seq(pv.ViewStreamIn(pv.ViewStreamIn.Message.Receive(receiveEvent), _)), tail) =>
           services.get(receiveEvent.serviceName) match {
             case Some(service: ViewService) =>
-              if (!service.factory.isPresent)
-                throw new IllegalArgumentException(
-                  s"Unexpected call to service [${receiveEvent.serviceName}] with viewId [${service.viewId}]: " +
-                  "this view has `transform_updates=false` set, so updates should be handled entirely by the proxy " +
-                  "and not reach the user function")
-
-              // FIXME should we really create a new handler instance per incoming command ???
-              val handler = service.factory.get.create(new ViewContextImpl(service.viewId))
-
-              val state: Option[Any] =
-                receiveEvent.bySubjectLookupResult.flatMap(row =>
-                  row.value.map(scalaPb => service.messageCodec.decodeMessage(scalaPb)))
-
-              val commandName = receiveEvent.commandName
-              val msg = service.messageCodec.decodeMessage(receiveEvent.payload.get)
-              val metadata = new MetadataImpl(receiveEvent.metadata.map(_.entries.toVector).getOrElse(Nil))
-              val context = new UpdateContextImpl(service.viewId, commandName, metadata)
-
-              val effect =
-                try {
-                  handler._internalHandleUpdate(state, msg, context)
-                } catch {
-                  case e: ViewException => throw e
-                  case NonFatal(error) =>
-                    throw ViewException(context, s"View unexpected failure: ${error.getMessage}", Some(error))
-                }
-
-              effect match {
-                case ViewUpdateEffectImpl.Update(newState) =>
-                  if (newState == null)
-                    throw ViewException(context, "updateState with null state is not allowed.", None)
-                  val serializedState = ScalaPbAny.fromJavaProto(service.messageCodec.encodeJava(newState))
-                  val upsert = pv.Upsert(Some(pv.Row(value = Some(serializedState))))
-                  val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Upsert(upsert))
-                  Source.single(out)
-                case ViewUpdateEffectImpl.Delete =>
-                  val delete = pv.Delete()
-                  val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Delete(delete))
-                  Source.single(out)
-                case ViewUpdateEffectImpl.Ignore =>
-                  // ignore incoming event
-                  val upsert = pv.Upsert(None)
-                  val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Upsert(upsert))
-                  Source.single(out)
-                case ViewUpdateEffectImpl.Error(e) =>
-                  Source.failed(new RuntimeException(e))
+              dispatchers.dispatcherIdFor(ComponentDispatchers.View, service.descriptor.getFullName) match {
+                case Some(dispatcherId) =>
+                  // the update handler is run when the inner source is materialized, on the dispatcher of the view
+                  Source
+                    .lazySource(() => handleEvent(service, receiveEvent))
+                    .mapMaterializedValue(_ => NotUsed)
+                    .async(dispatcherId)
+                case None =>
+                  handleEvent(service, receiveEvent)
               }
-
             case None =>
               val errMsg = s"Unknown service: ${receiveEvent.serviceName}"
               log.error(errMsg)
@@ -154,6 +117,56 @@ final class ViewsImpl(system: ActorSystem, _services: Map[String, ViewService],
       }
       .async
 
+  private def handleEvent(service: ViewService, receiveEvent: pv.ReceiveEvent): Source[pv.ViewStreamOut, NotUsed] = {
+    if (!service.factory.isPresent)
+      throw new IllegalArgumentException(
+        s"Unexpected call to service [${receiveEvent.serviceName}] with viewId [${service.viewId}]: " +
+        "this view has `transform_updates=false` set, so updates should be handled entirely by the proxy " +
+        "and not reach the user function")
+
+    // FIXME should we really create a new handler instance per incoming command ???
+    val handler = service.factory.get.create(new ViewContextImpl(service.viewId))
+
+    val state: Option[Any] =
+      receiveEvent.bySubjectLookupResult.flatMap(row =>
+        row.value.map(scalaPb => service.messageCodec.decodeMessage(scalaPb)))
+
+    val commandName = receiveEvent.commandName
+    val msg = service.messageCodec.decodeMessage(receiveEvent.payload.get)
+    val metadata = new MetadataImpl(receiveEvent.metadata.map(_.entries.toVector).getOrElse(Nil))
+    val context = new UpdateContextImpl(service.viewId, commandName, metadata)
+
+    val effect =
+      try {
+        handler._internalHandleUpdate(state, msg, context)
+      } catch {
+        case e: ViewException => throw e
+        case NonFatal(error) =>
+          throw ViewException(context, s"View unexpected failure: ${error.getMessage}", Some(error))
+      }
+
+    effect match {
+      case ViewUpdateEffectImpl.Update(newState) =>
+        if (newState == null)
+          throw ViewException(context, "updateState with null state is not allowed.", None)
+        val serializedState = service.messageCodec.encodeScala(newState)
+        val upsert = pv.Upsert(Some(pv.Row(value = Some(serializedState))))
+        val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Upsert(upsert))
+        Source.single(out)
+      case ViewUpdateEffectImpl.Delete =>
+        val delete = pv.Delete()
+        val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Delete(delete))
+        Source.single(out)
+      case ViewUpdateEffectImpl.Ignore =>
+        // ignore incoming event
+        val upsert = pv.Upsert(None)
+        val out = pv.ViewStreamOut(pv.ViewStreamOut.Message.Upsert(upsert))
+        Source.single(out)
+      case ViewUpdateEffectImpl.Error(e) =>
+        Source.failed(new RuntimeException(e))
+    }
+  }
+
   private final class UpdateContextImpl(
       override val viewId: String,
       override val eventName: String,
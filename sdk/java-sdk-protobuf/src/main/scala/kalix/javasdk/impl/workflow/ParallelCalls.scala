@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.workflow
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import scala.concurrent.ExecutionContext
+import scala.concurrent.Future
+import scala.concurrent.Promise
+import scala.util.Failure
+import scala.util.Success
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object ParallelCalls {
+
+  /**
+   * Runs the calls with at most `maxConcurrency` of them in flight, starting the next one as soon as one completes.
+   * Completes with the results in the order of the calls, or with the first failure, in which case the calls not
+   * started yet are not started at all.
+   */
+  def run(calls: IndexedSeq[() => Future[Any]], maxConcurrency: Int)(implicit
+      ec: ExecutionContext): Future[IndexedSeq[Any]] =
+    if (calls.isEmpty) Future.successful(IndexedSeq.empty)
+    else {
+      val results = new Array[Any](calls.size)
+      val next = new AtomicInteger(0)
+      val remaining = new AtomicInteger(calls.size)
+      val promise = Promise[IndexedSeq[Any]]()
+
+      def startNext(): Unit = {
+        val i = next.getAndIncrement()
+        if (i < calls.size && !promise.isCompleted) {
+          Future.delegate(calls(i)()).onComplete {
+            case Success(result) =>
+              results(i) = result
+              if (remaining.decrementAndGet() == 0) promise.trySuccess(results.toIndexedSeq)
+              else startNext()
+            case Failure(exception) =>
+              promise.tryFailure(exception)
+          }
+        }
+      }
+
+      (1 to math.min(maxConcurrency, calls.size)).foreach(_ => startNext())
+      promise.future
+    }
+}
@@ -114,6 +114,7 @@ final class WorkflowImpl(system: ActorSystem, val services: Map[String, Workflow
     extends kalix.protocol.workflow_entity.WorkflowEntities {
 
   private implicit val ec: ExecutionContext = system.dispatcher
+  private val dispatchers = ComponentDispatchers(system)
   private final val log = LoggerFactory.getLogger(this.getClass)
 
   override def handle(in: Source[WorkflowStreamIn, NotUsed]): Source[WorkflowStreamOut, NotUsed] =
@@ -188,6 +189,8 @@ final class WorkflowImpl(system: ActorSystem, val services: Map[String, Workflow
     val router: WorkflowRouter[_, _] =
       service.factory.create(new WorkflowContextImpl(init.entityId, system))
     val workflowId = init.entityId
+    val userCodeExecutionContext =
+      dispatchers.executionContextFor(ComponentDispatchers.Workflow, service.descriptor.getFullName).getOrElse(ec)
 
     val workflowConfig =
       WorkflowStreamOut(
@@ -316,7 +319,7 @@ final class WorkflowImpl(system: ActorSystem, val services: Map[String, Workflow
                 executeStep.stepName,
                 service.messageCodec,
                 timerScheduler,
-                system.dispatcher)
+                userCodeExecutionContext)
             } catch {
               case e: WorkflowException => throw e
               case NonFatal(ex) =>
@@ -350,7 +353,7 @@ final class WorkflowImpl(system: ActorSystem, val services: Map[String, Workflow
           throw ProtocolException(init, "Workflow received empty/unknown message")
       }
 
-    (flow, workflowConfig)
+    (dispatchers.runOnDispatcherOf(ComponentDispatchers.Workflow, service.descriptor.getFullName)(flow), workflowConfig)
   }
 
 }
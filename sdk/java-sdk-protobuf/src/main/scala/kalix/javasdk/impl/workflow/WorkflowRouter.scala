@@ -20,6 +20,7 @@ import java.nio.ByteBuffer
 import java.util.Optional
 import java.util.concurrent.CompletionStage
 import java.util.function.{ Function => JFunc }
+import java.util.function.Supplier
 
 import scala.compat.java8.FutureConverters.CompletionStageOps
 import scala.concurrent.{ ExecutionContext, Future }
@@ -42,6 +43,7 @@ import kalix.javasdk.workflow.Workflow
 import kalix.javasdk.workflow.Workflow.Effect
 import Workflow.AsyncCallStep
 import Workflow.CallStep
+import Workflow.ParallelCallStep
 import Workflow.WorkflowDef
 import com.google.api.HttpBody
 import kalix.javasdk.HttpResponse
@@ -206,23 +208,56 @@ abstract class WorkflowRouter[S, W <: Workflow[S]](protected val workflow: W) {
           .apply(decodedInput)
           .toScala
 
-        future
-          .map { res =>
-            val encoded = messageCodec.encodeScala(res)
-            val executedRes = StepExecuted(Some(encoded))
+        executedStepResponse(commandId, stepName, messageCodec, future)
+
+      case Some(call: ParallelCallStep[_, _, _]) =>
+        val decodedInput = input match {
+          case Some(inputValue) => decodeInput(messageCodec, inputValue, call.callInputClass)
+          case None             => null // to meet a signature of supplier expressed as a function
+        }
+
+        val future =
+          Future
+            .delegate {
+              val calls = call.callFunc
+                .asInstanceOf[JFunc[Any, java.util.List[Supplier[CompletionStage[Any]]]]]
+                .apply(decodedInput)
+                .asScala
+                .map(supplier => () => supplier.get().toScala)
+                .toIndexedSeq
+              ParallelCalls.run(calls, call.maxConcurrency)
+            }
+            .map { results =>
+              call.aggregateFunc
+                .asInstanceOf[JFunc[java.util.List[Any], Any]]
+                .apply(results.asJava)
+            }
+
+        executedStepResponse(commandId, stepName, messageCodec, future)
 
-            StepResponse(commandId, stepName, StepResponse.Response.Executed(executedRes))
-          }
-          .recover { case t: Throwable =>
-            log.error("Workflow async call failed.", t)
-            StepResponse(commandId, stepName, StepResponse.Response.ExecutionFailed(StepExecutionFailed(t.getMessage)))
-          }
       case Some(any) => Future.failed(WorkflowStepNotSupported(any.getClass.getSimpleName))
       case None      => Future.failed(WorkflowStepNotFound(stepName))
     }
 
   }
 
+  private def executedStepResponse(
+      commandId: Long,
+      stepName: String,
+      messageCodec: MessageCodec,
+      future: Future[Any])(implicit ec: ExecutionContext): Future[StepResponse] =
+    future
+      .map { res =>
+        val encoded = messageCodec.encodeScala(res)
+        val executedRes = StepExecuted(Some(encoded))
+
+        StepResponse(commandId, stepName, StepResponse.Response.Executed(executedRes))
+      }
+      .recover { case t: Throwable =>
+        log.error("Workflow async call failed.", t)
+        StepResponse(commandId, stepName, StepResponse.Response.ExecutionFailed(StepExecutionFailed(t.getMessage)))
+      }
+
   def _internalGetNextStep(stepName: String, result: ScalaPbAny, messageCodec: MessageCodec): CommandResult = {
 
     workflow._internalSetCurrentState(stateOrEmpty())
@@ -245,6 +280,14 @@ abstract class WorkflowRouter[S, W <: Workflow[S]](protected val workflow: W) {
 
         CommandResult(effect)
 
+      case Some(call: ParallelCallStep[_, _, _]) =>
+        val effect =
+          call.transitionFunc
+            .asInstanceOf[JFunc[Any, Effect[Any]]]
+            .apply(decodeInput(messageCodec, result, call.transitionInputClass))
+
+        CommandResult(effect)
+
       case Some(any) => throw WorkflowStepNotSupported(any.getClass.getSimpleName)
       case None      => throw WorkflowStepNotFound(stepName)
     }
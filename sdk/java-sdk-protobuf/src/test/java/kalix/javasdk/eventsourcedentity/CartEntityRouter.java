@@ -23,18 +23,24 @@ import com.example.shoppingcart.domain.ShoppingCartDomain;
 /** Generated, does the routing from command name to concrete method */
 final class CartEntityRouter extends EventSourcedEntityRouter<ShoppingCartDomain.Cart, Object, CartEntity> {
 
+  private static final EventSourcedEntityRouter.EventClassIndex eventClasses =
+      EventSourcedEntityRouter.eventClassIndex(
+          ShoppingCartDomain.ItemAdded.class,
+          ShoppingCartDomain.ItemRemoved.class);
+
   public CartEntityRouter(CartEntity entity) {
     super(entity);
   }
 
   @Override
   public ShoppingCartDomain.Cart handleEvent(ShoppingCartDomain.Cart state, Object event) {
-    if (event instanceof ShoppingCartDomain.ItemAdded) {
-      return entity().itemAdded(state, (ShoppingCartDomain.ItemAdded) event);
-    } else if (event instanceof ShoppingCartDomain.ItemRemoved) {
-      return entity().itemRemoved(state, (ShoppingCartDomain.ItemRemoved) event);
-    } else {
-      throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
+    switch (eventClasses.indexOf(event)) {
+      case 0:
+        return entity().itemAdded(state, (ShoppingCartDomain.ItemAdded) event);
+      case 1:
+        return entity().itemRemoved(state, (ShoppingCartDomain.ItemRemoved) event);
+      default:
+        throw new EventSourcedEntityRouter.EventHandlerNotFound(event.getClass());
     }
   }
 
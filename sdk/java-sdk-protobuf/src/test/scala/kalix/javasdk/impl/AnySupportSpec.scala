@@ -65,6 +65,19 @@ class AnySupportSpec extends AnyWordSpec with Matchers with OptionValues {
       decoded should ===(error)
     }
 
+    "deserialize java protobufs with a type url prefix other than the configured one" in {
+      val any =
+        ScalaPbAny("other.example/" + ShoppingCartApi.AddLineItem.getDescriptor.getFullName, addLineItem.toByteString)
+      anySupport.decodeMessage(any) should ===(addLineItem)
+    }
+
+    "warm up all known message types" in {
+      anySupport.knownTypeCount should be >= ShoppingCartApi.getDescriptor.getMessageTypes.size
+      anySupport.warmUp(roundTrips = 0) shouldBe 0
+      anySupport.warmUp(roundTrips = 2) shouldBe 2 * anySupport.knownTypeCount
+      anySupportScala.warmUp(roundTrips = 2) shouldBe 2 * anySupportScala.knownTypeCount
+    }
+
     "support resolving a service descriptor" in {
       val methods =
         anySupport.resolveServiceDescriptor(ShoppingCartApi.getDescriptor.findServiceByName("ShoppingCartService"))
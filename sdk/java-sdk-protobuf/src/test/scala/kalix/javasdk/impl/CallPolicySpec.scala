@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.net.ConnectException
+import java.net.SocketTimeoutException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+import io.grpc.Status
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class CallPolicySpec extends AnyWordSpec with Matchers {
+
+  private def await[T](stage: CompletionStage[T]): T =
+    stage.toCompletableFuture.get(3, TimeUnit.SECONDS)
+
+  private def failing[T](error: Throwable): CompletionStage[T] = {
+    val future = new CompletableFuture[T]()
+    future.completeExceptionally(error)
+    future
+  }
+
+  "The CallPolicy" should {
+
+    "run the call as is by default" in {
+      await(CallPolicy.Default.run(() => CompletableFuture.completedFuture("ok"))) shouldBe "ok"
+    }
+
+    "fail an attempt that exceeds the timeout" in {
+      val policy = CallPolicy.Default.withTimeout(Duration.ofMillis(50))
+      val never = new CompletableFuture[String]()
+      val exception = intercept[ExecutionException](await(policy.run(() => never)))
+      exception.getCause shouldBe a[TimeoutException]
+      never.isCancelled shouldBe true
+    }
+
+    "retry retryable failures" in {
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withRetry(2, Duration.ofMillis(10))
+      val result = policy.run { () =>
+        if (attempts.incrementAndGet() < 3) failing[String](Status.UNAVAILABLE.asRuntimeException())
+        else CompletableFuture.completedFuture("ok")
+      }
+      await(result) shouldBe "ok"
+      attempts.get() shouldBe 3
+    }
+
+    "give up after the max number of retries" in {
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withRetry(2, Duration.ZERO)
+      val result = policy.run { () =>
+        attempts.incrementAndGet()
+        failing[String](Status.UNAVAILABLE.asRuntimeException())
+      }
+      intercept[ExecutionException](await(result))
+      attempts.get() shouldBe 3
+    }
+
+    "not retry errors caused by the request itself" in {
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withRetry(2, Duration.ZERO)
+      val result = policy.run { () =>
+        attempts.incrementAndGet()
+        failing[String](Status.INVALID_ARGUMENT.asRuntimeException())
+      }
+      intercept[ExecutionException](await(result))
+      attempts.get() shouldBe 1
+    }
+
+    "not retry unknown errors" in {
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withRetry(2, Duration.ZERO)
+      val result = policy.run { () =>
+        attempts.incrementAndGet()
+        failing[String](new IllegalArgumentException("cannot serialize"))
+      }
+      intercept[ExecutionException](await(result))
+      attempts.get() shouldBe 1
+    }
+
+    "retry connection failures" in {
+      CallPolicy.isRetryable(new ConnectException("Connection refused")) shouldBe true
+      CallPolicy.isRetryable(new CompletionException(new RuntimeException(new SocketTimeoutException()))) shouldBe true
+      CallPolicy.isRetryable(new NullPointerException()) shouldBe false
+    }
+
+    "use the hedged attempt when the first one is slow" in {
+      val slow = new CompletableFuture[String]()
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withHedging(Duration.ofMillis(20))
+      val result = policy.run { () =>
+        if (attempts.incrementAndGet() == 1) slow
+        else CompletableFuture.completedFuture("hedged")
+      }
+      await(result) shouldBe "hedged"
+      attempts.get() shouldBe 2
+      slow.isCancelled shouldBe true
+    }
+
+    "not start a hedged attempt when the first one completes in time" in {
+      val attempts = new AtomicInteger(0)
+      val policy = CallPolicy.Default.withHedging(Duration.ofMillis(100))
+      val result = policy.run { () =>
+        attempts.incrementAndGet()
+        CompletableFuture.completedFuture("ok")
+      }
+      await(result) shouldBe "ok"
+      Thread.sleep(200)
+      attempts.get() shouldBe 1
+    }
+
+    "reject invalid settings" in {
+      intercept[IllegalArgumentException](CallPolicy.Default.withTimeout(Duration.ZERO))
+      intercept[IllegalArgumentException](CallPolicy.Default.withRetry(-1, Duration.ZERO))
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import scala.concurrent.Future
+
+import akka.actor.testkit.typed.scaladsl.ActorTestKit
+import akka.actor.testkit.typed.scaladsl.ScalaTestWithActorTestKit
+import com.typesafe.config.ConfigFactory
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpecLike
+
+object ComponentDispatchersSpec {
+  def config = ConfigFactory.parseString("""
+     |component-dispatchers {
+     |  action = "slow-dispatcher"
+     |  value-entity = "akka.actor.default-dispatcher"
+     |  components {
+     |    "com.example.FastAction" = ""
+     |    "com.example.SlowEntity" = "slow-dispatcher"
+     |  }
+     |}
+     |slow-dispatcher {
+     |  type = Dispatcher
+     |  executor = "thread-pool-executor"
+     |  thread-pool-executor.fixed-pool-size = 2
+     |}
+     |""".stripMargin)
+}
+
+class ComponentDispatchersSpec
+    extends ScalaTestWithActorTestKit(ComponentDispatchersSpec.config)
+    with AnyWordSpecLike
+    with Matchers {
+  import ComponentDispatchers._
+
+  "The ComponentDispatchers extension" must {
+
+    "use the dispatcher configured for the component type" in {
+      val dispatchers = ComponentDispatchers(system)
+      dispatchers.dispatcherIdFor(Action, "com.example.SomeAction") shouldBe Some("slow-dispatcher")
+      dispatchers.dispatcherIdFor(ValueEntity, "com.example.SomeEntity") shouldBe None
+      dispatchers.dispatcherIdFor(View, "com.example.SomeView") shouldBe None
+    }
+
+    "use the dispatcher configured for an individual component" in {
+      val dispatchers = ComponentDispatchers(system)
+      dispatchers.dispatcherIdFor(Action, "com.example.FastAction") shouldBe None
+      dispatchers.dispatcherIdFor(ValueEntity, "com.example.SlowEntity") shouldBe Some("slow-dispatcher")
+    }
+
+    "run user code on the configured dispatcher" in {
+      val ec = ComponentDispatchers(system).executionContextFor(Action, "com.example.SomeAction")
+      val threadName = ComponentDispatchers.runOn(ec)(Future.successful(Thread.currentThread().getName))
+      threadName.futureValue should include("slow-dispatcher")
+    }
+
+    "reject dispatchers that are not defined" in {
+      val testKit = ActorTestKit(
+        ConfigFactory.parseString("component-dispatchers.workflow = undefined-dispatcher"))
+      try {
+        intercept[IllegalArgumentException](ComponentDispatchers(testKit.system))
+      } finally {
+        testKit.shutdownTestKit()
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.TimeUnit
+
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class ConcurrencyLimiterSpec extends AnyWordSpec with Matchers {
+
+  private val fast = TimeUnit.MILLISECONDS.toNanos(10)
+  private val slow = TimeUnit.MILLISECONDS.toNanos(100)
+
+  "The ConcurrencyLimiter" should {
+
+    "reject requests over the limit" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 2, initialLimit = 2)
+      limiter.tryAcquire() shouldBe true
+      limiter.tryAcquire() shouldBe true
+      limiter.tryAcquire() shouldBe false
+      limiter.inFlight shouldBe 2
+      limiter.release(fast)
+      limiter.inFlight shouldBe 1
+      limiter.tryAcquire() shouldBe true
+    }
+
+    "grow the limit up to the max while latency is stable" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 50, initialLimit = 10)
+      (1 to 200).foreach { _ =>
+        (1 to limiter.limit).foreach(_ => limiter.tryAcquire())
+        (1 to limiter.inFlight).foreach(_ => limiter.release(fast))
+      }
+      limiter.limit shouldBe 50
+    }
+
+    "shrink the limit when latency grows" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 100, initialLimit = 100, windowSize = 10)
+      (1 to 100).foreach { _ =>
+        limiter.tryAcquire()
+        limiter.release(fast)
+      }
+      (1 to 20).foreach { _ =>
+        limiter.tryAcquire()
+        limiter.release(slow)
+      }
+      limiter.limit should be < 100
+      limiter.limit should be >= 1
+    }
+
+    "not shrink the limit for single slow requests" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 100, initialLimit = 100, windowSize = 10)
+      (1 to 100).foreach { i =>
+        limiter.tryAcquire()
+        limiter.release(if (i % 10 == 0) slow else fast)
+      }
+      limiter.limit shouldBe 100
+    }
+
+    "only update the limit once per window" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 100, initialLimit = 100, windowSize = 10)
+      (1 to 10).foreach { _ =>
+        limiter.tryAcquire()
+        limiter.release(fast)
+      }
+      (1 to 9).foreach { _ =>
+        limiter.tryAcquire()
+        limiter.release(slow)
+      }
+      limiter.limit shouldBe 100
+      limiter.tryAcquire()
+      limiter.release(slow)
+      limiter.limit should be < 100
+    }
+
+    "keep count of the requests in flight when used concurrently" in {
+      val limiter = new ConcurrencyLimiter("test", maxLimit = 8, initialLimit = 8, windowSize = 10)
+      val threads = (1 to 8).map { _ =>
+        new Thread(() =>
+          (1 to 10000).foreach { _ =>
+            if (limiter.tryAcquire()) limiter.release(fast)
+          })
+      }
+      threads.foreach(_.start())
+      threads.foreach(_.join())
+      limiter.inFlight shouldBe 0
+      limiter.limit should (be >= 1 and be <= 8)
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import com.google.protobuf.StringValue
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class EncodedStateCacheSpec extends AnyWordSpec with Matchers {
+
+  private val codec = new AnySupport(Array(), getClass.getClassLoader)
+
+  "The EncodedStateCache" should {
+
+    "reuse the encoding of the same immutable state" in {
+      val cache = new EncodedStateCache(codec)
+      val state = StringValue.of("state")
+      val encoded = cache.encodeAndSet(state)
+      cache.encode(state) should be theSameInstanceAs encoded
+      cache.encode(StringValue.of("state")) should not be theSameInstanceAs(encoded)
+      cache.encode(StringValue.of("state")) shouldBe encoded
+    }
+
+    "always encode states that may be mutated in place" in {
+      var encodings = 0
+      val countingCodec = new MessageCodec {
+        override def decodeMessage(any: ScalaPbAny): Any = codec.decodeMessage(any)
+        override def encodeScala(value: Any): ScalaPbAny = {
+          encodings += 1
+          ScalaPbAny("type.googleapis.com/list", com.google.protobuf.ByteString.copyFromUtf8(value.toString))
+        }
+        override def encodeJava(value: Any): com.google.protobuf.Any = ScalaPbAny.toJavaProto(encodeScala(value))
+        override def typeUrlFor(clz: Class[_]): String = codec.typeUrlFor(clz)
+      }
+      val cache = new EncodedStateCache(countingCodec)
+      val state = new java.util.ArrayList[String]()
+      cache.encodeAndSet(state)
+      state.add("mutated")
+      cache.encode(state).value.toStringUtf8 shouldBe "[mutated]"
+      encodings shouldBe 2
+    }
+
+    "forget the state when cleared" in {
+      val cache = new EncodedStateCache(codec)
+      val state = StringValue.of("state")
+      val encoded = cache.encodeAndSet(state)
+      cache.clear()
+      cache.lastEncoded shouldBe None
+      cache.encode(state) should not be theSameInstanceAs(encoded)
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.lang.management.ManagementFactory
+
+import scala.concurrent.Await
+import scala.concurrent.Promise
+import scala.concurrent.duration._
+
+import akka.Done
+import akka.actor.ActorSystem
+import akka.stream.scaladsl.Flow
+import akka.stream.scaladsl.Keep
+import akka.stream.scaladsl.Sink
+import akka.stream.scaladsl.Source
+
+/**
+ * Reports the heap used per active entity stream, comparing the single stage entity stream with a stream built from
+ * `prefixAndTail`, `flatMapConcat` and an async boundary, like the entity streams used before. Both have an async
+ * boundary per entity.
+ *
+ * Keeps the given number of entity streams active, each after an init and one command, and measures the heap after a
+ * full GC. Run with:
+ * {{{
+ * sbt "javaSdkProtobuf/Test/runMain kalix.javasdk.impl.EntityStreamMemoryBenchmark 100000"
+ * }}}
+ *
+ * See [[EntityStreamThroughputBenchmark]] for the throughput and latency of the entity streams.
+ */
+object EntityStreamMemoryBenchmark {
+
+  private final class CountingHandler extends EntityStreamStage.Handler[String, String] {
+    private var count = 0
+    override def handle(in: String): Option[String] = {
+      count += 1
+      Some(s"$in-$count")
+    }
+    override def failure(error: Throwable): String = "failure"
+  }
+
+  private def leanStream(in: Source[String, Promise[Option[String]]]) =
+    in.via(new EntityStreamStage[String, String](_ => new CountingHandler, () => (), _ => "failure")).async
+
+  private def flatMapConcatStream(in: Source[String, Promise[Option[String]]]) =
+    in.prefixAndTail(1).flatMapConcat { case (_, tail) =>
+      val handler = new CountingHandler
+      tail.via(Flow[String].map(handler.handle).collect { case Some(out) => out }).async
+    }
+
+  def main(args: Array[String]): Unit = {
+    val entities = args.headOption.map(_.toInt).getOrElse(100000)
+    implicit val system: ActorSystem = ActorSystem("EntityStreamMemoryBenchmark")
+    try {
+      def run(name: String, stream: Source[String, Promise[Option[String]]] => Source[String, Promise[Option[String]]])
+          : Unit = {
+        val baseline = usedHeapAfterGc()
+        val active = (1 to entities).map { i =>
+          val firstReply = Promise[Done]()
+          val completion =
+            stream(Source(List("init", s"command-$i")).concatMat(Source.maybe[String])(Keep.right))
+              .map { reply =>
+                firstReply.trySuccess(Done)
+                reply
+              }
+              .to(Sink.ignore)
+              .run()
+          (completion, firstReply.future)
+        }
+        active.foreach { case (_, firstReply) => Await.result(firstReply, 10.seconds) }
+        val used = usedHeapAfterGc() - baseline
+        println(f"$name%-20s $entities%8d active entities, ${used / entities}%6d bytes per entity")
+        active.foreach { case (completion, _) => completion.trySuccess(None) }
+      }
+
+      // warm up, then measure each variant
+      run("warm-up", leanStream)
+      run("single stage/async", leanStream)
+      run("flatMapConcat/async", flatMapConcatStream)
+    } finally {
+      Await.result(system.terminate(), 30.seconds)
+    }
+  }
+
+  private def usedHeapAfterGc(): Long = {
+    val memory = ManagementFactory.getMemoryMXBean
+    (1 to 3).foreach { _ =>
+      System.gc()
+      Thread.sleep(200)
+    }
+    memory.getHeapMemoryUsage.getUsed
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+
+import scala.concurrent.ExecutionContext
+import scala.jdk.CollectionConverters._
+
+import akka.actor.testkit.typed.scaladsl.ScalaTestWithActorTestKit
+import akka.stream.scaladsl.Sink
+import akka.stream.scaladsl.Source
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpecLike
+
+class EntityStreamStageSpec extends ScalaTestWithActorTestKit with AnyWordSpecLike with Matchers {
+
+  private val entityExecutor = Executors.newSingleThreadExecutor(runnable => new Thread(runnable, "entity-dispatcher"))
+  private val entityExecutionContext = ExecutionContext.fromExecutor(entityExecutor)
+
+  override protected def afterAll(): Unit = {
+    entityExecutor.shutdown()
+    super.afterAll()
+  }
+
+  private class EchoHandler(init: String, override val executionContext: Option[ExecutionContext])
+      extends EntityStreamStage.Handler[String, String] {
+    val handledOn = new ConcurrentLinkedQueue[String]()
+    override def handle(in: String): Option[String] = {
+      handledOn.add(Thread.currentThread().getName)
+      if (in == "fail") throw new RuntimeException("boom")
+      else if (in.startsWith("event")) None
+      else Some(s"$init:$in")
+    }
+    override def failure(error: Throwable): String = s"failure:${error.getMessage}"
+  }
+
+  private def stage(
+      onClosedBeforeInit: () => Unit = () => (),
+      executionContext: Option[ExecutionContext] = None,
+      onHandler: EchoHandler => Unit = _ => ()) =
+    new EntityStreamStage[String, String](
+      {
+        case init if init.startsWith("init") =>
+          val handler = new EchoHandler(init, executionContext)
+          onHandler(handler)
+          handler
+        case other                           => throw new IllegalArgumentException(s"not init: $other")
+      },
+      onClosedBeforeInit,
+      error => s"init-failure:${error.getMessage}")
+
+  "The EntityStreamStage" should {
+
+    "create the handler from the first message and reply to the others" in {
+      Source(List("init-1", "event-1", "a", "b")).via(stage()).runWith(Sink.seq).futureValue shouldBe
+      Seq("init-1:a", "init-1:b")
+    }
+
+    "reply with a failure and complete when the first message is not an init" in {
+      Source(List("a", "b")).via(stage()).runWith(Sink.seq).futureValue shouldBe Seq("init-failure:not init: a")
+    }
+
+    "reply with a failure and complete when handling a message fails" in {
+      Source(List("init-1", "a", "fail", "b")).via(stage()).runWith(Sink.seq).futureValue shouldBe
+      Seq("init-1:a", "failure:boom")
+    }
+
+    "reply with a failure when upstream fails" in {
+      Source(List("init-1"))
+        .concat(Source.failed(new RuntimeException("upstream")))
+        .via(stage())
+        .runWith(Sink.seq)
+        .futureValue shouldBe Seq("failure:upstream")
+    }
+
+    "complete without a reply when closed before init" in {
+      var closedBeforeInit = false
+      Source.empty[String].via(stage(() => closedBeforeInit = true)).runWith(Sink.seq).futureValue shouldBe empty
+      closedBeforeInit shouldBe true
+    }
+
+    "handle the messages on the execution context of the handler, in order" in {
+      var handler: EchoHandler = null
+      val messages = List("init-1", "event-1") ++ (1 to 100).map(i => s"c$i")
+      Source(messages)
+        .via(stage(executionContext = Some(entityExecutionContext), onHandler = h => handler = h))
+        .runWith(Sink.seq)
+        .futureValue shouldBe (1 to 100).map(i => s"init-1:c$i")
+      handler.handledOn.asScala.toSet shouldBe Set("entity-dispatcher")
+    }
+
+    "reply with a failure and complete when handling a message on the execution context fails" in {
+      Source(List("init-1", "a", "fail", "b"))
+        .via(stage(executionContext = Some(entityExecutionContext)))
+        .runWith(Sink.seq)
+        .futureValue shouldBe Seq("init-1:a", "failure:boom")
+    }
+
+    "reply with a failure when upstream fails while handling a message on the execution context" in {
+      Source(List("init-1", "a"))
+        .concat(Source.failed(new RuntimeException("upstream")))
+        .via(stage(executionContext = Some(entityExecutionContext)))
+        .runWith(Sink.seq)
+        .futureValue
+        .last shouldBe "failure:upstream"
+    }
+  }
+}
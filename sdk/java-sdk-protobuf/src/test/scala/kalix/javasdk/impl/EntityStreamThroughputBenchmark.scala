@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.concurrent.Await
+import scala.concurrent.ExecutionContext
+import scala.concurrent.duration._
+
+import akka.NotUsed
+import akka.actor.ActorSystem
+import akka.stream.scaladsl.Flow
+import akka.stream.scaladsl.Sink
+import akka.stream.scaladsl.Source
+
+/**
+ * Reports the throughput and the round trip latency of the entity streams, comparing the single stage entity stream,
+ * with and without an execution context for the handler, with a stream built from `prefixAndTail`, `flatMapConcat` and
+ * an async boundary, like the entity streams used before.
+ *
+ * Runs the given number of entity streams concurrently, each sending the given number of commands one after the other,
+ * the next one once the reply to the previous one arrived, like the proxy does for a single entity. Run with:
+ * {{{
+ * sbt "javaSdkProtobuf/Test/runMain kalix.javasdk.impl.EntityStreamThroughputBenchmark 1000 1000"
+ * }}}
+ *
+ * See [[EntityStreamMemoryBenchmark]] for the memory used per active entity.
+ */
+object EntityStreamThroughputBenchmark {
+
+  private final class CountingHandler(override val executionContext: Option[ExecutionContext])
+      extends EntityStreamStage.Handler[String, String] {
+    private var count = 0
+    override def handle(in: String): Option[String] = {
+      count += 1
+      Some(s"$in-$count")
+    }
+    override def failure(error: Throwable): String = "failure"
+  }
+
+  private def singleStage(executionContext: Option[ExecutionContext]): Flow[String, String, NotUsed] =
+    Flow[String]
+      .via(new EntityStreamStage[String, String](_ => new CountingHandler(executionContext), () => (), _ => "failure"))
+      .async
+
+  private def flatMapConcat: Flow[String, String, NotUsed] =
+    Flow[String].prefixAndTail(1).flatMapConcat { case (_, tail) =>
+      val handler = new CountingHandler(None)
+      tail.via(Flow[String].map(handler.handle).collect { case Some(out) => out }).async
+    }
+
+  def main(args: Array[String]): Unit = {
+    val entities = args.headOption.map(_.toInt).getOrElse(1000)
+    val commands = args.lift(1).map(_.toInt).getOrElse(1000)
+    implicit val system: ActorSystem = ActorSystem("EntityStreamThroughputBenchmark")
+    val dispatcher = Some(system.dispatcher)
+    try {
+      def run(name: String, entityFlow: () => Flow[String, String, NotUsed]): Unit = {
+        val latencies = new Array[Long](entities * commands)
+        val start = System.nanoTime()
+        val completions = (0 until entities).map { entity =>
+          val sentAt = new AtomicLong()
+          val replies = new AtomicLong()
+          val (queue, commandSource) = Source.queue[String](1).preMaterialize()
+          val completion = commandSource
+            .prepend(Source.single("init"))
+            .via(entityFlow())
+            .runWith(Sink.foreach[String] { _ =>
+              val reply = replies.get()
+              latencies((entity * commands + reply).toInt) = System.nanoTime() - sentAt.get()
+              replies.incrementAndGet()
+              if (reply + 1 < commands) {
+                sentAt.set(System.nanoTime())
+                queue.offer("command")
+              }
+            })
+          sentAt.set(System.nanoTime())
+          queue.offer("command")
+          (queue, completion, replies)
+        }
+        while (completions.exists { case (_, _, replies) => replies.get() < commands }) Thread.sleep(1)
+        val elapsed = System.nanoTime() - start
+        completions.foreach { case (queue, _, _) => queue.complete() }
+        completions.foreach { case (_, completion, _) => Await.result(completion, 30.seconds) }
+
+        java.util.Arrays.sort(latencies)
+        def percentile(p: Double): Double = latencies(math.ceil(p * latencies.length).toInt - 1) / 1000.0
+        val throughput = latencies.length * 1000000000L / elapsed
+        println(
+          f"$name%-28s $throughput%9d commands/s, p50 ${percentile(0.5)}%8.1f µs, p99 ${percentile(0.99)}%8.1f µs")
+      }
+
+      // warm up, then measure each variant
+      run("warm-up", () => singleStage(None))
+      run("single stage/async", () => singleStage(None))
+      run("single stage/async/ec", () => singleStage(dispatcher))
+      run("flatMapConcat/async", () => flatMapConcat)
+    } finally {
+      Await.result(system.terminate(), 30.seconds)
+    }
+  }
+}
@@ -86,6 +86,21 @@ class MetadataImplSpec extends AnyWordSpec with Matchers with OptionValues {
       meta.jwtClaims().getStringList("foo").toScala shouldBe None
     }
 
+    "return the same values when reading JWT claims repeatedly" in {
+      val claims = metadata(
+        "_kalix-jwt-claim-tenant" -> "42",
+        "_kalix-jwt-claim-roles" -> """["admin","user"]""",
+        "_kalix-jwt-claim-tenant" -> "43").jwtClaims()
+
+      claims.getInteger("tenant").toScala.value shouldBe 42
+      claims.getInteger("tenant").toScala.value shouldBe 42
+      claims.getLong("tenant").toScala.value shouldBe 42L
+
+      // lists are mutable, each read returns its own copy
+      claims.getStringList("roles").get().clear()
+      claims.getStringList("roles").toScala.value.asScala shouldBe Seq("admin", "user")
+    }
+
     "ignore claims that don't exist" in {
       val meta = metadata("_kalix-jwt-claim-x" -> "bar")
       meta.jwtClaims().getString("foo").toScala shouldBe None
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import com.google.protobuf.StringValue
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class PayloadCompressionSpec extends AnyWordSpec with Matchers {
+
+  private val anySupport = new AnySupport(Array(), getClass.getClassLoader)
+  private val largeValue = StringValue.of("abcdefghij" * 1000)
+
+  "The CompressingMessageCodec" should {
+
+    "compress payloads above the threshold and decode them transparently" in {
+      val codec = new CompressingMessageCodec(anySupport, 1024)
+      val encoded = codec.encodeScala(largeValue)
+      encoded.typeUrl shouldBe anySupport.encodeScala(largeValue).typeUrl + PayloadCompression.CompressedTypeUrlSuffix
+      encoded.value.size should be < largeValue.getSerializedSize
+      anySupport.decodeMessage(encoded) shouldBe largeValue
+    }
+
+    "not compress payloads below the threshold" in {
+      val codec = new CompressingMessageCodec(anySupport, 1024)
+      val small = StringValue.of("small")
+      codec.encodeScala(small) shouldBe anySupport.encodeScala(small)
+    }
+
+    "not compress payloads that do not get smaller" in {
+      val random = new Array[Byte](2048)
+      new java.util.Random(42).nextBytes(random)
+      val value = com.google.protobuf.BytesValue.of(com.google.protobuf.ByteString.copyFrom(random))
+      val codec = new CompressingMessageCodec(anySupport, 1024)
+      PayloadCompression.isCompressed(codec.encodeScala(value)) shouldBe false
+    }
+  }
+}
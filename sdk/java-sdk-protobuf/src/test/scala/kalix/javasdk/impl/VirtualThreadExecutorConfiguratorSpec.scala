@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl
+
+import java.util.concurrent.Callable
+import java.util.concurrent.TimeUnit
+
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class VirtualThreadExecutorConfiguratorSpec extends AnyWordSpec with Matchers {
+
+  "The virtual thread executor" should {
+
+    "run tasks on named virtual threads" in {
+      assume(VirtualThreadExecutorConfigurator.virtualThreadsSupported, "virtual threads require Java 21")
+      val executor = VirtualThreadExecutorConfigurator.newVirtualThreadPerTaskExecutor("test-dispatcher")
+      try {
+        val thread = executor.submit(new Callable[Thread] { def call(): Thread = Thread.currentThread() }).get()
+        VirtualThreadExecutorConfigurator.isVirtual(thread) shouldBe true
+        thread.getName should startWith("test-dispatcher-")
+      } finally {
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.SECONDS)
+      }
+    }
+
+    "not consider platform threads virtual" in {
+      VirtualThreadExecutorConfigurator.isVirtual(Thread.currentThread()) shouldBe false
+    }
+  }
+}
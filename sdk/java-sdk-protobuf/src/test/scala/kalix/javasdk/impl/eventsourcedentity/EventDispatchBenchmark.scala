@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.eventsourcedentity
+
+import java.math.BigInteger
+import java.time._
+import java.util
+import java.util.concurrent.atomic._
+
+/**
+ * Reports the time per replayed event of dispatching events to their handler, comparing a chain of type checks, like
+ * the generated routers used to do, with the class index the generated routers use now, for an entity with 40 event
+ * types. Run with:
+ * {{{
+ * sbt "javaSdkProtobuf/Test/runMain kalix.javasdk.impl.eventsourcedentity.EventDispatchBenchmark 10000000"
+ * }}}
+ */
+object EventDispatchBenchmark {
+
+  // instances of 40 distinct and unrelated classes, standing in for the events of an entity
+  private val events: Array[AnyRef] = Array(
+    Int.box(1),
+    Long.box(1L),
+    Short.box(1.toShort),
+    Byte.box(1.toByte),
+    Double.box(1.0),
+    Float.box(1.0f),
+    Char.box('a'),
+    Boolean.box(true),
+    "event",
+    new java.lang.StringBuilder("event"),
+    new util.ArrayList[String](),
+    new util.LinkedList[String](),
+    new util.HashMap[String, String](),
+    new util.TreeMap[String, String](),
+    new util.HashSet[String](),
+    new util.TreeSet[String](),
+    new util.ArrayDeque[String](),
+    new util.PriorityQueue[String](),
+    new util.BitSet(),
+    new util.StringJoiner(","),
+    util.UUID.randomUUID(),
+    util.Optional.of("event"),
+    util.OptionalInt.of(1),
+    util.OptionalLong.of(1L),
+    util.OptionalDouble.of(1.0),
+    BigInteger.ONE,
+    java.math.BigDecimal.ONE,
+    LocalDate.now(),
+    LocalTime.now(),
+    LocalDateTime.now(),
+    Instant.now(),
+    Duration.ofSeconds(1),
+    Period.ofDays(1),
+    Year.now(),
+    YearMonth.now(),
+    MonthDay.now(),
+    new AtomicInteger(),
+    new AtomicLong(),
+    new AtomicBoolean(),
+    new AtomicReference[String]())
+
+  private val eventClasses: Array[Class[_]] = events.map(_.getClass)
+
+  private def typeCheckChain(event: AnyRef): Int = {
+    var i = 0
+    while (i < eventClasses.length) {
+      if (eventClasses(i).isInstance(event)) return i
+      i += 1
+    }
+    -1
+  }
+
+  def main(args: Array[String]): Unit = {
+    val replayed = args.headOption.map(_.toInt).getOrElse(10000000)
+    val index = EventSourcedEntityRouter.eventClassIndex(eventClasses.toIndexedSeq: _*)
+
+    def run(name: String, dispatch: AnyRef => Int): Unit = {
+      var checksum = 0L
+      val start = System.nanoTime()
+      var i = 0
+      while (i < replayed) {
+        checksum += dispatch(events(i % events.length))
+        i += 1
+      }
+      val nanos = System.nanoTime() - start
+      println(f"$name%-16s $replayed%10d events, ${nanos.toDouble / replayed}%6.2f ns per event (checksum $checksum)")
+    }
+
+    // warm up, then measure each variant
+    (1 to 3).foreach { _ =>
+      run("warm-up chain", typeCheckChain)
+      run("warm-up index", index.indexOf)
+    }
+    run("type check chain", typeCheckChain)
+    run("class index", index.indexOf)
+  }
+}
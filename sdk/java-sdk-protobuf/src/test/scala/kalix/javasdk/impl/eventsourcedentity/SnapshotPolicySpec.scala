@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.eventsourcedentity
+
+import java.time.Duration
+
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class SnapshotPolicySpec extends AnyWordSpec with Matchers {
+
+  "The SnapshotPolicy" should {
+
+    "snapshot after a number of events since the last snapshot" in {
+      val policy = SnapshotPolicy.everyEvents(3)
+      val stats = new SnapshotStats(10)
+      stats.recordEvents(12, 100, 0)
+      policy.shouldSnapshot(stats) shouldBe false
+      stats.recordEvents(13, 100, 0)
+      policy.shouldSnapshot(stats) shouldBe true
+      stats.recordSnapshot()
+      policy.shouldSnapshot(stats) shouldBe false
+    }
+
+    "snapshot after a number of event bytes since the last snapshot" in {
+      val policy = SnapshotPolicy.everyEventBytes(1000)
+      val stats = new SnapshotStats(0)
+      stats.recordReplayedEvent(1, 600, 0)
+      policy.shouldSnapshot(stats) shouldBe false
+      stats.recordEvents(2, 600, 0)
+      policy.shouldSnapshot(stats) shouldBe true
+      stats.recordSnapshot()
+      stats.eventBytesSinceSnapshot() shouldBe 0
+    }
+
+    "snapshot when applying the events since the last snapshot is slow" in {
+      val policy = SnapshotPolicy.whenReplayTimeExceeds(Duration.ofMillis(5))
+      val stats = new SnapshotStats(0)
+      stats.recordReplayedEvent(1, 10, Duration.ofMillis(2).toNanos)
+      policy.shouldSnapshot(stats) shouldBe false
+      stats.recordEvents(2, 10, Duration.ofMillis(4).toNanos)
+      policy.shouldSnapshot(stats) shouldBe true
+    }
+
+    "combine policies" in {
+      val policy = SnapshotPolicy.everyEvents(100).or(SnapshotPolicy.everyEventBytes(1000))
+      val stats = new SnapshotStats(0)
+      stats.recordEvents(1, 2000, 0)
+      policy.shouldSnapshot(stats) shouldBe true
+      SnapshotPolicy.never().shouldSnapshot(stats) shouldBe false
+    }
+
+    "reject invalid settings" in {
+      intercept[IllegalArgumentException](SnapshotPolicy.everyEvents(0))
+      intercept[IllegalArgumentException](SnapshotPolicy.everyEventBytes(-1))
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.timer
+
+import java.time.Duration
+import java.util
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+
+import scala.concurrent.Future
+import scala.concurrent.Promise
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+
+import akka.Done
+import akka.actor.testkit.typed.scaladsl.ScalaTestWithActorTestKit
+import com.google.protobuf.ByteString
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+import com.google.protobuf.wrappers.StringValue
+import kalix.javasdk.DeferredCall
+import kalix.javasdk.Metadata
+import kalix.javasdk.impl.AnySupport
+import kalix.javasdk.impl.MetadataImpl
+import kalix.javasdk.impl.RestDeferredCall
+import kalix.javasdk.timer.TimerScheduler
+import kalix.javasdk.timer.TimerSpec
+import kalix.timers.timers.SingleTimer
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpecLike
+
+class TimerSchedulerImplSpec extends ScalaTestWithActorTestKit with AnyWordSpecLike with Matchers {
+
+  private val messageCodec = new AnySupport(Array.empty, getClass.getClassLoader)
+
+  private val deferredCall =
+    RestDeferredCall[ScalaPbAny, String](
+      message = ScalaPbAny("type.googleapis.com/com.example.Request", ByteString.EMPTY),
+      metadata = MetadataImpl.Empty,
+      fullServiceName = "com.example.Service",
+      methodName = "Method",
+      asyncCall = (_: Metadata) => CompletableFuture.completedFuture("ok"))
+
+  /** Records the requests, and leaves them pending until completed by the test unless auto completing. */
+  private class RecordingTimerService extends TimerSchedulerImpl.TimerServiceCalls {
+    val added = new ConcurrentLinkedQueue[SingleTimer]()
+    val removed = new ConcurrentLinkedQueue[String]()
+    val pending = new ConcurrentLinkedQueue[Promise[Any]]()
+    val autoComplete = new AtomicBoolean(true)
+    @volatile var failing: Set[String] = Set.empty
+
+    override def addSingle(timer: SingleTimer): Future[Any] = {
+      added.add(timer)
+      respond(timer.name)
+    }
+
+    override def remove(name: StringValue): Future[Any] = {
+      removed.add(name.value)
+      respond(name.value)
+    }
+
+    private def respond(name: String): Future[Any] =
+      if (failing.contains(name)) Future.failed(new RuntimeException(s"failed [$name]"))
+      else if (autoComplete.get()) Future.successful(Done)
+      else {
+        val promise = Promise[Any]()
+        pending.add(promise)
+        promise.future
+      }
+
+    def completePending(): Unit =
+      Iterator.continually(pending.poll()).takeWhile(_ ne null).foreach(_.success(Done))
+  }
+
+  private def scheduler(timerService: RecordingTimerService) =
+    new TimerSchedulerImpl(messageCodec, system.classicSystem, timerService)
+
+  private def timers(names: String*): util.List[TimerSpec] =
+    names.map(name => TimerSpec.of(name, Duration.ofSeconds(10), 3, deferredCall)).asJava
+
+  private def await(result: CompletionStage[Done]): Done = result.asScala.futureValue
+
+  "The TimerSchedulerImpl" should {
+
+    "complete empty batches without calling the timer service" in {
+      val timerService = new RecordingTimerService
+      await(scheduler(timerService).startSingleTimers(util.List.of[TimerSpec]())) shouldBe Done
+      await(scheduler(timerService).cancel(util.List.of[String]())) shouldBe Done
+      timerService.added shouldBe empty
+      timerService.removed shouldBe empty
+    }
+
+    "send the only timer of a batch directly" in {
+      val timerService = new RecordingTimerService
+      await(scheduler(timerService).startSingleTimers(timers("single"))) shouldBe Done
+
+      timerService.added.size shouldBe 1
+      timerService.added.peek().name shouldBe "single"
+      timerService.added.peek().maxRetries shouldBe 3
+    }
+
+    "start and cancel all timers of a batch" in {
+      val timerService = new RecordingTimerService
+      val names = (1 to 40).map(i => s"timer-$i")
+      await(scheduler(timerService).startSingleTimers(timers(names: _*))) shouldBe Done
+      timerService.added.asScala.map(_.name).toSet shouldBe names.toSet
+
+      await(scheduler(timerService).cancel(names.asJava)) shouldBe Done
+      timerService.removed.asScala.toSet shouldBe names.toSet
+    }
+
+    "keep at most 16 timer service requests in flight" in {
+      val timerService = new RecordingTimerService
+      timerService.autoComplete.set(false)
+      val result = scheduler(timerService).startSingleTimers(timers((1 to 40).map(i => s"timer-$i"): _*))
+
+      eventually(timerService.pending.size shouldBe TimerSchedulerImpl.MaxConcurrentRequests)
+      // no further request is sent until one of the pending ones completes
+      Thread.sleep(100)
+      timerService.added.size shouldBe TimerSchedulerImpl.MaxConcurrentRequests
+
+      timerService.pending.poll().success(Done)
+      eventually(timerService.added.size shouldBe TimerSchedulerImpl.MaxConcurrentRequests + 1)
+
+      timerService.autoComplete.set(true)
+      timerService.completePending()
+      await(result) shouldBe Done
+      timerService.added.size shouldBe 40
+    }
+
+    "fail the batch when one of the requests fails" in {
+      val timerService = new RecordingTimerService
+      timerService.failing = Set("timer-2")
+
+      val failure = scheduler(timerService).startSingleTimers(timers("timer-1", "timer-2", "timer-3")).asScala
+      failure.failed.futureValue.getMessage shouldBe "failed [timer-2]"
+    }
+
+    "fail the batch before sending anything when one of the calls is invalid" in {
+      val timerService = new RecordingTimerService
+      val invalidCall = new DeferredCall[String, String] {
+        override def message(): String = "invalid"
+        override def metadata(): Metadata = MetadataImpl.Empty
+        override def execute(): CompletionStage[String] = CompletableFuture.completedFuture("invalid")
+        override def withMetadata(metadata: Metadata): DeferredCall[String, String] = this
+      }
+      val batch = util.List.of(
+        TimerSpec.of("valid-1", Duration.ofSeconds(10), deferredCall),
+        TimerSpec.of("invalid", Duration.ofSeconds(10), invalidCall),
+        TimerSpec.of("valid-2", Duration.ofSeconds(10), deferredCall))
+
+      val failure = scheduler(timerService).startSingleTimers(batch).asScala.failed.futureValue
+      failure shouldBe an[IllegalArgumentException]
+      timerService.added shouldBe empty
+    }
+
+    "start and cancel the timers of a batch one after the other by default" in {
+      val started = new ConcurrentLinkedQueue[String]()
+      val cancelled = new ConcurrentLinkedQueue[String]()
+      val firstStarted = Promise[Done]()
+      val scheduler = new TimerScheduler {
+        override def startSingleTimer[I, O](
+            name: String,
+            delay: Duration,
+            deferredCall: DeferredCall[I, O]): CompletionStage[Done] =
+          startSingleTimer(name, delay, 0, deferredCall)
+
+        override def startSingleTimer[I, O](
+            name: String,
+            delay: Duration,
+            maxRetries: Int,
+            deferredCall: DeferredCall[I, O]): CompletionStage[Done] = {
+          started.add(name)
+          if (name == "timer-1") firstStarted.future.asJava else CompletableFuture.completedFuture[Done](Done)
+        }
+
+        override def cancel(name: String): CompletionStage[Done] = {
+          cancelled.add(name)
+          CompletableFuture.completedFuture[Done](Done)
+        }
+      }
+
+      val result = scheduler.startSingleTimers(timers("timer-1", "timer-2"))
+      started.asScala.toList shouldBe List("timer-1")
+      firstStarted.success(Done)
+      await(result) shouldBe Done
+      started.asScala.toList shouldBe List("timer-1", "timer-2")
+
+      await(scheduler.cancel(util.List.of("timer-1", "timer-2"))) shouldBe Done
+      cancelled.asScala.toList shouldBe List("timer-1", "timer-2")
+    }
+  }
+}
@@ -28,14 +28,18 @@ import kalix.javasdk.impl.ProxyInfoHolder
 object TestValueEntity {
   def service(entityProvider: ValueEntityProvider[_, _]): TestValueService =
     new TestValueService(entityProvider)
+
+  def service(entityProvider: ValueEntityProvider[_, _], kalixConfig: String): TestValueService =
+    new TestValueService(entityProvider, kalixConfig)
 }
 
-class TestValueService(entityProvider: ValueEntityProvider[_, _]) {
+class TestValueService(entityProvider: ValueEntityProvider[_, _], kalixConfig: String = "") {
   val port: Int = SocketUtil.temporaryLocalPort()
 
   val config: Config = ConfigFactory.load(ConfigFactory.parseString(s"""
     kalix {
       user-function-port = $port
+      $kalixConfig
       system.akka {
         loglevel = DEBUG
         coordinated-shutdown.exit-jvm = off
@@ -16,9 +16,12 @@
 
 package kalix.javasdk.impl.valueentity
 
+import com.google.protobuf.Empty
 import io.grpc.Status.Code.INVALID_ARGUMENT
 import kalix.javasdk.valueentity.CartEntity
 import kalix.javasdk.valueentity.CartEntityProvider
+import kalix.javasdk.valueentity.ValueEntity
+import kalix.javasdk.valueentity.ValueEntityContext
 import kalix.testkit.TestProtocol
 import kalix.testkit.valueentity.ValueEntityMessages
 import org.scalatest.BeforeAndAfterAll
@@ -34,9 +37,20 @@ class ValueEntitiesImplSpec extends AnyWordSpec with Matchers with BeforeAndAfte
   private val service: TestValueService = ShoppingCart.testService
   private val protocol: TestProtocol = TestProtocol(service.port)
 
+  private val skippingService: TestValueService =
+    ShoppingCart.storingUnchangedStateService("value-entity.skip-unchanged-updates = on")
+  private val skippingProtocol: TestProtocol = TestProtocol(skippingService.port)
+
+  private val notSkippingService: TestValueService = ShoppingCart.storingUnchangedStateService("")
+  private val notSkippingProtocol: TestProtocol = TestProtocol(notSkippingService.port)
+
   override def afterAll(): Unit = {
     protocol.terminate()
     service.terminate()
+    skippingProtocol.terminate()
+    skippingService.terminate()
+    notSkippingProtocol.terminate()
+    notSkippingService.terminate()
   }
 
   "EntityImpl" should {
@@ -177,6 +191,47 @@ class ValueEntitiesImplSpec extends AnyWordSpec with Matchers with BeforeAndAfte
       entity.expect(reply(5, EmptyCart))
       entity.passivate()
     }
+
+    "not send an update for an unchanged state when skipping unchanged updates" in {
+      val entity = skippingProtocol.valueEntity.connect()
+      entity.send(init(ShoppingCart.Name, "cart"))
+      entity.send(command(1, "cart", "AddItem", addItem("abc", "apple", 1)))
+      entity.expect(reply(1, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 1)))))
+      entity.send(command(2, "cart", "RemoveItem", removeItem("abc")))
+      entity.expect(reply(2, EmptyJavaMessage))
+      entity.passivate()
+
+      // the state the entity was initialized with counts as the last written state as well
+      val reactivated = skippingProtocol.valueEntity.connect()
+      reactivated.send(init(ShoppingCart.Name, "cart", state(domainCart(Item("abc", "apple", 1)))))
+      reactivated.send(command(1, "cart", "RemoveItem", removeItem("abc")))
+      reactivated.expect(reply(1, EmptyJavaMessage))
+      reactivated.passivate()
+    }
+
+    "send an update for a changed state when skipping unchanged updates" in {
+      val entity = skippingProtocol.valueEntity.connect()
+      entity.send(init(ShoppingCart.Name, "cart", state(domainCart(Item("abc", "apple", 1)))))
+      entity.send(command(1, "cart", "AddItem", addItem("abc", "apple", 2)))
+      entity.expect(reply(1, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 3)))))
+      entity.send(command(2, "cart", "RemoveItem", removeItem("abc")))
+      entity.expect(reply(2, EmptyJavaMessage))
+      entity.send(command(3, "cart", "AddItem", addItem("123", "banana", 4)))
+      entity.expect(reply(3, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 3), Item("123", "banana", 4)))))
+      entity.passivate()
+    }
+
+    "send an update for an unchanged state when not skipping unchanged updates" in {
+      val entity = notSkippingProtocol.valueEntity.connect()
+      entity.send(init(ShoppingCart.Name, "cart", state(domainCart(Item("abc", "apple", 1)))))
+      entity.send(command(1, "cart", "RemoveItem", removeItem("abc")))
+      entity.expect(reply(1, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 1)))))
+      entity.send(command(2, "cart", "AddItem", addItem("abc", "apple", 2)))
+      entity.expect(reply(2, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 3)))))
+      entity.send(command(3, "cart", "RemoveItem", removeItem("abc")))
+      entity.expect(reply(3, EmptyJavaMessage, update(domainCart(Item("abc", "apple", 3)))))
+      entity.passivate()
+    }
   }
 }
 
@@ -193,6 +248,17 @@ object ValueEntitiesImplSpec {
         CartEntityProvider
           .of(new CartEntity(_)))
 
+    /** A cart where RemoveItem stores the current state again, unchanged, instead of failing. */
+    def storingUnchangedStateService(kalixConfig: String): TestValueService =
+      TestValueEntity.service(CartEntityProvider.of(new StoringUnchangedStateCartEntity(_)), kalixConfig)
+
+    class StoringUnchangedStateCartEntity(context: ValueEntityContext) extends CartEntity(context) {
+      override def removeItem(
+          currentState: ShoppingCartDomain.Cart,
+          removeLineItem: ShoppingCartApi.RemoveLineItem): ValueEntity.Effect[Empty] =
+        effects().updateState(currentState).thenReply(Empty.getDefaultInstance)
+    }
+
     case class Item(id: String, name: String, quantity: Int)
 
     object Protocol {
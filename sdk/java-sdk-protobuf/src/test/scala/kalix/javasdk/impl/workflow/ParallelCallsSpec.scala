@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.workflow
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import scala.concurrent.ExecutionContext
+import scala.concurrent.Future
+import scala.concurrent.Promise
+
+import org.scalatest.concurrent.Eventually
+import org.scalatest.concurrent.ScalaFutures
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class ParallelCallsSpec extends AnyWordSpec with Matchers with ScalaFutures with Eventually {
+
+  private implicit val ec: ExecutionContext = ExecutionContext.global
+
+  "ParallelCalls" should {
+
+    "complete with the results in the order of the calls" in {
+      val promises = IndexedSeq.fill(3)(Promise[Any]())
+      val result = ParallelCalls.run(promises.map(p => () => p.future), maxConcurrency = 3)
+
+      promises(2).success("c")
+      promises(0).success("a")
+      promises(1).success("b")
+
+      result.futureValue shouldBe IndexedSeq("a", "b", "c")
+    }
+
+    "complete right away when there are no calls" in {
+      ParallelCalls.run(IndexedSeq.empty, maxConcurrency = 3).futureValue shouldBe empty
+    }
+
+    "not have more calls in flight than the max concurrency" in {
+      val promises = IndexedSeq.fill(5)(Promise[Any]())
+      val started = new AtomicInteger(0)
+      val calls = promises.map(p => { () => started.incrementAndGet(); p.future })
+      val result = ParallelCalls.run(calls, maxConcurrency = 2)
+
+      eventually(started.get() shouldBe 2)
+      promises(0).success(0)
+      eventually(started.get() shouldBe 3)
+      promises.drop(1).zipWithIndex.foreach { case (p, i) => p.success(i + 1) }
+
+      result.futureValue shouldBe (0 until 5)
+      started.get() shouldBe 5
+    }
+
+    "fail with the first failure and not start the remaining calls" in {
+      val started = new AtomicInteger(0)
+      val calls = IndexedSeq[() => Future[Any]](
+        () => { started.incrementAndGet(); Future.failed(new RuntimeException("boom")) },
+        () => { started.incrementAndGet(); Future.never },
+        () => { started.incrementAndGet(); Future.successful("c") })
+
+      ParallelCalls.run(calls, maxConcurrency = 1).failed.futureValue.getMessage shouldBe "boom"
+      started.get() shouldBe 1
+    }
+
+    "fail when a call throws instead of returning a failed future" in {
+      val calls = IndexedSeq[() => Future[Any]](() => throw new IllegalStateException("thrown"))
+
+      ParallelCalls.run(calls, maxConcurrency = 2).failed.futureValue.getMessage shouldBe "thrown"
+    }
+  }
+}
@@ -17,6 +17,7 @@
 package kalix.javasdk.action;
 
 import com.google.protobuf.Descriptors;
+import kalix.javasdk.annotations.ConcurrencyLimit;
 import kalix.javasdk.common.ForwardHeadersExtractor;
 import kalix.javasdk.impl.MessageCodec;
 import kalix.javasdk.impl.action.ActionRouter;
@@ -52,7 +53,12 @@ public class ReflectiveActionProvider<A extends Action> implements ActionProvide
       ActionOptions options) {
 
     this.factory = factory;
-    this.options = options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(cls));
+    ActionOptions withHeaders = options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(cls));
+    ConcurrencyLimit concurrencyLimit = cls.getAnnotation(ConcurrencyLimit.class);
+    this.options =
+        concurrencyLimit != null
+            ? withHeaders.withConcurrencyLimit(concurrencyLimit.value())
+            : withHeaders;
     this.messageCodec = messageCodec;
 
     this.componentDescriptor = ComponentDescriptor.descriptorFor(cls, messageCodec);
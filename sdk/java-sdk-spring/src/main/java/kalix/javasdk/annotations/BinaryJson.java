@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to serialize the annotated type as Smile, a binary form of JSON, instead of textual JSON.
+ *
+ * Smile is more compact and faster to parse than JSON, which can make a difference for large entity states
+ * and for replaying many events. Values previously stored as JSON can still be read after adding the annotation.
+ *
+ * Only the states, events and snapshots of entities are encoded as Smile. The same type used anywhere else,
+ * for example as reply or as request to another component, is encoded as JSON as usual.
+ *
+ * Kalix itself can't read Smile values, so the annotation must only be used for entity states and events
+ * that are not consumed by views or by other services.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BinaryJson {
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Compress the states of a Value Entity, or the events and snapshots of an Event Sourced Entity,
+ * of at least the given size before sending them to Kalix.
+ *
+ * <p>Compressed payloads are stored with a different type url and can only be read by the entity
+ * itself: Views and Subscriptions consuming the entity, in this service or in other services, no
+ * longer match or decode them.
+ *
+ * @see kalix.javasdk.valueentity.ValueEntityOptions#withCompression(int)
+ * @see kalix.javasdk.eventsourcedentity.EventSourcedEntityOptions#withCompression(int)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Compression {
+  /** The size in bytes from which payloads are compressed. */
+  int thresholdBytes();
+}
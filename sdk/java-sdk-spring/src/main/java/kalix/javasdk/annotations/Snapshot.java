@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies when snapshots of the state of an Event Sourced Entity should be made. A snapshot is
+ * made as soon as one of the configured thresholds is reached, at least one of them must be set.
+ *
+ * <pre>{@code
+ * @Snapshot(everyEvents = 100, everyEventBytes = 1024 * 1024)
+ * }</pre>
+ *
+ * @see kalix.javasdk.eventsourcedentity.SnapshotPolicy
+ * @see kalix.javasdk.eventsourcedentity.EventSourcedEntityOptions#withSnapshotPolicy
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Snapshot {
+
+  /** Snapshot once this number of events were persisted since the last snapshot, 0 to not use. */
+  int everyEvents() default 0;
+
+  /**
+   * Snapshot once the serialized size of the events since the last snapshot reaches this number of
+   * bytes, 0 to not use.
+   */
+  long everyEventBytes() default 0;
+
+  /**
+   * Snapshot once applying the events since the last snapshot took longer than this number of
+   * milliseconds, 0 to not use.
+   */
+  long replayTimeExceedsMillis() default 0;
+}
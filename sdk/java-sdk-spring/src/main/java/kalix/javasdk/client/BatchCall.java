@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.client;
+
+import com.google.protobuf.any.Any;
+import kalix.javasdk.DeferredCall;
+import kalix.javasdk.Metadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * The same call to a number of entities, executed with a bounded number of calls in flight at any time.
+ *
+ * <p>
+ * Example of use:
+ * <pre>{@code
+ * public Effect<List<User>> getUsers(List<String> userIds) {
+ *   var users = componentClient.forValueEntities(userIds).call(UserEntity::getUser).execute();
+ *   return effects().asyncReply(users);
+ * }
+ * }</pre>
+ *
+ * @param <R> The type returned by each call
+ */
+public final class BatchCall<R> {
+
+  /**
+   * Number of calls in flight at the same time when not specified with {@link #withParallelism(int)}.
+   */
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  private final List<String> ids;
+  private final Function<String, DeferredCall<Any, R>> callForId;
+  private final int parallelism;
+
+  BatchCall(List<String> ids, Function<String, DeferredCall<Any, R>> callForId) {
+    this(requireDistinct(ids), callForId, DEFAULT_PARALLELISM);
+  }
+
+  private BatchCall(List<String> ids, Function<String, DeferredCall<Any, R>> callForId, int parallelism) {
+    this.ids = ids;
+    this.callForId = callForId;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * @return BatchCall running at most the given number of calls at the same time
+   */
+  public BatchCall<R> withParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1, was [" + parallelism + "]");
+    }
+    return new BatchCall<>(ids, callForId, parallelism);
+  }
+
+  /**
+   * @return BatchCall passing the given metadata with each call
+   */
+  public BatchCall<R> withMetadata(Metadata metadata) {
+    return new BatchCall<>(ids, id -> callForId.apply(id).withMetadata(metadata), parallelism);
+  }
+
+  /**
+   * @return BatchCall with each call transformed by the given function, for example to set a timeout or a retry policy
+   *     on each individual call
+   */
+  public BatchCall<R> mapCalls(Function<DeferredCall<Any, R>, DeferredCall<Any, R>> transform) {
+    return new BatchCall<>(ids, id -> transform.apply(callForId.apply(id)), parallelism);
+  }
+
+  /**
+   * @return The entity ids targeted by this call, in the order results are returned
+   */
+  public List<String> ids() {
+    return ids;
+  }
+
+  /**
+   * @return One deferred call per entity id, for example to be used as side effects
+   */
+  public List<DeferredCall<Any, R>> deferredCalls() {
+    var calls = new ArrayList<DeferredCall<Any, R>>(ids.size());
+    for (String id : ids) {
+      calls.add(callForId.apply(id));
+    }
+    return calls;
+  }
+
+  /**
+   * Execute the calls and collect the results in the order of the entity ids.
+   *
+   * <p>The returned stage fails as soon as one of the calls fails, in which case the calls that were not yet started
+   * are not executed. Use {@link #executeAll()} to get the successful results also when some of the calls fail.
+   */
+  public CompletionStage<List<R>> execute() {
+    return Flux.fromIterable(ids)
+      .flatMapSequential(this::run, parallelism)
+      .collect(() -> new ArrayList<R>(ids.size()), (list, result) -> list.add(result.orElse(null)))
+      .<List<R>>map(Collections::unmodifiableList)
+      .toFuture();
+  }
+
+  /**
+   * Execute all the calls, collecting both the successful results and the failures. The returned stage does not fail
+   * because of failing calls.
+   */
+  public CompletionStage<BatchCallResult<R>> executeAll() {
+    return Flux.fromIterable(ids)
+      .flatMapSequential(id ->
+          run(id)
+            .map(result -> new Outcome<R>(id, result.orElse(null), null))
+            .onErrorResume(error -> Mono.just(new Outcome<R>(id, null, error))),
+        parallelism)
+      .collect(BatchCallResult.Builder<R>::new, (builder, outcome) -> {
+        if (outcome.error == null) {
+          builder.results.put(outcome.id, outcome.result);
+        } else {
+          builder.failures.put(outcome.id, outcome.error);
+        }
+      })
+      .map(builder -> new BatchCallResult<>(builder.results, builder.failures))
+      .toFuture();
+  }
+
+  /**
+   * Execute the calls and stream the results in the order of the entity ids, only requesting more calls to be started
+   * as the results are consumed. Empty replies are skipped. The stream fails as soon as one of the calls fails.
+   */
+  public Flux<R> stream() {
+    return Flux.fromIterable(ids)
+      .flatMapSequential(this::run, parallelism)
+      .filter(Optional::isPresent)
+      .map(Optional::get);
+  }
+
+  // the results of executeAll() are keyed by id, so an id given twice would lose the outcome of one of its calls
+  private static List<String> requireDistinct(List<String> ids) {
+    var seen = new HashSet<String>(ids.size() * 2);
+    for (String id : ids) {
+      if (!seen.add(id)) {
+        throw new IllegalArgumentException(
+          "Entity id [" + id + "] is given more than once, each id can only be called once in a batch");
+      }
+    }
+    return ids;
+  }
+
+  private Mono<Optional<R>> run(String id) {
+    return Mono.fromCompletionStage(() -> callForId.apply(id).execute())
+      .map(Optional::of)
+      .defaultIfEmpty(Optional.empty());
+  }
+
+  private static final class Outcome<R> {
+    final String id;
+    final R result;
+    final Throwable error;
+
+    Outcome(String id, R result, Throwable error) {
+      this.id = id;
+      this.result = result;
+      this.error = error;
+    }
+  }
+
+  /**
+   * The results of a {@link BatchCall} executed with {@link #executeAll()}.
+   *
+   * @param <R> The type returned by each call
+   */
+  public static final class BatchCallResult<R> {
+
+    private final LinkedHashMap<String, R> results;
+    private final LinkedHashMap<String, Throwable> failures;
+
+    private BatchCallResult(LinkedHashMap<String, R> results, LinkedHashMap<String, Throwable> failures) {
+      this.results = results;
+      this.failures = failures;
+    }
+
+    /**
+     * @return The successful results by entity id, in the order of the entity ids
+     */
+    public Map<String, R> getResults() {
+      return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * @return The failures by entity id, in the order of the entity ids
+     */
+    public Map<String, Throwable> getFailures() {
+      return Collections.unmodifiableMap(failures);
+    }
+
+    public boolean hasFailures() {
+      return !failures.isEmpty();
+    }
+
+    private static final class Builder<R> {
+      final LinkedHashMap<String, R> results = new LinkedHashMap<>();
+      final LinkedHashMap<String, Throwable> failures = new LinkedHashMap<>();
+    }
+  }
+}
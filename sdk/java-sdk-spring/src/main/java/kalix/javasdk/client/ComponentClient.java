@@ -17,7 +17,9 @@
 package kalix.javasdk.client;
 
 import kalix.spring.KalixClient;
+import kalix.spring.impl.RestKalixClientImpl;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -78,6 +80,15 @@ public class ComponentClient {
     return new ValueEntityCallBuilder(kalixClient, List.of(valueEntityIds));
   }
 
+  /**
+   * Select a number of ValueEntities as call target components, to call the same method on each of them.
+   *
+   * @param valueEntityIds - value entity ids, one call is made per id. Each id can only be given once.
+   */
+  public ValueEntityBatchCallBuilder forValueEntities(Collection<String> valueEntityIds) {
+    return new ValueEntityBatchCallBuilder(kalixClient, List.copyOf(valueEntityIds));
+  }
+
   /**
    * Select EventSourcedEntity as a call target component.
    * <p>
@@ -105,6 +116,15 @@ public class ComponentClient {
     return new EventSourcedEntityCallBuilder(kalixClient, List.of(eventSourcedEntityIds));
   }
 
+  /**
+   * Select a number of EventSourcedEntities as call target components, to call the same method on each of them.
+   *
+   * @param eventSourcedEntityIds - event sourced entity ids, one call is made per id. Each id can only be given once.
+   */
+  public EventSourcedEntityBatchCallBuilder forEventSourcedEntities(Collection<String> eventSourcedEntityIds) {
+    return new EventSourcedEntityBatchCallBuilder(kalixClient, List.copyOf(eventSourcedEntityIds));
+  }
+
   /**
    * Select Workflow as a call target component.
    * <p>
@@ -139,4 +159,11 @@ public class ComponentClient {
     return new ViewCallBuilder(kalixClient);
   }
 
+  /**
+   * Returns the hit and miss counts of the cache for View query results, configured under
+   * <code>kalix.component-client.view-cache</code>. All counts are zero when the cache is disabled.
+   */
+  public ViewCacheStats viewCacheStats() {
+    return ((RestKalixClientImpl) kalixClient).viewCacheStats();
+  }
 }
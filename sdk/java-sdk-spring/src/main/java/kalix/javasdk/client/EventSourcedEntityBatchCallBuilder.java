@@ -0,0 +1,255 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.client;
+
+import akka.japi.function.Function;
+import akka.japi.function.Function10;
+import akka.japi.function.Function11;
+import akka.japi.function.Function12;
+import akka.japi.function.Function13;
+import akka.japi.function.Function14;
+import akka.japi.function.Function15;
+import akka.japi.function.Function16;
+import akka.japi.function.Function17;
+import akka.japi.function.Function18;
+import akka.japi.function.Function19;
+import akka.japi.function.Function2;
+import akka.japi.function.Function20;
+import akka.japi.function.Function21;
+import akka.japi.function.Function22;
+import akka.japi.function.Function3;
+import akka.japi.function.Function4;
+import akka.japi.function.Function5;
+import akka.japi.function.Function6;
+import akka.japi.function.Function7;
+import akka.japi.function.Function8;
+import akka.japi.function.Function9;
+import kalix.javasdk.eventsourcedentity.EventSourcedEntity;
+import kalix.javasdk.impl.client.MethodRefResolver;
+import kalix.spring.KalixClient;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class EventSourcedEntityBatchCallBuilder {
+
+  private final KalixClient kalixClient;
+  private final List<String> entityIds;
+
+  public EventSourcedEntityBatchCallBuilder(KalixClient kalixClient, List<String> entityIds) {
+    this.kalixClient = kalixClient;
+    this.entityIds = entityIds;
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities.
+   */
+  public <T, R> BatchCall<R> call(Function<T, EventSourcedEntity.Effect<R>> methodRef) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, R> BatchCall<R> call(Function2<T, A1, EventSourcedEntity.Effect<R>> methodRef, A1 a1) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, R> BatchCall<R> call(Function3<T, A1, A2, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, R> BatchCall<R> call(Function4<T, A1, A2, A3, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, R> BatchCall<R> call(Function5<T, A1, A2, A3, A4, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, R> BatchCall<R> call(Function6<T, A1, A2, A3, A4, A5, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, R> BatchCall<R> call(Function7<T, A1, A2, A3, A4, A5, A6, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, R> BatchCall<R> call(Function8<T, A1, A2, A3, A4, A5, A6, A7, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, R> BatchCall<R> call(Function9<T, A1, A2, A3, A4, A5, A6, A7, A8, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, R> BatchCall<R> call(Function10<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, R> BatchCall<R> call(Function11<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, R> BatchCall<R> call(Function12<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, R> BatchCall<R> call(Function13<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, R> BatchCall<R> call(Function14<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, R> BatchCall<R> call(Function15<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, R> BatchCall<R> call(Function16<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, R> BatchCall<R> call(Function17<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, R> BatchCall<R> call(Function18<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16, A17 a17) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, R> BatchCall<R> call(Function19<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16, A17 a17, A18 a18) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, R> BatchCall<R> call(Function20<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16, A17 a17, A18 a18, A19 a19) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, R> BatchCall<R> call(Function21<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16, A17 a17, A18 a18, A19 a19, A20 a20) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20));
+  }
+
+  /**
+   * Pass in an Event Sourced Entity method reference annotated as a REST endpoint, e.g. <code>CartEntity::getCart</code>,
+   * to be called on each of the entities with the same parameters.
+   */
+  public <T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, A21, R> BatchCall<R> call(Function22<T, A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, A21, EventSourcedEntity.Effect<R>> methodRef, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6, A7 a7, A8 a8, A9 a9, A10 a10, A11 a11, A12 a12, A13 a13, A14 a14, A15 a15, A16 a16, A17 a17, A18 a18, A19 a19, A20 a20, A21 a21) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    return new BatchCall<>(entityIds, ComponentCall.<R>batch(kalixClient, method, a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20, a21));
+  }
+}
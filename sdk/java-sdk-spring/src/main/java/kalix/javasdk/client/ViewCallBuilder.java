@@ -43,6 +43,7 @@ import kalix.javasdk.DeferredCall;
 import kalix.javasdk.impl.client.MethodRefResolver;
 import kalix.javasdk.impl.client.ViewCallValidator;
 import kalix.spring.KalixClient;
+import reactor.core.publisher.Flux;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -252,4 +253,53 @@ public class ViewCallBuilder {
     ViewCallValidator.validate(method);
     return new ComponentCall21<>(kalixClient, method, List.of());
   }
+
+  /**
+   * Pass in a View query method reference returning a <code>Flux</code>, e.g. <code>UserByCity::streamAll</code>.
+   * <p>
+   * The rows are decoded one by one as they arrive and requested only as fast as the returned <code>Flux</code> is
+   * consumed, instead of being buffered into a single response. The query is executed when the <code>Flux</code> is
+   * subscribed to. Use <code>akka.stream.javadsl.Source.fromPublisher</code> to consume it as an Akka stream.
+   */
+  public <T, R> Flux<R> stream(Function<T, Flux<R>> methodRef) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    ViewCallValidator.validate(method);
+    return ComponentCall.streamNoParams(kalixClient, method);
+  }
+
+  /**
+   * Pass in a View query method reference returning a <code>Flux</code>, e.g. <code>UserByCity::streamByCity</code>.
+   * <p>
+   * The rows are decoded one by one as they arrive and requested only as fast as the returned <code>Flux</code> is
+   * consumed, instead of being buffered into a single response.
+   */
+  public <T, A1, R> ViewStreamCall<A1, R> stream(Function2<T, A1, Flux<R>> methodRef) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    ViewCallValidator.validate(method);
+    return new ViewStreamCall<>(kalixClient, method);
+  }
+
+  /**
+   * Pass in a View query method reference returning a <code>Flux</code>, e.g. <code>UserByCity::streamByCity</code>.
+   * <p>
+   * The rows are decoded one by one as they arrive and requested only as fast as the returned <code>Flux</code> is
+   * consumed, instead of being buffered into a single response.
+   */
+  public <T, A1, A2, R> ViewStreamCall2<A1, A2, R> stream(Function3<T, A1, A2, Flux<R>> methodRef) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    ViewCallValidator.validate(method);
+    return new ViewStreamCall2<>(kalixClient, method);
+  }
+
+  /**
+   * Pass in a View query method reference returning a <code>Flux</code>, e.g. <code>UserByCity::streamByCity</code>.
+   * <p>
+   * The rows are decoded one by one as they arrive and requested only as fast as the returned <code>Flux</code> is
+   * consumed, instead of being buffered into a single response.
+   */
+  public <T, A1, A2, A3, R> ViewStreamCall3<A1, A2, A3, R> stream(Function4<T, A1, A2, A3, Flux<R>> methodRef) {
+    Method method = MethodRefResolver.resolveMethodRef(methodRef);
+    ViewCallValidator.validate(method);
+    return new ViewStreamCall3<>(kalixClient, method);
+  }
 }
@@ -17,11 +17,14 @@
 package kalix.javasdk.eventsourced;
 
 import com.google.protobuf.Descriptors;
+import kalix.javasdk.annotations.Compression;
+import kalix.javasdk.annotations.Snapshot;
 import kalix.javasdk.common.ForwardHeadersExtractor;
 import kalix.javasdk.eventsourcedentity.EventSourcedEntity;
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityContext;
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityOptions;
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityProvider;
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy;
 import kalix.javasdk.impl.ComponentDescriptor;
 import kalix.javasdk.impl.ComponentDescriptorFactory$;
 import kalix.javasdk.impl.JsonMessageCodec;
@@ -32,6 +35,9 @@ import kalix.javasdk.impl.eventsourcedentity.EventSourcedHandlersExtractor;
 import kalix.javasdk.impl.eventsourcedentity.ReflectiveEventSourcedEntityRouter;
 import scala.collection.immutable.Map;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -71,13 +77,42 @@ public class ReflectiveEventSourcedEntityProvider<S, E, ES extends EventSourcedE
     this.eventHandlers = EventSourcedHandlersExtractor.handlersFrom(entityClass, messageCodec);
     this.entityType = typeId;
     this.factory = factory;
-    this.options = options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(entityClass));
+    EventSourcedEntityOptions withHeaders =
+        options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(entityClass));
+    Compression compression = entityClass.getAnnotation(Compression.class);
+    EventSourcedEntityOptions withCompression =
+        compression != null
+            ? withHeaders.withCompression(compression.thresholdBytes())
+            : withHeaders;
+    Snapshot snapshot = entityClass.getAnnotation(Snapshot.class);
+    this.options =
+        snapshot != null
+            ? withCompression.withSnapshotPolicy(snapshotPolicy(entityClass, snapshot))
+            : withCompression;
     this.messageCodec = messageCodec;
     this.componentDescriptor = ComponentDescriptor.descriptorFor(entityClass, messageCodec);
     this.fileDescriptor = componentDescriptor.fileDescriptor();
     this.serviceDescriptor = componentDescriptor.serviceDescriptor();
   }
 
+  private static SnapshotPolicy snapshotPolicy(Class<?> entityClass, Snapshot snapshot) {
+    List<SnapshotPolicy> policies = new ArrayList<>();
+    if (snapshot.everyEvents() > 0) policies.add(SnapshotPolicy.everyEvents(snapshot.everyEvents()));
+    if (snapshot.everyEventBytes() > 0)
+      policies.add(SnapshotPolicy.everyEventBytes(snapshot.everyEventBytes()));
+    if (snapshot.replayTimeExceedsMillis() > 0)
+      policies.add(
+          SnapshotPolicy.whenReplayTimeExceeds(
+              Duration.ofMillis(snapshot.replayTimeExceedsMillis())));
+
+    if (policies.isEmpty())
+      throw new IllegalArgumentException(
+          "Event Sourced Entity ["
+              + entityClass.getName()
+              + "] has a '@Snapshot' annotation without any threshold");
+    return policies.stream().reduce(SnapshotPolicy::or).get();
+  }
+
   @Override
   public EventSourcedEntityOptions options() {
     return options;
@@ -17,6 +17,7 @@
 package kalix.javasdk.valueentity;
 
 import com.google.protobuf.Descriptors;
+import kalix.javasdk.annotations.Compression;
 import kalix.javasdk.common.ForwardHeadersExtractor;
 import kalix.javasdk.impl.ComponentDescriptor;
 import kalix.javasdk.impl.ComponentDescriptorFactory$;
@@ -59,7 +60,13 @@ public class ReflectiveValueEntityProvider<S, E extends ValueEntity<S>>
     this.entityType = annotation;
 
     this.factory = factory;
-    this.options = options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(entityClass));
+    ValueEntityOptions withHeaders =
+        options.withForwardHeaders(ForwardHeadersExtractor.extractFrom(entityClass));
+    Compression compression = entityClass.getAnnotation(Compression.class);
+    this.options =
+        compression != null
+            ? withHeaders.withCompression(compression.thresholdBytes())
+            : withHeaders;
     this.messageCodec = messageCodec;
 
     this.componentDescriptor = ComponentDescriptor.descriptorFor(entityClass, messageCodec);
@@ -20,15 +20,18 @@ import java.lang.reflect.Method
 import java.lang.reflect.ParameterizedType
 import java.util
 
+import scala.annotation.varargs
 import scala.jdk.CollectionConverters._
 
 import akka.http.scaladsl.model.HttpMethods
 import com.google.protobuf.any.Any
 import kalix.javasdk.DeferredCall
+import kalix.javasdk.Metadata
 import kalix.javasdk.action.Action
 import kalix.javasdk.annotations.EntityType
 import kalix.javasdk.annotations.TypeId
 import kalix.javasdk.eventsourcedentity.EventSourcedEntity
+import kalix.javasdk.impl.MetadataImpl
 import kalix.javasdk.impl.client.MethodRefResolver
 import kalix.javasdk.impl.reflection.IdExtractor
 import kalix.javasdk.impl.reflection.RestServiceIntrospector
@@ -65,6 +68,10 @@ object ComponentCall {
     invoke(Seq.empty, kalixClient, method, ids.asScala.toList)
   }
 
+  def streamNoParams[R](kalixClient: KalixClient, method: Method): Flux[R] = {
+    stream(Seq.empty, kalixClient, method, MetadataImpl.Empty)
+  }
+
   private[client] def invoke[R](
       params: Seq[scala.Any],
       kalixClient: KalixClient,
@@ -79,35 +86,36 @@ object ComponentCall {
       method: Method,
       ids: List[String]): DeferredCall[Any, R] = {
 
-    val declaringClass = method.getDeclaringClass
-
-    val returnType: Class[R] = getReturnType(declaringClass, method)
-
-    val restService: RestService = RestServiceIntrospector.inspectService(declaringClass)
-    val restMethod: SyntheticRequestServiceMethod =
-      restService.methods.find(_.javaMethod.getName == method.getName) match {
-        case Some(method) => method
-        case None => throw new IllegalStateException(s"Method [${method.getName}] is not annotated as a REST endpoint.")
-      }
+    val returnType: Class[R] = getReturnType(method.getDeclaringClass, method)
 
-    val requestMethod: RequestMethod = restMethod.requestMethod
+    run(kalixClient.asInstanceOf[RestKalixClientImpl], restRequest(params, method, ids), returnType)
+  }
 
-    val queryParams: Map[String, util.List[scala.Any]] = restMethod.params
-      .collect { case p: QueryParamParameter => p }
-      .map(p => (p.name, getQueryParam(params, p.param.getParameterIndex)))
-      .toMap
+  /**
+   * The same call to a number of entities, one id per call. The REST endpoint of the method, the return type and the id
+   * names are resolved once for all the calls, rather than once per id.
+   */
+  @varargs
+  private[client] def batch[R](
+      kalixClient: KalixClient,
+      method: Method,
+      params: scala.Any*): java.util.function.Function[String, DeferredCall[Any, R]] = {
 
-    val pathVariables: Map[String, ?] = restMethod.params
-      .collect { case p: PathParameter => p }
-      .map(p => (p.name, getPathParam(params, p.param.getParameterIndex, p.name)))
-      .toMap ++ idVariables(ids, method)
+    val returnType: Class[R] = getReturnType(method.getDeclaringClass, method)
+    val request = restRequestWithoutIds(params, method)
+    val bindIds = idBinder(method)
+    val kalixClientImpl = kalixClient.asInstanceOf[RestKalixClientImpl]
 
-    val bodyIndex = restMethod.params.collect { case p: BodyParameter => p }.map(_.param.getParameterIndex).headOption
-    val body = bodyIndex.map(params(_))
+    (id: String) =>
+      run(kalixClientImpl, request.copy(pathVariables = request.pathVariables ++ bindIds(List(id))), returnType)
+  }
 
-    val kalixClientImpl = kalixClient.asInstanceOf[RestKalixClientImpl]
+  private def run[R](
+      kalixClientImpl: RestKalixClientImpl,
+      request: RestRequest,
+      returnType: Class[R]): DeferredCall[Any, R] = {
 
-    val pathTemplate = restMethod.parsedPath.path
+    val RestRequest(requestMethod, pathTemplate, pathVariables, queryParams, body) = request
 
     requestMethod match {
       case RequestMethod.GET =>
@@ -126,6 +134,71 @@ object ComponentCall {
     }
   }
 
+  /**
+   * Calls a View query method returning a `Flux`. The rows are decoded one by one as they arrive, and the query is only
+   * executed when the returned `Flux` is subscribed to.
+   */
+  private[client] def stream[R](
+      params: Seq[scala.Any],
+      kalixClient: KalixClient,
+      method: Method,
+      metadata: Metadata): Flux[R] = {
+
+    val elementType: Class[R] = getStreamElementType(method)
+
+    val RestRequest(requestMethod, pathTemplate, pathVariables, queryParams, body) =
+      restRequest(params, method, List.empty)
+
+    val kalixClientImpl = kalixClient.asInstanceOf[RestKalixClientImpl]
+
+    val (httpMethod, streamBody) = requestMethod match {
+      case RequestMethod.GET    => (HttpMethods.GET, None)
+      case RequestMethod.POST   => (HttpMethods.POST, body)
+      case RequestMethod.PUT    => (HttpMethods.PUT, body)
+      case RequestMethod.PATCH  => (HttpMethods.PATCH, body)
+      case RequestMethod.DELETE => (HttpMethods.DELETE, None)
+      case other                => notSupported(other, pathTemplate)
+    }
+    kalixClientImpl.stream(httpMethod, pathTemplate, pathVariables, queryParams, streamBody, metadata, elementType)
+  }
+
+  private final case class RestRequest(
+      requestMethod: RequestMethod,
+      pathTemplate: String,
+      pathVariables: Map[String, scala.Any],
+      queryParams: Map[String, util.List[scala.Any]],
+      body: Option[scala.Any])
+
+  private def restRequest(params: Seq[scala.Any], method: Method, ids: List[String]): RestRequest = {
+    val request = restRequestWithoutIds(params, method)
+    request.copy(pathVariables = request.pathVariables ++ idVariables(ids, method))
+  }
+
+  private def restRequestWithoutIds(params: Seq[scala.Any], method: Method): RestRequest = {
+
+    val restService: RestService = RestServiceIntrospector.inspectService(method.getDeclaringClass)
+    val restMethod: SyntheticRequestServiceMethod =
+      restService.methods.find(_.javaMethod.getName == method.getName) match {
+        case Some(method) => method
+        case None => throw new IllegalStateException(s"Method [${method.getName}] is not annotated as a REST endpoint.")
+      }
+
+    val queryParams: Map[String, util.List[scala.Any]] = restMethod.params
+      .collect { case p: QueryParamParameter => p }
+      .map(p => (p.name, getQueryParam(params, p.param.getParameterIndex)))
+      .toMap
+
+    val pathVariables: Map[String, scala.Any] = restMethod.params
+      .collect { case p: PathParameter => p }
+      .map(p => (p.name, getPathParam(params, p.param.getParameterIndex, p.name)))
+      .toMap
+
+    val bodyIndex = restMethod.params.collect { case p: BodyParameter => p }.map(_.param.getParameterIndex).headOption
+    val body = bodyIndex.map(params(_))
+
+    RestRequest(restMethod.requestMethod, restMethod.parsedPath.path, pathVariables, queryParams, body)
+  }
+
   private def getReturnType[R](declaringClass: Class[_], method: Method): Class[R] = {
     if (classOf[Action].isAssignableFrom(declaringClass)
       || classOf[ValueEntity[_]].isAssignableFrom(declaringClass)
@@ -137,13 +210,23 @@ object ComponentCall {
       // in other cases we expect a View query method, but declaring class may not extend View[_] class for join views
       val viewReturnType = method.getReturnType
       if (classOf[Flux[_]].isAssignableFrom(viewReturnType)) {
-        throw new IllegalStateException("Deferred call with a Flux<?> response type are currently not supported.")
+        throw new IllegalStateException(
+          s"Deferred call with a Flux<?> response type are currently not supported, " +
+          s"use stream instead of call for method [${method.getName}].")
       } else {
         viewReturnType.asInstanceOf[Class[R]]
       }
     }
   }
 
+  private def getStreamElementType[R](method: Method): Class[R] = {
+    if (!classOf[Flux[_]].isAssignableFrom(method.getReturnType)) {
+      throw new IllegalStateException(
+        s"View query method [${method.getName}] does not return a Flux<?>, use call instead of stream.")
+    }
+    method.getGenericReturnType.asInstanceOf[ParameterizedType].getActualTypeArguments.head.asInstanceOf[Class[R]]
+  }
+
   private def getQueryParam(params: Seq[scala.Any], parameterIndex: Int): util.List[scala.Any] = {
     val value = params(parameterIndex)
     if (value == null) {
@@ -167,28 +250,32 @@ object ComponentCall {
     throw new IllegalStateException(s"HTTP $requestMethod not supported when calling $pathTemplate")
   }
 
-  private def idVariables(ids: List[String], method: Method): Map[String, String] = {
+  private def idVariables(ids: List[String], method: Method): Map[String, String] =
+    idBinder(method)(ids)
+
+  private def idBinder(method: Method): List[String] => Map[String, String] = {
 
     val declaringClass = method.getDeclaringClass
     if (declaringClass.getAnnotation(classOf[EntityType]) == null &&
       declaringClass.getAnnotation(classOf[TypeId]) == null) {
       //not an entity or workflows
-      Map.empty
+      _ => Map.empty
     } else if (IdExtractor.shouldGenerateId(method)) {
-      Map.empty
+      _ => Map.empty
     } else {
       val idNames = IdExtractor.extractIds(declaringClass, method)
-      if (ids.isEmpty) {
-        throw new IllegalStateException(s"Id is missing when calling [${method.getName}] method")
-      } else if (ids.size != idNames.size) {
-        throw new IllegalStateException(
-          s"Expecting ${idNames.size} instead of ${ids.size} when calling [${method.getName}] method. Provide values for [${idNames
-            .mkString(", ")}] ids.")
-      } else if (idNames.size == 1) { //single key
-        Map(idNames.head -> ids.head)
-      } else { //compound key
-        idNames.zip(ids).toMap
-      }
+      ids =>
+        if (ids.isEmpty) {
+          throw new IllegalStateException(s"Id is missing when calling [${method.getName}] method")
+        } else if (ids.size != idNames.size) {
+          throw new IllegalStateException(
+            s"Expecting ${idNames.size} instead of ${ids.size} when calling [${method.getName}] method. Provide values for [${idNames
+              .mkString(", ")}] ids.")
+        } else if (idNames.size == 1) { //single key
+          Map(idNames.head -> ids.head)
+        } else { //compound key
+          idNames.zip(ids).toMap
+        }
     }
   }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.client
+
+/**
+ * Usage of the ComponentClient cache for View query results, configured under
+ * `kalix.component-client.view-cache`. The counts are since the service started.
+ *
+ * @param hits
+ *   number of View queries served from the cache
+ * @param misses
+ *   number of View queries that were not cached, or whose cached result had expired, and were sent to the View
+ * @param evictions
+ *   number of unexpired results removed from the cache to make room for new ones
+ * @param size
+ *   number of results currently in the cache
+ */
+final case class ViewCacheStats(hits: Long, misses: Long, evictions: Long, size: Int)
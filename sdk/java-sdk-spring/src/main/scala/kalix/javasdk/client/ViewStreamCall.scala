@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.client
+
+import java.lang.reflect.Method
+
+import kalix.javasdk.Metadata
+import kalix.javasdk.impl.MetadataImpl
+import kalix.spring.KalixClient
+import reactor.core.publisher.Flux
+
+/**
+ * A call to a View query method returning a `Flux`, waiting for its parameters.
+ *
+ * The rows of the query result are decoded one by one as they arrive, and requested from the View only as fast as the
+ * returned `Flux` is consumed, instead of being buffered into a single response.
+ */
+final class ViewStreamCall[A1, R] private (kalixClient: KalixClient, method: Method, metadata: Metadata) {
+
+  def this(kalixClient: KalixClient, method: Method) = this(kalixClient, method, MetadataImpl.Empty)
+
+  /**
+   * Pass in the metadata to send with the query. Its text entries are sent as headers, for example for authentication.
+   */
+  def withMetadata(metadata: Metadata): ViewStreamCall[A1, R] =
+    new ViewStreamCall[A1, R](kalixClient, method, metadata)
+
+  /**
+   * Pass in the parameters that are required to execute this call.
+   *
+   * The query is executed when the returned `Flux` is subscribed to.
+   */
+  def params(a1: A1): Flux[R] =
+    ComponentCall.stream(Seq(a1), kalixClient, method, metadata)
+}
+
+/**
+ * A call to a View query method returning a `Flux`, waiting for its parameters.
+ *
+ * The rows of the query result are decoded one by one as they arrive, and requested from the View only as fast as the
+ * returned `Flux` is consumed, instead of being buffered into a single response.
+ */
+final class ViewStreamCall2[A1, A2, R] private (kalixClient: KalixClient, method: Method, metadata: Metadata) {
+
+  def this(kalixClient: KalixClient, method: Method) = this(kalixClient, method, MetadataImpl.Empty)
+
+  /**
+   * Pass in the metadata to send with the query. Its text entries are sent as headers, for example for authentication.
+   */
+  def withMetadata(metadata: Metadata): ViewStreamCall2[A1, A2, R] =
+    new ViewStreamCall2[A1, A2, R](kalixClient, method, metadata)
+
+  /**
+   * Pass in the parameters that are required to execute this call.
+   *
+   * The types and order of parameters are the same as defined in the method reference used to build this call. The
+   * query is executed when the returned `Flux` is subscribed to.
+   */
+  def params(a1: A1, a2: A2): Flux[R] =
+    ComponentCall.stream(Seq(a1, a2), kalixClient, method, metadata)
+}
+
+/**
+ * A call to a View query method returning a `Flux`, waiting for its parameters.
+ *
+ * The rows of the query result are decoded one by one as they arrive, and requested from the View only as fast as the
+ * returned `Flux` is consumed, instead of being buffered into a single response.
+ */
+final class ViewStreamCall3[A1, A2, A3, R] private (kalixClient: KalixClient, method: Method, metadata: Metadata) {
+
+  def this(kalixClient: KalixClient, method: Method) = this(kalixClient, method, MetadataImpl.Empty)
+
+  /**
+   * Pass in the metadata to send with the query. Its text entries are sent as headers, for example for authentication.
+   */
+  def withMetadata(metadata: Metadata): ViewStreamCall3[A1, A2, A3, R] =
+    new ViewStreamCall3[A1, A2, A3, R](kalixClient, method, metadata)
+
+  /**
+   * Pass in the parameters that are required to execute this call.
+   *
+   * The types and order of parameters are the same as defined in the method reference used to build this call. The
+   * query is executed when the returned `Flux` is subscribed to.
+   */
+  def params(a1: A1, a2: A2, a3: A3): Flux[R] =
+    ComponentCall.stream(Seq(a1, a2, a3), kalixClient, method, metadata)
+}
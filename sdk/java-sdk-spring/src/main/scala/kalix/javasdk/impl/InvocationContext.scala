@@ -36,7 +36,7 @@ object InvocationContext {
       metadata: Metadata = Metadata.EMPTY): InvocationContext = {
 
     val dynamicMessage =
-      if (anyMessage.typeUrl.startsWith(JsonSupport.KALIX_JSON) ||
+      if (JsonSupport.isJson(anyMessage.typeUrl) ||
         anyMessage.typeUrl == BytesPrimitive.fullName) {
         DynamicMessage
           .newBuilder(methodDescriptor)
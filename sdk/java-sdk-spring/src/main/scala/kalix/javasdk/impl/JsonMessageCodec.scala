@@ -22,8 +22,10 @@ import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
 
 import scala.jdk.CollectionConverters._
+import scala.util.Try
 
 import com.fasterxml.jackson.annotation.JsonSubTypes
+import com.fasterxml.jackson.core.JsonProcessingException
 import com.google.api.HttpBody
 import com.google.protobuf.ByteString
 import com.google.protobuf.BytesValue
@@ -32,41 +34,85 @@ import com.google.protobuf.{ Any => JavaPbAny }
 import kalix.javasdk.HttpResponse
 import kalix.javasdk.HttpResponse.STATUS_CODE_EXTENSION_TYPE_URL
 import kalix.javasdk.JsonSupport
+import kalix.javasdk.annotations.BinaryJson
 import kalix.javasdk.annotations.Migration
 import kalix.javasdk.annotations.TypeName
 import kalix.javasdk.impl.AnySupport.BytesPrimitive
 
 private[kalix] class JsonMessageCodec extends MessageCodec {
 
-  private[kalix] case class TypeHint(currenTypeHintWithVersion: String, allTypeHints: List[String])
+  /**
+   * @param binary
+   *   true if the type is annotated with [[BinaryJson]], it is then encoded as Smile, but only by the
+   *   [[persistenceCodec]]
+   */
+  private[kalix] case class TypeHint(
+      currenTypeHintWithVersion: String,
+      allTypeHints: List[String],
+      binary: Boolean = false)
 
   private val typeHints: ConcurrentMap[Class[_], TypeHint] = new ConcurrentHashMap()
   private[kalix] val reversedTypeHints: ConcurrentMap[String, Class[_]] = new ConcurrentHashMap()
 
+  /**
+   * Encodes types annotated with [[BinaryJson]] as Smile, for the states, events and snapshots of entities. Everything
+   * else, such as replies and messages to other components, is always encoded as JSON by this codec itself.
+   */
+  override val persistenceCodec: MessageCodec = new BinaryJsonMessageCodec(this)
+
   /**
    * In the Java SDK, output data are encoded to Json.
    */
-  override def encodeScala(value: Any): ScalaPbAny = {
+  override def encodeScala(value: Any): ScalaPbAny = encodeScala(value, binaryJson = false)
+
+  override def encodeJava(value: Any): JavaPbAny = encodeJava(value, binaryJson = false)
+
+  private[kalix] def encodeScala(value: Any, binaryJson: Boolean): ScalaPbAny = {
     if (value == null) throw NullSerializationException
     value match {
       case javaPbAny: JavaPbAny       => ScalaPbAny.fromJavaProto(javaPbAny)
       case scalaPbAny: ScalaPbAny     => scalaPbAny
       case httpResponse: HttpResponse => ScalaPbAny.fromJavaProto(encodeJava(httpResponse))
       case bytes: Array[Byte] => ScalaPbAny.fromJavaProto(JavaPbAny.pack(BytesValue.of(ByteString.copyFrom(bytes))))
-      case other => ScalaPbAny.fromJavaProto(JsonSupport.encodeJson(other, lookupTypeHintWithVersion(other)))
+      case other                      => encodeScalaWithTypeHint(other, binaryJson)
     }
   }
 
-  override def encodeJava(value: Any): JavaPbAny = {
+  private[kalix] def encodeJava(value: Any, binaryJson: Boolean): JavaPbAny = {
     if (value == null) throw NullSerializationException
     value match {
       case javaPbAny: JavaPbAny       => javaPbAny
       case httpResponse: HttpResponse => encodeToHttpBody(httpResponse)
       case scalaPbAny: ScalaPbAny     => ScalaPbAny.toJavaProto(scalaPbAny)
-      case other                      => JsonSupport.encodeJson(other, lookupTypeHintWithVersion(other))
+      case other =>
+        // built directly, rather than converted from the protocol level Any built by encodeScala
+        val typeHint = lookupTypeHint(other.getClass)
+        if (binaryJson && typeHint.binary) JsonSupport.encodeSmile(other, typeHint.currenTypeHintWithVersion)
+        else JsonSupport.encodeJson(other, typeHint.currenTypeHintWithVersion)
     }
   }
 
+  /**
+   * Builds the protocol level Any directly, instead of a Java protobuf Any that would then need to be converted.
+   */
+  private def encodeScalaWithTypeHint(value: Any, binaryJson: Boolean): ScalaPbAny = {
+    val typeHint = lookupTypeHint(value.getClass)
+    val smile = binaryJson && typeHint.binary
+    val bytes =
+      try {
+        if (smile) JsonSupport.encodeToSmileBytes(value) else JsonSupport.encodeToBytes(value)
+      } catch {
+        case ex: JsonProcessingException =>
+          throw new IllegalArgumentException(s"Could not encode [${value.getClass.getName}] as JSON", ex)
+      }
+    ScalaPbAny(
+      typeUrlPrefix(smile) + typeHint.currenTypeHintWithVersion,
+      ByteStringEncoding.encodePrimitiveBytes(bytes))
+  }
+
+  private def typeUrlPrefix(smile: Boolean): String =
+    if (smile) JsonSupport.KALIX_SMILE else JsonSupport.KALIX_JSON
+
   private def encodeToHttpBody(httpResponse: HttpResponse) = {
     val httpBodyBuilder = HttpBody.newBuilder()
     httpBodyBuilder.setData(ByteString.copyFrom(httpResponse.getBody))
@@ -81,9 +127,6 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
     JavaPbAny.pack(httpBodyBuilder.addExtensions(statusAsAny).build())
   }
 
-  private def lookupTypeHintWithVersion(value: Any): String =
-    lookupTypeHint(value.getClass).currenTypeHintWithVersion
-
   private[kalix] def lookupTypeHint(clz: Class[_]): TypeHint = {
     typeHints.computeIfAbsent(clz, computeTypeHint)
   }
@@ -136,7 +179,7 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
       addToReversedCache(clz, typeName)
       supportedClassNames.foreach(className => addToReversedCache(clz, className))
 
-      TypeHint(typeNameWithVersion, typeName :: supportedClassNames)
+      TypeHint(typeNameWithVersion, typeName :: supportedClassNames, clz.getAnnotation(classOf[BinaryJson]) != null)
     }
   }
 
@@ -164,11 +207,34 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
       .getOrElse((0, List.empty))
   }
 
-  def typeUrlFor(clz: Class[_]): String = {
+  /**
+   * Builds the Jackson serializers and deserializers of all registered types, which Jackson otherwise builds, and
+   * caches, on first use. Round trips are only run for types that can be created from an empty JSON object.
+   */
+  override def warmUp(roundTrips: Int): Int = {
+    val mapper = JsonSupport.getObjectMapper
+    reversedTypeHints.values.asScala.toSet.toSeq.map { (clz: Class[_]) =>
+      mapper.canSerialize(clz)
+      mapper.canDeserialize(mapper.constructType(clz))
+      if (roundTrips > 0) {
+        // failing is fine, not all types can be created from an empty JSON object
+        Try {
+          val value = mapper.readValue("{}", clz)
+          (1 to roundTrips).foreach(_ => JsonSupport.decodeJson(clz, encodeJava(value)))
+          roundTrips
+        }.getOrElse(0)
+      } else 0
+    }.sum
+  }
+
+  def typeUrlFor(clz: Class[_]): String = typeUrlFor(clz, binaryJson = false)
+
+  private[kalix] def typeUrlFor(clz: Class[_], binaryJson: Boolean): String = {
     if (clz == classOf[Array[Byte]]) {
       BytesPrimitive.fullName
     } else {
-      JsonSupport.KALIX_JSON + lookupTypeHint(clz).currenTypeHintWithVersion
+      val typeHint = lookupTypeHint(clz)
+      typeUrlPrefix(binaryJson && typeHint.binary) + typeHint.currenTypeHintWithVersion
     }
   }
 
@@ -176,12 +242,15 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
     if (clz == classOf[Array[Byte]]) {
       List(BytesPrimitive.fullName)
     } else {
-      lookupTypeHint(clz).allTypeHints.map(JsonSupport.KALIX_JSON + _)
+      // both prefixes, so that values are read whether they were written before or after enabling binary JSON
+      lookupTypeHint(clz).allTypeHints.flatMap { hint =>
+        List(JsonSupport.KALIX_JSON + hint, JsonSupport.KALIX_SMILE + hint)
+      }
     }
   }
 
   override def decodeMessage(value: ScalaPbAny): Any = {
-    value
+    PayloadCompression.decompress(value)
   }
 
   private[kalix] def removeVersion(typeName: String) = {
@@ -189,6 +258,21 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
   }
 }
 
+/**
+ * The [[JsonMessageCodec.persistenceCodec]], encoding types annotated with [[BinaryJson]] as Smile. Smile values are
+ * read by the [[JsonMessageCodec]] itself, which accepts both encodings.
+ */
+private[kalix] final class BinaryJsonMessageCodec(delegate: JsonMessageCodec) extends MessageCodec {
+
+  override def decodeMessage(any: ScalaPbAny): Any = delegate.decodeMessage(any)
+
+  override def encodeScala(value: Any): ScalaPbAny = delegate.encodeScala(value, binaryJson = true)
+
+  override def encodeJava(value: Any): JavaPbAny = delegate.encodeJava(value, binaryJson = true)
+
+  override def typeUrlFor(clz: Class[_]): String = delegate.typeUrlFor(clz, binaryJson = true)
+}
+
 /**
  * Used in workflows where it is necessary to decode message directly to Java class for calls and transitions. This
  * behavior is not correct for other components (Action, Views) where e.g. subscription can't decode the payload to Java
@@ -196,10 +280,12 @@ private[kalix] class JsonMessageCodec extends MessageCodec {
  */
 private[kalix] class StrictJsonMessageCodec(delegate: JsonMessageCodec) extends MessageCodec {
 
-  override def decodeMessage(value: ScalaPbAny): Any =
-    if (value.typeUrl.startsWith(JsonSupport.KALIX_JSON)) {
+  override def decodeMessage(compressedOrNot: ScalaPbAny): Any = {
+    val value = PayloadCompression.decompress(compressedOrNot)
+    if (JsonSupport.isJson(value.typeUrl)) {
       val any = ScalaPbAny.toJavaProto(value)
-      val typeName = delegate.removeVersion(value.typeUrl.replace(JsonSupport.KALIX_JSON, ""))
+      val typeName =
+        delegate.removeVersion(value.typeUrl.stripPrefix(JsonSupport.KALIX_JSON).stripPrefix(JsonSupport.KALIX_SMILE))
       val typeClass = delegate.reversedTypeHints.get(typeName)
       if (typeClass == null) {
         throw new IllegalStateException(s"Cannot decode ${value.typeUrl} message type. Class mapping not found.")
@@ -209,6 +295,7 @@ private[kalix] class StrictJsonMessageCodec(delegate: JsonMessageCodec) extends
     } else {
       value
     }
+  }
 
   override def encodeScala(value: Any): ScalaPbAny =
     delegate.encodeScala(value)
@@ -217,4 +304,6 @@ private[kalix] class StrictJsonMessageCodec(delegate: JsonMessageCodec) extends
     delegate.encodeJava(value)
 
   override def typeUrlFor(clz: Class[_]): String = delegate.typeUrlFor(clz)
+
+  override def warmUp(roundTrips: Int): Int = delegate.warmUp(roundTrips)
 }
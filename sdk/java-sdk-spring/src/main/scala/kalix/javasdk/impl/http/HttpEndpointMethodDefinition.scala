@@ -43,14 +43,17 @@ import com.google.api.{ HttpRule => JavaHttpRule }
 import com.google.protobuf.Descriptors
 import com.google.protobuf.Descriptors.Descriptor
 import com.google.protobuf.Descriptors.FieldDescriptor
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType
 import com.google.protobuf.Descriptors.MethodDescriptor
 import com.google.protobuf.Descriptors.ServiceDescriptor
 import com.google.protobuf.DynamicMessage
 import com.google.protobuf.descriptor.{ MethodOptions => spbMethodOptions }
 import com.google.protobuf.util.Durations
 import com.google.protobuf.util.Timestamps
+import kalix.javasdk.impl.http.HttpEndpointMethodDefinition.RequestField
 import kalix.javasdk.impl.http.HttpEndpointMethodDefinition.lookupFieldByName
 import kalix.javasdk.impl.http.HttpEndpointMethodDefinition.parsingError
+import kalix.javasdk.impl.http.HttpEndpointMethodDefinition.singleStringMessageParsers
 import kalix.javasdk.impl.path.PathPatternParseException
 import org.slf4j.LoggerFactory
 
@@ -314,6 +317,29 @@ object HttpEndpointMethodDefinition {
     desc.findFieldByName(selector) // TODO potentially start supporting path-like selectors with maximum nesting level?
 
   private def parsingError(msg: String): Nothing = throw ParsingException(new ErrorInfo(msg))
+
+  private val singleStringMessageParsers = Map[String, String => Any](
+    "google.protobuf.Timestamp" -> Timestamps.parse,
+    "google.protobuf.Duration" -> Durations.parse)
+
+  /**
+   * A field of a request message with the parser for its values from a string: `parser` for supported scalar types,
+   * `messageParser` for the message types in `singleStringMessageParsers`, `null` otherwise.
+   */
+  private final case class RequestField(
+      field: FieldDescriptor,
+      parser: String => Option[Any],
+      messageParser: String => Any)
+
+  private object RequestField {
+    def apply(field: FieldDescriptor): RequestField =
+      field.getJavaType match {
+        case JavaType.MESSAGE =>
+          RequestField(field, null, singleStringMessageParsers.getOrElse(field.getMessageType.getFullName, null))
+        case JavaType.ENUM => RequestField(field, null, null)
+        case _             => RequestField(field, HttpEndpointMethod.suitableParserFor(field)(parsingError), null)
+      }
+  }
 }
 
 final case class HttpEndpointMethodDefinition private (
@@ -335,38 +361,63 @@ final case class HttpEndpointMethodDefinition private (
   def matches(path: String): Boolean =
     pathMatcher(path).matches()
 
-  private def lookupRequestFieldByPath(selector: String): Descriptors.FieldDescriptor =
-    HttpEndpointMethodDefinition.lookupFieldByPath(methodDescriptor.getInputType, selector)
+  // The fields of the request message, resolved once per endpoint together with the parsers for their values, so that
+  // building a request message doesn't look up fields or parsers by name
 
-  def parseTypedPathParametersInto(pathVariables: Map[String, ?], inputBuilder: DynamicMessage.Builder): Unit = {
+  private val requestFields: Map[String, RequestField] =
+    methodDescriptor.getInputType.getFields.asScala.iterator.map(field => field.getName -> RequestField(field)).toMap
 
-    //TODO fix exceptions msgs
+  // the fields that can be set from a typed path variable: single valued fields of a supported scalar type
+  private val typedPathFields: Map[String, FieldDescriptor] =
+    requestFields.collect {
+      case (name, requestField) if !requestField.field.isRepeated && (requestField.parser ne null) =>
+        name -> requestField.field
+    }
+
+  private def requestField(selector: String): RequestField =
+    requestFields.get(selector) match {
+      case Some(requestField) => requestField
+      case None =>
+        HttpEndpointMethodDefinition.lookupFieldByPath(methodDescriptor.getInputType, selector) match {
+          case null  => null
+          case field => RequestField(field)
+        }
+    }
+
+  def parseTypedPathParametersInto(pathVariables: Map[String, ?], inputBuilder: DynamicMessage.Builder): Unit = {
     pathVariables.foreach { case (fieldName, value) =>
-      val field = lookupFieldByName(methodDescriptor.getInputType, fieldName) match {
-        case null =>
-          parsingError(
-            s"HTTP API path template for [${methodDescriptor.getFullName}] references an unknown field named [$fieldName], methDesc)")
-        case field =>
-          if (field.isMapField)
-            parsingError(
-              s"HTTP API path template for [${methodDescriptor.getFullName}] references [$fieldName] but that is a map field")
-          else if (field.isRepeated)
-            parsingError(
-              s"HTTP API path template for [${methodDescriptor.getFullName}] references [$fieldName] but that is a repeated fieldfield")
-          else {
-            val notSupported =
-              (message: String) => parsingError(s"HTTP API path for [${methodDescriptor.getFullName}]: $message")
-
-            //we don't need a parser, just to check if the type is supported
-            HttpEndpointMethod.suitableParserFor(field)(notSupported)
-            field
-          }
+      val field = typedPathFields.get(fieldName) match {
+        case Some(field) => field
+        case None        => invalidTypedPathField(fieldName)
       }
 
       inputBuilder.setField(field, value)
     }
   }
 
+  private def invalidTypedPathField(fieldName: String): Nothing = {
+    //TODO fix exceptions msgs
+    lookupFieldByName(methodDescriptor.getInputType, fieldName) match {
+      case null =>
+        parsingError(
+          s"HTTP API path template for [${methodDescriptor.getFullName}] references an unknown field named [$fieldName], methDesc)")
+      case field =>
+        if (field.isMapField)
+          parsingError(
+            s"HTTP API path template for [${methodDescriptor.getFullName}] references [$fieldName] but that is a map field")
+        else if (field.isRepeated)
+          parsingError(
+            s"HTTP API path template for [${methodDescriptor.getFullName}] references [$fieldName] but that is a repeated fieldfield")
+        else {
+          val notSupported =
+            (message: String) => parsingError(s"HTTP API path for [${methodDescriptor.getFullName}]: $message")
+          HttpEndpointMethod.suitableParserFor(field)(notSupported)
+          // not reached, fields of supported types are in typedPathFields
+          notSupported(s"unsupported field [$fieldName]")
+        }
+    }
+  }
+
   def parsePathParametersInto(path: String, inputBuilder: DynamicMessage.Builder): Unit = {
     val matcher = pathMatcher(path)
     matcher.find()
@@ -380,10 +431,6 @@ final case class HttpEndpointMethodDefinition private (
               s"Path contains value of wrong type! Expected field of type ${field.getType}."))))
   }
 
-  private val singleStringMessageParsers = Map[String, String => Any](
-    "google.protobuf.Timestamp" -> Timestamps.parse,
-    "google.protobuf.Duration" -> Durations.parse)
-
   // We use this to signal to the requester that there's something wrong with the request
   private def requestError(msg: String): Nothing =
     throw IllegalRequestException(StatusCodes.BadRequest, new ErrorInfo(msg))
@@ -393,13 +440,13 @@ final case class HttpEndpointMethodDefinition private (
       inputBuilder: DynamicMessage.Builder): Unit = {
     queryParams.foreach { case (name, values) =>
       if (!values.isEmpty) {
-        lookupRequestFieldByPath(name) match {
+        requestField(name) match {
           case null => requestError(s"Query parameter [$name] refers to a non-existent field.")
-          case field if field.getJavaType == FieldDescriptor.JavaType.MESSAGE =>
+          case RequestField(field, _, _) if field.getJavaType == FieldDescriptor.JavaType.MESSAGE =>
             requestError(s"Query parameter [$name] refers to a message type. Only scalar value types are supported.")
-          case field if !field.isRepeated && values.size() > 1 =>
+          case RequestField(field, _, _) if !field.isRepeated && values.size() > 1 =>
             requestError(s"Query parameter [$name] has multiple values for a non-repeated field.")
-          case field =>
+          case RequestField(field, _, _) =>
             if (field.isRepeated) {
               values.forEach(v => {
                 inputBuilder.addRepeatedField(field, v)
@@ -415,11 +462,11 @@ final case class HttpEndpointMethodDefinition private (
   def parseRequestParametersInto(query: Map[String, List[String]], inputBuilder: DynamicMessage.Builder): Unit =
     query.foreach { case (selector, values) =>
       if (values.nonEmpty) {
-        lookupRequestFieldByPath(selector) match {
+        requestField(selector) match {
           case null => requestError(s"Query parameter [$selector] refers to a non-existent field.")
-          case field if field.getJavaType == FieldDescriptor.JavaType.MESSAGE =>
+          case RequestField(field, _, messageParser) if field.getJavaType == FieldDescriptor.JavaType.MESSAGE =>
             //this is actually not supported at the moment: https://github.com/lightbend/kalix-jvm-sdk/issues/1434
-            singleStringMessageParsers.get(field.getMessageType.getFullName) match {
+            Option(messageParser) match {
               case Some(parser) =>
                 try {
                   val parsed = parser(values.head)
@@ -434,10 +481,10 @@ final case class HttpEndpointMethodDefinition private (
                   s"Query parameter [$selector] refers to a message type. Only scalar value types and message types [${singleStringMessageParsers.keys
                     .mkString(", ")}] are supported.")
             }
-          case field if !field.isRepeated && values.size > 1 =>
+          case RequestField(field, _, _) if !field.isRepeated && values.size > 1 =>
             requestError(s"Query parameter [$selector] has multiple values for a non-repeated field.")
-          case field => // FIXME verify that we can set nested fields from the inputBuilder type
-            val x = HttpEndpointMethod.suitableParserFor(field)(requestError)
+          case RequestField(field, parser, _) => // FIXME verify that we can set nested fields from the inputBuilder type
+            val x = if (parser ne null) parser else HttpEndpointMethod.suitableParserFor(field)(requestError)
             if (field.isRepeated) {
               values.foreach { v =>
                 inputBuilder.addRepeatedField(
@@ -16,6 +16,8 @@
 
 package kalix.spring
 
+import java.util
+
 import org.springframework.web.reactive.function.client.WebClient
 
 trait WebClientProvider {
@@ -28,4 +30,33 @@ trait WebClientProvider {
    */
   def webClientFor(serviceName: String): WebClient
 
+  /**
+   * Returns the current usage of the connection pool shared by the [[WebClient]]s created by this provider, one entry
+   * per remote address. The pool is configured under `kalix.web-client.connection-pool`.
+   *
+   * Empty by default, for providers that don't pool connections or don't expose their usage.
+   */
+  def connectionPoolStats(): util.List[ConnectionPoolStats] = util.Collections.emptyList()
+
 }
+
+/**
+ * Usage of the connection pool for one remote address.
+ *
+ * @param remoteAddress
+ *   the address connections are made to
+ * @param active
+ *   number of connections currently in use
+ * @param idle
+ *   number of idle connections in the pool
+ * @param pendingAcquires
+ *   number of requests waiting for a connection
+ * @param maxConnections
+ *   maximum number of connections to the remote address
+ */
+final case class ConnectionPoolStats(
+    remoteAddress: String,
+    active: Int,
+    idle: Int,
+    pendingAcquires: Int,
+    maxConnections: Int)
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.io.InputStream
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.util.control.NonFatal
+
+import com.google.protobuf.ByteString
+import com.google.protobuf.Descriptors
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+import com.google.protobuf.{ Any => JavaPbAny }
+import io.grpc.CallOptions
+import io.grpc.Channel
+import io.grpc.ClientCall
+import io.grpc.MethodDescriptor
+import io.grpc.Status
+import io.grpc.{ Metadata => GrpcMetadata }
+import kalix.javasdk.DeferredCallResponseException
+import kalix.javasdk.JsonSupport
+import kalix.javasdk.Metadata
+import kalix.javasdk.impl.StatusCodeConverter
+
+/**
+ * INTERNAL API
+ *
+ * Sends ComponentClient calls to the gRPC endpoint of the target component instead of going through HTTP/JSON
+ * transcoding. The request message is already built (and the JSON body wrapped) by [[RestKalixClientImpl]], so its
+ * bytes are sent as is.
+ */
+private[kalix] final class GrpcComponentTransport(channel: () => Channel) {
+  import GrpcComponentTransport._
+
+  private val methods = new ConcurrentHashMap[String, MethodDescriptor[ByteString, JavaPbAny]]()
+
+  def call[R](
+      method: Descriptors.MethodDescriptor,
+      request: ScalaPbAny,
+      metadata: Metadata,
+      returnType: Class[R]): CompletionStage[R] = {
+    val result = new CompletableFuture[R]()
+    try {
+      val grpcMethod = methods.computeIfAbsent(
+        method.getFullName,
+        _ =>
+          MethodDescriptor
+            .newBuilder[ByteString, JavaPbAny]()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(MethodDescriptor.generateFullMethodName(method.getService.getFullName, method.getName))
+            .setRequestMarshaller(BytesMarshaller)
+            .setResponseMarshaller(AnyMarshaller)
+            .build())
+
+      val call = channel().newCall(grpcMethod, CallOptions.DEFAULT)
+      call.start(
+        new ClientCall.Listener[JavaPbAny] {
+          private var response: JavaPbAny = _
+
+          override def onMessage(message: JavaPbAny): Unit =
+            response = message
+
+          override def onClose(status: Status, trailers: GrpcMetadata): Unit =
+            if (!status.isOk) {
+              result.completeExceptionally(
+                DeferredCallResponseException(
+                  status.getDescription,
+                  StatusCodeConverter.fromGrpcCode(status.getCode),
+                  status.asRuntimeException(trailers)))
+            } else if (response == null) {
+              result.completeExceptionally(
+                new IllegalStateException(s"No response received when calling [${method.getFullName}]"))
+            } else {
+              try result.complete(JsonSupport.decodeJson(returnType, response))
+              catch {
+                case NonFatal(ex) => result.completeExceptionally(ex)
+              }
+            }
+        },
+        toGrpcMetadata(metadata))
+      call.request(1)
+      call.sendMessage(request.value)
+      call.halfClose()
+    } catch {
+      case NonFatal(ex) => result.completeExceptionally(ex)
+    }
+    result
+  }
+
+  private def toGrpcMetadata(metadata: Metadata): GrpcMetadata = {
+    val headers = new GrpcMetadata()
+    metadata.forEach { entry =>
+      if (entry.isText)
+        headers.put(GrpcMetadata.Key.of(entry.getKey, GrpcMetadata.ASCII_STRING_MARSHALLER), entry.getValue)
+    }
+    headers
+  }
+}
+
+private[kalix] object GrpcComponentTransport {
+
+  /**
+   * Only replies encoded as JSON can be decoded, calls to methods returning bytes or an `HttpResponse` still go through
+   * HTTP.
+   */
+  def supports(returnType: Class[_]): Boolean =
+    returnType != classOf[kalix.javasdk.HttpResponse] && returnType != classOf[Array[Byte]]
+
+  private object BytesMarshaller extends MethodDescriptor.Marshaller[ByteString] {
+    override def stream(value: ByteString): InputStream = value.newInput()
+    override def parse(stream: InputStream): ByteString = ByteString.readFrom(stream)
+  }
+
+  private object AnyMarshaller extends MethodDescriptor.Marshaller[JavaPbAny] {
+    override def stream(value: JavaPbAny): InputStream = value.toByteString.newInput()
+    override def parse(stream: InputStream): JavaPbAny = JavaPbAny.parseFrom(stream)
+  }
+}
@@ -40,6 +40,7 @@ import kalix.javasdk.eventsourcedentity.EventSourcedEntity
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityContext
 import kalix.javasdk.eventsourcedentity.EventSourcedEntityProvider
 import kalix.javasdk.impl.AclDescriptorFactory
+import kalix.javasdk.impl.GrpcClients
 import kalix.javasdk.impl.JsonMessageCodec
 import kalix.javasdk.impl.Validations
 import kalix.javasdk.impl.Validations.Invalid
@@ -195,11 +196,20 @@ case class KalixSpringApplication(applicationContext: ApplicationContext, config
   private val logger: Logger = LoggerFactory.getLogger(getClass)
 
   private val messageCodec = new JsonMessageCodec
-  private[kalix] val kalixClient = new RestKalixClientImpl(messageCodec)
+  private[kalix] val kalixClient =
+    new RestKalixClientImpl(
+      messageCodec,
+      config.getBoolean("kalix.component-client.coalesce-reads"),
+      ViewCacheSettings(config))
   private[kalix] val componentClient = new ComponentClient(kalixClient)
 
   private val kalixBeanFactory = new DefaultListableBeanFactory(applicationContext)
 
+  private val componentClientTransport = config.getString("kalix.component-client.transport")
+  require(
+    componentClientTransport == "http" || componentClientTransport == "grpc",
+    s"Invalid value [$componentClientTransport] for kalix.component-client.transport, must be 'http' or 'grpc'")
+
   // there should be only one class annotated with SpringBootApplication in the applicationContext
   private val cglibEnhanceMainClass =
     applicationContext.getBeansWithAnnotation(classOf[SpringBootApplication]).values().asScala.head
@@ -311,6 +321,10 @@ case class KalixSpringApplication(applicationContext: ApplicationContext, config
 
   private def componentClient(context: Context): ComponentClient = {
     kalixClient.setWebClient(webClientProvider(context).localWebClient)
+    if (componentClientTransport == "grpc") {
+      val grpcClients = GrpcClients(context.materializer().system)
+      kalixClient.setGrpcTransport(new GrpcComponentTransport(() => grpcClients.getProxyChannel))
+    }
     componentClient
   }
 
@@ -413,6 +427,8 @@ case class KalixSpringApplication(applicationContext: ApplicationContext, config
               List(asyncCallStep.callInputClass, asyncCallStep.transitionInputClass)
             case callStep: Workflow.CallStep[_, _, _, _] =>
               List(callStep.callInputClass, callStep.transitionInputClass)
+            case parallelCallStep: Workflow.ParallelCallStep[_, _, _] =>
+              List(parallelCallStep.callInputClass, parallelCallStep.transitionInputClass)
           }
           .foreach(messageCodec.registerTypeHints)
 
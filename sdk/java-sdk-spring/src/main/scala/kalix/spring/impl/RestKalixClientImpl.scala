@@ -20,6 +20,7 @@ import java.net.URI
 import java.util
 import java.util.Optional
 import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Function
 
 import scala.concurrent.ExecutionContext.Implicits.global
@@ -31,6 +32,7 @@ import scala.jdk.FutureConverters._
 import akka.http.scaladsl.model.HttpMethod
 import akka.http.scaladsl.model.HttpMethods
 import akka.http.scaladsl.model.Uri
+import com.google.protobuf.ByteString
 import com.google.protobuf.Descriptors
 import com.google.protobuf.DynamicMessage
 import com.google.protobuf.any.Any
@@ -40,7 +42,10 @@ import kalix.javasdk.HttpResponse
 import kalix.javasdk.Metadata
 import kalix.javasdk.StatusCode
 import kalix.javasdk.StatusCode.ErrorCode
+import kalix.javasdk.client.ViewCacheStats
 import kalix.javasdk.impl.AnySupport
+import kalix.javasdk.impl.CallExecution
+import kalix.javasdk.impl.CallPolicy
 import kalix.javasdk.impl.JsonMessageCodec
 import kalix.javasdk.impl.MetadataImpl
 import kalix.javasdk.impl.RestDeferredCall
@@ -55,11 +60,44 @@ import org.springframework.web.reactive.function.client.WebClient.RequestHeaders
 import org.springframework.web.reactive.function.client.WebClient.RequestHeadersUriSpec
 import org.springframework.web.reactive.function.client.WebClientResponseException
 import org.springframework.web.util.UriBuilder
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
 
 /**
  * INTERNAL API
  */
-final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixClient {
+object RestKalixClientImpl {
+
+  /** Request attribute marking calls whose response is decoded as a stream of elements instead of buffered. */
+  private[kalix] val StreamedResponseAttribute = "kalix.streamed-response"
+
+  /** Identical concurrent reads share the same key: same method, same request message and same text metadata. */
+  private final case class ReadKey(
+      fullMethodName: String,
+      request: ByteString,
+      returnType: Class[_],
+      metadata: Seq[(String, String)])
+}
+
+/**
+ * INTERNAL API
+ *
+ * @param coalesceReads
+ *   if enabled, identical concurrent calls to GET endpoints through the ComponentClient share one in-flight call
+ * @param viewCacheSettings
+ *   the View query endpoints whose results are cached, and for how long
+ */
+final class RestKalixClientImpl(
+    messageCodec: JsonMessageCodec,
+    coalesceReads: Boolean,
+    viewCacheSettings: ViewCacheSettings)
+    extends KalixClient {
+  import RestKalixClientImpl._
+
+  def this(messageCodec: JsonMessageCodec, coalesceReads: Boolean) =
+    this(messageCodec, coalesceReads, ViewCacheSettings.Disabled)
+
+  def this(messageCodec: JsonMessageCodec) = this(messageCodec, coalesceReads = false)
 
   private val logger: Logger = LoggerFactory.getLogger(getClass)
 
@@ -75,8 +113,61 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
 
   private val webClient: Future[WebClient] = promisedWebClient.future
 
+  // when set, ComponentClient calls are sent to the gRPC endpoint of the target component instead of through HTTP
+  @volatile private var grpcTransport: Option[GrpcComponentTransport] = None
+
+  def setGrpcTransport(transport: GrpcComponentTransport): Unit = {
+    if (grpcTransport.isEmpty) grpcTransport = Some(transport)
+  }
+
+  // keyed by the call policy as well, so that only calls waiting for their result in the same way are coalesced
+  private val inFlightReads = new SingleFlight[(ReadKey, CallPolicy)]
+
+  private val viewCache: Option[ResultCache[ReadKey]] =
+    if (viewCacheSettings.enabled) Some(new ResultCache[ReadKey](viewCacheSettings.ttl, viewCacheSettings.maxEntries))
+    else None
+
+  def viewCacheStats: ViewCacheStats =
+    viewCache.map(_.stats).getOrElse(ViewCacheStats(hits = 0, misses = 0, evictions = 0, size = 0))
+
+  // serves the results of the configured View query endpoints from the cache, other calls go through as is
+  private def cachedIfView[R](
+      httpDef: HttpEndpointMethodDefinition,
+      wrappedBody: Any,
+      returnType: Class[R],
+      asyncCall: Metadata => CompletionStage[R]): Metadata => CompletionStage[R] =
+    viewCache match {
+      case Some(cache) if viewCacheSettings.paths.contains(httpDef.pathTemplate.path) && isViewQuery(httpDef) => {
+        metadata =>
+          val key = ReadKey(httpDef.methodDescriptor.getFullName, wrappedBody.value, returnType, textEntries(metadata))
+          cache(key, ResultCopier.forType(returnType))(asyncCall(metadata))
+      }
+      case _ => asyncCall
+    }
+
+  private def isViewQuery(httpDef: HttpEndpointMethodDefinition): Boolean = {
+    val options = httpDef.methodDescriptor.getOptions
+    options.hasExtension(kalix.Annotations.method) && options.getExtension(kalix.Annotations.method).getView.hasQuery
+  }
+
+  // the ComponentClient calls endpoints by path template, each template is matched once against the endpoints
+  private val endpointsByTemplate = new ConcurrentHashMap[(HttpMethod, String), HttpEndpointMethodDefinition]()
+
+  /** The number of path templates currently matched to an endpoint, for tests. */
+  private[kalix] def matchedTemplates: Int = endpointsByTemplate.size()
+
   def registerComponent(descriptor: Descriptors.ServiceDescriptor): Unit = {
-    services ++= HttpEndpointMethodDefinition.extractForService(descriptor)
+    val endpoints = HttpEndpointMethodDefinition.extractForService(descriptor)
+    // only View query results may be cached, caching entity reads or writes would serve stale state or skip the writes
+    endpoints
+      .find(endpoint => viewCacheSettings.paths.contains(endpoint.pathTemplate.path) && !isViewQuery(endpoint))
+      .foreach { endpoint =>
+        throw new IllegalArgumentException(
+          s"Path [${endpoint.pathTemplate.path}] of [${endpoint.methodDescriptor.getFullName}] is listed in " +
+          "kalix.component-client.view-cache.paths but is not a View query endpoint, only View query results can be cached")
+      }
+    services ++= endpoints
+    endpointsByTemplate.clear()
   }
 
   private def buildWrappedBody[P](
@@ -107,6 +198,7 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
         uri,
         body = None,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val spec = client
@@ -148,6 +240,7 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
         akkaUri,
         body,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val requestBodySpec = client
@@ -167,6 +260,9 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
     }
   }
 
+  private def textEntries(metadata: Metadata): Seq[(String, String)] =
+    metadata.asScala.collect { case entry if entry.isText => entry.getKey -> entry.getValue }.toSeq
+
   private def addHeaders[P, R](metadata: Metadata, spec: RequestHeadersSpec[_]): Unit = {
     metadata.forEach(entry => {
       if (entry.isText) {
@@ -190,6 +286,7 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
         akkaUri,
         body,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val requestBodySpec = client
@@ -226,6 +323,7 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
         akkaUri,
         Some(body),
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val requestBodySpec = client
@@ -260,6 +358,7 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
         akkaUri,
         None,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val spec = client
@@ -285,12 +384,13 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
       queryParams: Map[String, util.List[scala.Any]],
       returnType: Class[R]): RestDeferredCall[Any, R] = {
 
-    matchMethodOrThrow(httpMethod, pathTemplate) { httpDef =>
+    matchTemplateOrThrow(httpMethod, pathTemplate) { httpDef =>
       typedRequestToRestDefCall(
         pathVariables,
         queryParams,
         None,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
 
@@ -338,12 +438,13 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
       body: Option[P],
       returnType: Class[R]): RestDeferredCall[Any, R] = {
 
-    matchMethodOrThrow(httpMethod, pathTemplate) { httpDef =>
+    matchTemplateOrThrow(httpMethod, pathTemplate) { httpDef =>
       typedRequestToRestDefCall(
         pathVariables,
         queryParams,
         body,
         httpDef,
+        returnType,
         (metadata: Metadata) =>
           webClient.flatMap { client =>
             val requestBodySpec = requestBodyUriSpec(client, httpMethod)
@@ -372,6 +473,55 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
     }
   }
 
+  /**
+   * Calls an endpoint returning a stream of elements, such as a View query method returning a `Flux`. Each element is
+   * decoded as soon as it arrives instead of buffering the whole response body, and the subscriber's demand is
+   * propagated to the HTTP connection. Nothing is sent until the returned `Flux` is subscribed to. The text entries of
+   * the metadata are sent as headers, like for the non-streaming calls.
+   */
+  private[kalix] def stream[R, P](
+      httpMethod: HttpMethod,
+      pathTemplate: String,
+      pathVariables: Map[String, scala.Any],
+      queryParams: Map[String, util.List[scala.Any]],
+      body: Option[P],
+      metadata: Metadata,
+      elementType: Class[R]): Flux[R] = {
+
+    // fail on unknown endpoints when building the call, like the non-streaming calls
+    findTemplateOrThrow(httpMethod, pathTemplate)
+
+    Mono
+      .fromCompletionStage(webClient.asJava)
+      .flatMapMany[R] { (client: WebClient) =>
+        val requestSpec: RequestHeadersSpec[_] = httpMethod match {
+          case HttpMethods.GET | HttpMethods.DELETE =>
+            requestHeadersUriSpec(client, httpMethod)
+              .uri(buildUri(pathTemplate, pathVariables, queryParams))
+              .asInstanceOf[RequestHeadersSpec[_]]
+          case _ =>
+            val requestBodySpec = requestBodyUriSpec(client, httpMethod)
+              .uri(buildUri(pathTemplate, pathVariables, queryParams))
+            body.foreach(requestBodySpec.bodyValue)
+            requestBodySpec
+        }
+
+        addHeaders(metadata, requestSpec)
+        requestSpec.attribute(StreamedResponseAttribute, Boolean.box(true))
+
+        requestSpec
+          .retrieve()
+          .bodyToFlux(elementType)
+      }
+      .onErrorMap(
+        classOf[WebClientResponseException],
+        (responseException: WebClientResponseException) =>
+          DeferredCallResponseException(
+            responseException.getMessage,
+            fromWebClientResponse(responseException),
+            responseException))
+  }
+
   private def requestBodyUriSpec(client: WebClient, httpMethod: HttpMethod): WebClient.RequestBodyUriSpec = {
     httpMethod match {
       case HttpMethods.PUT   => client.put()
@@ -394,7 +544,8 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
       queryParams: Map[String, util.List[scala.Any]],
       body: Option[P],
       httpDef: HttpEndpointMethodDefinition,
-      asyncCall: Metadata => CompletionStage[R]): RestDeferredCall[Any, R] = {
+      returnType: Class[R],
+      httpCall: Metadata => CompletionStage[R]): RestDeferredCall[Any, R] = {
 
     val inputBuilder = DynamicMessage.newBuilder(httpDef.methodDescriptor.getInputType)
 
@@ -403,6 +554,26 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
 
     val wrappedBody = buildWrappedBody(httpDef, inputBuilder, body)
 
+    val transportCall: Metadata => CompletionStage[R] = grpcTransport match {
+      case Some(transport) if GrpcComponentTransport.supports(returnType) =>
+        metadata => transport.call(httpDef.methodDescriptor, wrappedBody, metadata, returnType)
+      case _ => httpCall
+    }
+
+    // coalescing is around the whole execution of the call rather than around each attempt, a hedged or retried attempt
+    // would otherwise join the very attempt it is meant to replace
+    val execution: CallExecution[R] =
+      if (coalesceReads && httpDef.methodPattern == HttpMethods.GET) new CallExecution[R] {
+        override def apply(metadata: Metadata, callPolicy: CallPolicy)(
+            execute: () => CompletionStage[R]): CompletionStage[R] = {
+          val key = ReadKey(httpDef.methodDescriptor.getFullName, wrappedBody.value, returnType, textEntries(metadata))
+          inFlightReads((key, callPolicy), ResultCopier.forType(returnType))(execute())
+        }
+      }
+      else CallExecution.direct[R]
+
+    val asyncCall = cachedIfView(httpDef, wrappedBody, returnType, transportCall)
+
     RestDeferredCall[Any, R](
       message = wrappedBody,
       metadata = MetadataImpl.Empty,
@@ -416,24 +587,43 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
               fromWebClientResponse(responseException),
               responseException)
           case other: Throwable => throw other
-        })
+        },
+      execution = execution)
   }
 
   private def matchMethodOrThrow[R](httpMethod: HttpMethod, path: String)(
       createDefCall: => HttpEndpointMethodDefinition => RestDeferredCall[Any, R]) = {
+    createDefCall(findMethodOrThrow(httpMethod, path))
+  }
+
+  private def findMethodOrThrow(httpMethod: HttpMethod, path: String): HttpEndpointMethodDefinition = {
     services
       .find(d => (d.methodPattern == ANY_METHOD || httpMethod == d.methodPattern) && d.matches(path))
-      .map {
-        createDefCall(_)
-      }
       .getOrElse(throw HttpMethodNotFoundException(httpMethod, path))
   }
 
+  private def matchTemplateOrThrow[R](httpMethod: HttpMethod, pathTemplate: String)(
+      createDefCall: => HttpEndpointMethodDefinition => RestDeferredCall[Any, R]) = {
+    createDefCall(findTemplateOrThrow(httpMethod, pathTemplate))
+  }
+
+  private def findTemplateOrThrow(httpMethod: HttpMethod, pathTemplate: String): HttpEndpointMethodDefinition = {
+    val key = (httpMethod, pathTemplate)
+    val cached = endpointsByTemplate.get(key)
+    if (cached ne null) cached
+    else {
+      val endpoint = findMethodOrThrow(httpMethod, pathTemplate)
+      endpointsByTemplate.put(key, endpoint)
+      endpoint
+    }
+  }
+
   private def requestToRestDefCall[P, R](
       uri: Uri,
       body: Option[P],
       httpDef: HttpEndpointMethodDefinition,
-      asyncCall: Metadata => CompletionStage[R]): RestDeferredCall[Any, R] = {
+      returnType: Class[R],
+      httpCall: Metadata => CompletionStage[R]): RestDeferredCall[Any, R] = {
 
     val inputBuilder = DynamicMessage.newBuilder(httpDef.methodDescriptor.getInputType)
 
@@ -442,6 +632,8 @@ final class RestKalixClientImpl(messageCodec: JsonMessageCodec) extends KalixCli
 
     val wrappedBody = buildWrappedBody(httpDef, inputBuilder, body)
 
+    val asyncCall = cachedIfView(httpDef, wrappedBody, returnType, httpCall)
+
     RestDeferredCall[Any, R](
       message = wrappedBody,
       metadata = MetadataImpl.Empty,
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.time.Duration
+import java.util
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.atomic.LongAdder
+
+import scala.jdk.CollectionConverters._
+import scala.util.control.NonFatal
+
+import com.typesafe.config.Config
+import kalix.javasdk.client.ViewCacheStats
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object ViewCacheSettings {
+  def apply(config: Config): ViewCacheSettings = {
+    val cacheConfig = config.getConfig("kalix.component-client.view-cache")
+    ViewCacheSettings(
+      paths = cacheConfig.getStringList("paths").asScala.toSet,
+      ttl = cacheConfig.getDuration("ttl"),
+      maxEntries = cacheConfig.getInt("max-entries"))
+  }
+
+  val Disabled: ViewCacheSettings = ViewCacheSettings(Set.empty, Duration.ZERO, 0)
+}
+
+/**
+ * INTERNAL API
+ *
+ * @param paths
+ *   path templates of the View query endpoints whose results are cached, the cache is disabled when empty. Only View
+ *   query endpoints can be listed, other endpoints are rejected when the components are registered.
+ */
+private[kalix] final case class ViewCacheSettings(paths: Set[String], ttl: Duration, maxEntries: Int) {
+  def enabled: Boolean = paths.nonEmpty && maxEntries > 0 && !ttl.isZero
+}
+
+/**
+ * INTERNAL API
+ *
+ * Read-through cache for the results of calls: a call is only executed when there is no unexpired result for its key.
+ * Results are kept for the given TTL, failed calls are not cached.
+ *
+ * When the cache is full, the least recently used result is evicted, but only if the new result is requested more
+ * often than it, as estimated by a frequency sketch over the recently requested keys (TinyLFU admission). This keeps
+ * the frequently requested results in the cache when many one-off calls go through it.
+ */
+private[kalix] final class ResultCache[K](ttl: Duration, maxEntries: Int, nanoTime: () => Long) {
+
+  def this(ttl: Duration, maxEntries: Int) = this(ttl, maxEntries, () => System.nanoTime())
+
+  private final class Entry(val value: scala.Any, val expiresAt: Long)
+
+  private val ttlNanos = ttl.toNanos
+
+  // access ordered, the first entry is the least recently used one, guarded by itself
+  private val entries = new util.LinkedHashMap[K, Entry](16, 0.75f, true)
+  private val sketch = new FrequencySketch(maxEntries)
+
+  private val hits = new LongAdder
+  private val misses = new LongAdder
+  private val evictions = new LongAdder
+
+  /** Returns the very same cached instance to every caller, only for immutable results. */
+  def apply[R](key: K)(call: => CompletionStage[R]): CompletionStage[R] =
+    apply(key, ResultCopier.shared[R])(call)
+
+  /**
+   * Caches the results in their frozen form, each cache hit gets its own copy thawed from it, so that a caller mutating
+   * its result does not change the cached one.
+   */
+  def apply[R](key: K, copier: ResultCopier[R])(call: => CompletionStage[R]): CompletionStage[R] = {
+    val cached = lookup(key)
+    if (cached ne null) {
+      hits.increment()
+      try CompletableFuture.completedFuture(copier.thaw(cached.value))
+      catch {
+        case NonFatal(ex) => CompletableFuture.failedFuture[R](ex)
+      }
+    } else {
+      misses.increment()
+      call.thenApply((value: R) => {
+        // a result that can't be copied is not cached, the caller still gets it
+        try store(key, copier.freeze(value))
+        catch {
+          case NonFatal(_) =>
+        }
+        value
+      })
+    }
+  }
+
+  def stats: ViewCacheStats =
+    ViewCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.synchronized(entries.size()))
+
+  private def lookup(key: K): Entry = entries.synchronized {
+    sketch.increment(key.hashCode())
+    val entry = entries.get(key)
+    if ((entry ne null) && entry.expiresAt - nanoTime() <= 0) {
+      entries.remove(key)
+      null
+    } else entry
+  }
+
+  private def store(key: K, value: scala.Any): Unit = entries.synchronized {
+    val now = nanoTime()
+    val admitted =
+      if (entries.size() < maxEntries || entries.containsKey(key)) true
+      else {
+        val eldest = entries.entrySet().iterator()
+        val victim = eldest.next()
+        if (victim.getValue.expiresAt - now <= 0) {
+          eldest.remove()
+          true
+        } else if (sketch.frequency(key.hashCode()) > sketch.frequency(victim.getKey.hashCode())) {
+          eldest.remove()
+          evictions.increment()
+          true
+        } else false
+      }
+    if (admitted) entries.put(key, new Entry(value, now + ttlNanos))
+  }
+}
+
+/**
+ * INTERNAL API
+ *
+ * Count-min sketch with four rows of counters saturating at 15, estimating how often a key hash was seen. All counters
+ * are halved once the number of increments reaches ten times the width, so that the estimates follow recent requests.
+ * Not thread safe.
+ */
+private[impl] final class FrequencySketch(expectedEntries: Int) {
+
+  private val Rows = 4
+  private val MaxCount = 15
+  private val Seeds = Array(0x97cb3127, 0xc3a5c85c, 0xb492b66f, 0x9ae16a3b)
+
+  private val width = Integer.highestOneBit(math.max(expectedEntries, 8) * 2 - 1)
+  private val counters = new Array[Byte](Rows * width)
+  private val sampleSize = 10 * width
+  private var additions = 0
+
+  def increment(hash: Int): Unit = {
+    var row = 0
+    while (row < Rows) {
+      val i = index(hash, row)
+      if (counters(i) < MaxCount) counters(i) = (counters(i) + 1).toByte
+      row += 1
+    }
+    additions += 1
+    if (additions == sampleSize) reset()
+  }
+
+  def frequency(hash: Int): Int = {
+    var min = MaxCount
+    var row = 0
+    while (row < Rows) {
+      min = math.min(min, counters(index(hash, row)).toInt)
+      row += 1
+    }
+    min
+  }
+
+  private def index(hash: Int, row: Int): Int = {
+    val h = (hash + Seeds(row)) * 0x9e3779b9
+    row * width + ((h ^ (h >>> 16)) & (width - 1))
+  }
+
+  private def reset(): Unit = {
+    var i = 0
+    while (i < counters.length) {
+      counters(i) = (counters(i) >> 1).toByte
+      i += 1
+    }
+    additions /= 2
+  }
+}
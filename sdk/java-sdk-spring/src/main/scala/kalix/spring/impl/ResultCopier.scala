@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import kalix.javasdk.HttpResponse
+import kalix.javasdk.JsonSupport
+
+/**
+ * INTERNAL API
+ *
+ * Hands out independent copies of a result shared between several callers, so that one caller mutating its result
+ * can't change what the others see. A result is frozen once, and each caller gets its own copy thawed from the frozen
+ * form.
+ */
+private[kalix] trait ResultCopier[R] {
+  def freeze(value: R): scala.Any
+  def thaw(frozen: scala.Any): R
+}
+
+/**
+ * INTERNAL API
+ */
+private[kalix] object ResultCopier {
+
+  private object Shared extends ResultCopier[scala.Any] {
+    override def freeze(value: scala.Any): scala.Any = value
+    override def thaw(frozen: scala.Any): scala.Any = frozen
+  }
+
+  private object HttpResponseCopier extends ResultCopier[HttpResponse] {
+    private def copy(response: HttpResponse) =
+      HttpResponse.of(response.getStatusCode, response.getContentType, response.getBody.clone())
+    override def freeze(value: HttpResponse): scala.Any = copy(value)
+    override def thaw(frozen: scala.Any): HttpResponse = copy(frozen.asInstanceOf[HttpResponse])
+  }
+
+  /** Keeps the JSON encoded result and decodes it again for each caller, like the response it was decoded from. */
+  private final class JsonCopier[R](returnType: Class[R]) extends ResultCopier[R] {
+    override def freeze(value: R): scala.Any = JsonSupport.getObjectMapper.writeValueAsBytes(value)
+    override def thaw(frozen: scala.Any): R =
+      JsonSupport.getObjectMapper.readValue(frozen.asInstanceOf[Array[Byte]], returnType)
+  }
+
+  private val ImmutableTypes: Set[Class[_]] = Set(
+    classOf[String],
+    classOf[java.lang.Boolean],
+    classOf[java.lang.Character],
+    classOf[java.lang.Byte],
+    classOf[java.lang.Short],
+    classOf[java.lang.Integer],
+    classOf[java.lang.Long],
+    classOf[java.lang.Float],
+    classOf[java.lang.Double],
+    classOf[java.math.BigInteger],
+    classOf[java.math.BigDecimal],
+    classOf[java.util.UUID],
+    classOf[akka.Done])
+
+  /** Shares the result as is, for immutable results. */
+  def shared[R]: ResultCopier[R] = Shared.asInstanceOf[ResultCopier[R]]
+
+  def forType[R](returnType: Class[R]): ResultCopier[R] =
+    if (returnType.isPrimitive || returnType.isEnum || ImmutableTypes.contains(returnType) ||
+      returnType.getName.startsWith("java.time."))
+      shared[R]
+    else if (returnType == classOf[HttpResponse]) HttpResponseCopier.asInstanceOf[ResultCopier[R]]
+    else new JsonCopier(returnType)
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+import scala.util.control.NonFatal
+
+/**
+ * INTERNAL API
+ *
+ * Coalesces identical concurrent calls: while a call for a given key is in flight, further calls with the same key
+ * share its result instead of being executed. Once the call completes, the next call with that key is executed again,
+ * nothing is cached.
+ *
+ * The caller that executed the call gets its result, the callers that joined it each get their own copy, made with the
+ * given copier, so that a caller mutating its result does not change what the others see.
+ */
+private[kalix] final class SingleFlight[K] {
+
+  private final class Flight {
+    // completed with the frozen result, that the joining callers thaw their copy from
+    val shared = new CompletableFuture[scala.Any]()
+    // only incremented while the flight is in the map, atomically with looking it up
+    val joiners = new AtomicInteger
+  }
+
+  private val inFlight = new ConcurrentHashMap[K, Flight]()
+
+  /** Shares the very same result between the callers, only for immutable results. */
+  def apply[R](key: K)(call: => CompletionStage[R]): CompletionStage[R] =
+    apply(key, ResultCopier.shared[R])(call)
+
+  def apply[R](key: K, copier: ResultCopier[R])(call: => CompletionStage[R]): CompletionStage[R] = {
+    val flight = new Flight
+    val current = inFlight.compute(
+      key,
+      (_: K, existing: Flight) =>
+        if (existing eq null) flight
+        else {
+          existing.joiners.incrementAndGet()
+          existing
+        })
+    if (current ne flight) {
+      // a new stage per caller, so that one caller can't complete or cancel the result seen by the others
+      current.shared.thenApply[R]((frozen: scala.Any) => copier.thaw(frozen))
+    } else {
+      val result = new CompletableFuture[R]()
+      try {
+        call.whenComplete { (value, error) =>
+          // remove before completing, so that calls arriving after completion are not served a stale result,
+          // no caller can join once removed, so the number of joiners is final
+          inFlight.remove(key, flight)
+          if (error eq null) {
+            // freeze before handing out the result, so that the copies are not affected by changes made to it,
+            // and only when someone joined, so that a call nobody joined costs no more than without coalescing
+            if (flight.joiners.get() > 0) {
+              try flight.shared.complete(copier.freeze(value))
+              catch {
+                case NonFatal(ex) => flight.shared.completeExceptionally(ex)
+              }
+            }
+            result.complete(value)
+          } else {
+            flight.shared.completeExceptionally(error)
+            result.completeExceptionally(error)
+          }
+        }
+      } catch {
+        case NonFatal(ex) =>
+          inFlight.remove(key, flight)
+          flight.shared.completeExceptionally(ex)
+          result.completeExceptionally(ex)
+      }
+      result
+    }
+  }
+
+  def inFlightCount: Int = inFlight.size()
+}
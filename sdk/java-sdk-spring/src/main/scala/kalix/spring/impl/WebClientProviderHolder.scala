@@ -16,14 +16,21 @@
 
 package kalix.spring.impl
 
+import java.net.SocketAddress
+import java.time.Duration
+import java.util
 import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.ConcurrentMap
 
+import scala.concurrent.ExecutionContext
+import scala.concurrent.Future
 import scala.jdk.CollectionConverters.MapHasAsScala
+import scala.jdk.FutureConverters._
 import scala.jdk.OptionConverters.RichOptional
 
+import akka.Done
 import akka.actor.ActorSystem
 import akka.actor.ClassicActorSystemProvider
+import akka.actor.CoordinatedShutdown
 import akka.actor.ExtendedActorSystem
 import akka.actor.Extension
 import akka.actor.ExtensionId
@@ -34,12 +41,20 @@ import kalix.devtools.impl.DevModeSettings
 import kalix.devtools.impl.HostAndPort
 import kalix.javasdk.JsonSupport
 import kalix.javasdk.impl.ProxyInfoHolder
+import kalix.spring.ConnectionPoolStats
 import kalix.spring.WebClientProvider
 import org.springframework.http.HttpHeaders
 import org.springframework.http.MediaType
+import org.springframework.http.client.reactive.ReactorClientHttpConnector
 import org.springframework.http.codec.json.Jackson2JsonEncoder
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction
 import org.springframework.web.reactive.function.client.ExchangeFilterFunctions
 import org.springframework.web.reactive.function.client.WebClient
+import reactor.netty.http.HttpProtocol
+import reactor.netty.http.client.HttpClient
+import reactor.netty.resources.ConnectionPoolMetrics
+import reactor.netty.resources.ConnectionProvider
+import reactor.netty.resources.LoopResources
 
 /**
  * INTERNAL API
@@ -56,6 +71,77 @@ private[kalix] object WebClientProviderHolder extends ExtensionId[WebClientProvi
 
 }
 
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[kalix] object WebClientSettings {
+  def apply(config: Config): WebClientSettings = {
+    val webClientConfig = config.getConfig("kalix.web-client")
+    val poolConfig = webClientConfig.getConfig("connection-pool")
+    WebClientSettings(
+      maxConnections = poolConfig.getInt("max-connections"),
+      pendingAcquireMaxCount = poolConfig.getInt("pending-acquire-max-count"),
+      pendingAcquireTimeout = poolConfig.getDuration("pending-acquire-timeout"),
+      maxIdleTime = poolConfig.getDuration("max-idle-time"),
+      evictInBackground = poolConfig.getDuration("evict-in-background"),
+      disposeInactivePoolsAfter = poolConfig.getDuration("dispose-inactive-pools-after"),
+      http2 = webClientConfig.getBoolean("http2"),
+      compression = webClientConfig.getBoolean("compression"),
+      eventLoopThreads = webClientConfig.getInt("event-loop-threads"),
+      maxCachedClients = webClientConfig.getInt("max-cached-clients"))
+  }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[kalix] final case class WebClientSettings(
+    maxConnections: Int,
+    pendingAcquireMaxCount: Int,
+    pendingAcquireTimeout: Duration,
+    maxIdleTime: Duration,
+    evictInBackground: Duration,
+    disposeInactivePoolsAfter: Duration,
+    http2: Boolean,
+    compression: Boolean,
+    eventLoopThreads: Int,
+    maxCachedClients: Int) {
+  require(maxConnections >= 0, "web-client.connection-pool.max-connections must not be negative")
+  require(
+    pendingAcquireMaxCount >= -1,
+    "web-client.connection-pool.pending-acquire-max-count must be -1 (unbounded), 0 (default) or greater than 0")
+  require(eventLoopThreads >= 0, "web-client.event-loop-threads must not be negative")
+  require(maxCachedClients > 0, "web-client.max-cached-clients must be greater than 0")
+}
+
+/**
+ * INTERNAL API
+ *
+ * The clients created per key, only the given number of most recently used ones are kept.
+ */
+@InternalApi
+private[kalix] final class ClientCache[C](maxEntries: Int) {
+
+  // access ordered, the first entry is the least recently used one, guarded by itself
+  private val clients = new util.LinkedHashMap[String, C](16, 0.75f, true) {
+    override def removeEldestEntry(eldest: util.Map.Entry[String, C]): Boolean = size() > maxEntries
+  }
+
+  def getOrCreate(key: String)(create: => C): C = clients.synchronized {
+    val cached = clients.get(key)
+    if (cached != null) cached
+    else {
+      val client = create
+      clients.put(key, client)
+      client
+    }
+  }
+
+  def size: Int = clients.synchronized(clients.size())
+}
+
 class WebClientProviderHolder(system: ExtendedActorSystem) extends Extension {
   val webClientProvider = new WebClientProviderImpl(system)
 }
@@ -67,13 +153,99 @@ class WebClientProviderHolder(system: ExtendedActorSystem) extends Extension {
 private[kalix] class WebClientProviderImpl(system: ExtendedActorSystem) extends WebClientProvider {
 
   private val proxyInfoHolder = ProxyInfoHolder(system)
-  private val clients: ConcurrentMap[String, WebClient] = new ConcurrentHashMap()
 
   private val devModeSettings = DevModeSettings.fromConfig(system.settings.config).portMappings
 
   private val MaxCrossServiceResponseContentLength =
     system.settings.config.getBytes("kalix.cross-service.max-content-length").toInt
 
+  // the limit applies to buffered responses only, streamed responses are decoded element by element
+  // and each element is bounded by the max in-memory size of the codecs instead
+  private val limitResponseSize: ExchangeFilterFunction = {
+    val limit = ExchangeFilterFunctions.limitResponseSize(MaxCrossServiceResponseContentLength)
+    (request, next) =>
+      if (request.attribute(RestKalixClientImpl.StreamedResponseAttribute).isPresent) next.exchange(request)
+      else limit.filter(request, next)
+  }
+
+  private val settings = WebClientSettings(system.settings.config)
+
+  // a WebClient holds no connections, dropping one leaves its connections in the shared pool until they are idle
+  private val clients = new ClientCache[WebClient](settings.maxCachedClients)
+
+  // the pool metrics are registered by reactor-netty when a pool for a new remote address is created
+  private val poolMetrics = new ConcurrentHashMap[SocketAddress, ConnectionPoolMetrics]()
+
+  // one pool (and one set of event loops) shared by all WebClients, each remote address gets its own
+  // sub-pool, idle connections are evicted in the background and sub-pools left without connections are disposed of
+  private val connectionProvider: ConnectionProvider = {
+    val builder = ConnectionProvider
+      .builder("kalix-web-client")
+      .pendingAcquireTimeout(settings.pendingAcquireTimeout)
+      .evictInBackground(settings.evictInBackground)
+    // zero keeps the reactor-netty defaults for the pool size, the pending acquire queue and the idle time
+    if (settings.maxConnections > 0)
+      builder.maxConnections(settings.maxConnections)
+    if (settings.pendingAcquireMaxCount != 0)
+      builder.pendingAcquireMaxCount(settings.pendingAcquireMaxCount)
+    if (!settings.maxIdleTime.isZero)
+      builder.maxIdleTime(settings.maxIdleTime)
+    if (!settings.disposeInactivePoolsAfter.isZero)
+      builder.disposeInactivePoolsInBackground(settings.disposeInactivePoolsAfter, settings.disposeInactivePoolsAfter)
+    builder
+      .metrics(
+        true,
+        () =>
+          new ConnectionProvider.MeterRegistrar {
+            override def registerMetrics(
+                poolName: String,
+                id: String,
+                remoteAddress: SocketAddress,
+                metrics: ConnectionPoolMetrics): Unit =
+              poolMetrics.put(remoteAddress, metrics)
+
+            override def deRegisterMetrics(poolName: String, id: String, remoteAddress: SocketAddress): Unit =
+              poolMetrics.remove(remoteAddress)
+          })
+      .build()
+  }
+
+  private val loopResources: Option[LoopResources] =
+    if (settings.eventLoopThreads > 0) Some(LoopResources.create("kalix-web-client", settings.eventLoopThreads, true))
+    else None
+
+  CoordinatedShutdown(system).addTask(CoordinatedShutdown.PhaseServiceStop, "stop-web-clients") { () =>
+    implicit val ec: ExecutionContext = system.dispatcher
+    connectionProvider
+      .disposeLater()
+      .toFuture
+      .asScala
+      .flatMap(_ => loopResources.map(_.disposeLater().toFuture.asScala).getOrElse(Future.unit))
+      .map(_ => Done)
+  }
+
+  private val httpClient: HttpClient = {
+    val client = HttpClient
+      .create(connectionProvider)
+      .compress(settings.compression)
+    val withLoops = loopResources.map(loops => client.runOn(loops)).getOrElse(client)
+    if (settings.http2) withLoops.protocol(HttpProtocol.H2C) else withLoops
+  }
+
+  override def connectionPoolStats(): util.List[ConnectionPoolStats] = {
+    val stats = new util.ArrayList[ConnectionPoolStats]()
+    poolMetrics.forEach { (address, metrics) =>
+      stats.add(
+        ConnectionPoolStats(
+          address.toString,
+          metrics.acquiredSize(),
+          metrics.idleSize(),
+          metrics.pendingAcquireSize(),
+          metrics.maxAllocatedSize()))
+    }
+    stats
+  }
+
   override def webClientFor(host: String): WebClient = {
 
     // differently from the gRPC client, we don't need to create an extra config on the fly
@@ -84,12 +256,10 @@ private[kalix] class WebClientProviderImpl(system: ExtendedActorSystem) extends
         .map(HostAndPort.extract)
         .getOrElse((host, 80))
 
-    clients.computeIfAbsent(
-      host,
-      _ => {
-        val remoteAddHeader = proxyInfoHolder.remoteIdentificationHeader
-        buildClient(mappedHost, mappedPort, remoteAddHeader)
-      })
+    clients.getOrCreate(host) {
+      val remoteAddHeader = proxyInfoHolder.remoteIdentificationHeader
+      buildClient(mappedHost, mappedPort, remoteAddHeader)
+    }
   }
 
   val localWebClient: WebClient = {
@@ -110,13 +280,14 @@ private[kalix] class WebClientProviderImpl(system: ExtendedActorSystem) extends
 
     val builder =
       WebClient.builder
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
         .baseUrl(s"http://$host:$port")
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
         .codecs(configurer => {
           configurer.defaultCodecs.jackson2JsonEncoder(
             new Jackson2JsonEncoder(JsonSupport.getObjectMapper, MediaType.APPLICATION_JSON))
         })
-        .filter(ExchangeFilterFunctions.limitResponseSize(MaxCrossServiceResponseContentLength))
+        .filter(limitResponseSize)
 
     identificationHeader.foreach { case (key, value) =>
       builder.defaultHeader(key, value)
@@ -23,8 +23,10 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.any.Any;
 import kalix.javasdk.JsonSupport;
 import kalix.javasdk.impl.AnySupport;
+import kalix.javasdk.impl.CallPolicy;
 import kalix.javasdk.impl.ComponentDescriptor;
 import kalix.javasdk.impl.JsonMessageCodec;
+import kalix.javasdk.impl.MetadataImpl;
 import kalix.javasdk.impl.RestDeferredCall;
 import kalix.javasdk.impl.Validations;
 import kalix.spring.impl.RestKalixClientImpl;
@@ -40,10 +42,26 @@ import kalix.spring.testmodels.valueentity.Counter;
 import kalix.spring.testmodels.valueentity.User;
 import kalix.spring.testmodels.view.ViewTestModels.UserByEmailWithGet;
 import kalix.spring.testmodels.view.ViewTestModels.UserByEmailWithGetWithoutAnnotation;
+import kalix.spring.testmodels.view.ViewTestModels.UserByNameStreamed;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -301,6 +319,159 @@ class ComponentClientTest {
     assertMethodParamsMatch(targetMethod, call.message(), email);
   }
 
+  @Test
+  public void shouldStreamRowsOfViewQueryReturningFlux() {
+    //given
+    var view = descriptorFor(UserByNameStreamed.class, messageCodec);
+    restKalixClient.registerComponent(view.serviceDescriptor());
+    var requestedPaths = new ArrayList<String>();
+    restKalixClient.setWebClient(WebClient.builder()
+      .codecs(configurer -> configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(JsonSupport.getObjectMapper())))
+      .exchangeFunction(request -> {
+        requestedPaths.add(request.url().getPath());
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+          .body("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john@example.com\"}\n" +
+            "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\"}\n")
+          .build());
+      })
+      .build());
+
+    //when
+    Flux<User> rows = componentClient.forView()
+      .stream(UserByNameStreamed::getUser)
+      .params("Doe");
+
+    //then
+    assertThat(requestedPaths).isEmpty();
+    var users = rows.collectList().block(Duration.ofSeconds(3));
+    assertThat(requestedPaths).containsExactly("/users/Doe");
+    assertThat(users).extracting(user -> user.email).containsExactly("john@example.com", "jane@example.com");
+  }
+
+  @Test
+  public void shouldSendMetadataAsHeadersOfStreamedViewQuery() {
+    //given
+    var view = descriptorFor(UserByNameStreamed.class, messageCodec);
+    restKalixClient.registerComponent(view.serviceDescriptor());
+    var authorizationHeaders = new ArrayList<String>();
+    restKalixClient.setWebClient(WebClient.builder()
+      .codecs(configurer -> configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(JsonSupport.getObjectMapper())))
+      .exchangeFunction(request -> {
+        authorizationHeaders.addAll(request.headers().getOrEmpty(HttpHeaders.AUTHORIZATION));
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+          .body("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john@example.com\"}\n")
+          .build());
+      })
+      .build());
+
+    //when
+    Flux<User> rows = componentClient.forView()
+      .stream(UserByNameStreamed::getUser)
+      .withMetadata(MetadataImpl.Empty().add(HttpHeaders.AUTHORIZATION, "Bearer token"))
+      .params("Doe");
+
+    //then
+    assertThat(rows.collectList().block(Duration.ofSeconds(3))).hasSize(1);
+    assertThat(authorizationHeaders).containsExactly("Bearer token");
+  }
+
+  @Test
+  public void shouldReturnOneDeferredCallPerIdForBatchCall() throws InvalidProtocolBufferException {
+    //given
+    var counterVE = descriptorFor(Counter.class, messageCodec);
+    restKalixClient.registerComponent(counterVE.serviceDescriptor());
+    var targetMethod = counterVE.serviceDescriptor().findMethodByName("Get");
+
+    //when
+    var calls = componentClient.forValueEntities(List.of("c1", "c2"))
+      .call(Counter::get)
+      .deferredCalls();
+
+    //then
+    assertThat(calls).hasSize(2);
+    for (int i = 0; i < calls.size(); i++) {
+      RestDeferredCall<Any, Number> call = (RestDeferredCall<Any, Number>) calls.get(i);
+      assertThat(call.fullServiceName()).isEqualTo(targetMethod.getService().getFullName());
+      assertThat(call.methodName()).isEqualTo(targetMethod.getName());
+      assertMethodParamsMatch(targetMethod, call.message(), "c" + (i + 1));
+    }
+  }
+
+  @Test
+  public void shouldPassTheSameParamsToEachCallOfBatchCall() throws InvalidProtocolBufferException {
+    //given
+    var counterVE = descriptorFor(Counter.class, messageCodec);
+    restKalixClient.registerComponent(counterVE.serviceDescriptor());
+    var targetMethod = counterVE.serviceDescriptor().findMethodByName("Increase");
+
+    //when
+    var calls = componentClient.forValueEntities(List.of("c1", "c2"))
+      .call(Counter::increase, new Number(3))
+      .deferredCalls();
+
+    //then
+    assertThat(calls).hasSize(2);
+    for (int i = 0; i < calls.size(); i++) {
+      RestDeferredCall<Any, Number> call = (RestDeferredCall<Any, Number>) calls.get(i);
+      assertThat(call.methodName()).isEqualTo(targetMethod.getName());
+      assertThat(getBody(targetMethod, call.message(), Number.class).value).isEqualTo(3);
+      var dynamicMessage = DynamicMessage.parseFrom(targetMethod.getInputType(), call.message().value());
+      assertThat(dynamicMessage.getField(targetMethod.getInputType().findFieldByName("counterId")))
+        .isEqualTo("c" + (i + 1));
+    }
+  }
+
+  @Test
+  public void shouldCollectResultsAndFailuresOfBatchCall() throws Exception {
+    var batchCall = new BatchCall<String>(List.of("a", "fail", "b"), id ->
+      new RestDeferredCall<>(Any.defaultInstance(), MetadataImpl.Empty(), "service", "method", metadata -> {
+        if (id.equals("fail")) return CompletableFuture.failedFuture(new RuntimeException("boom"));
+        else return CompletableFuture.completedFuture("result-" + id);
+      }, CallPolicy.Default()))
+      .withParallelism(2);
+
+    var result = batchCall.executeAll().toCompletableFuture().get(3, TimeUnit.SECONDS);
+    assertThat(result.getResults()).containsExactly(
+      Map.entry("a", "result-a"),
+      Map.entry("b", "result-b"));
+    assertThat(result.getFailures()).containsOnlyKeys("fail");
+
+    assertThatThrownBy(() -> batchCall.execute().toCompletableFuture().get(3, TimeUnit.SECONDS))
+      .hasRootCauseMessage("boom");
+  }
+
+  @Test
+  public void shouldRespectParallelismOfBatchCall() throws Exception {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var ids = IntStream.rangeClosed(1, 20).mapToObj(i -> "id-" + i).toList();
+    var batchCall = new BatchCall<String>(ids, id ->
+      new RestDeferredCall<>(Any.defaultInstance(), MetadataImpl.Empty(), "service", "method", metadata -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return CompletableFuture.supplyAsync(() -> {
+          inFlight.decrementAndGet();
+          return "result-" + id;
+        }, CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+      }, CallPolicy.Default()))
+      .withParallelism(3);
+
+    var results = batchCall.execute().toCompletableFuture().get(3, TimeUnit.SECONDS);
+    assertThat(results).containsExactlyElementsOf(ids.stream().map(id -> "result-" + id).toList());
+    assertThat(maxInFlight.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldRejectDuplicateIdsInBatchCall() {
+    var counterVE = descriptorFor(Counter.class, messageCodec);
+    restKalixClient.registerComponent(counterVE.serviceDescriptor());
+
+    assertThatThrownBy(() -> componentClient.forValueEntities(List.of("c1", "c2", "c1")).call(Counter::get))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("[c1]");
+  }
+
   private ComponentDescriptor descriptorFor(Class<?> clazz, JsonMessageCodec messageCodec) {
     Validations.validate(clazz).failIfInvalid();
     return ComponentDescriptor.descriptorFor(clazz, messageCodec);
@@ -16,6 +16,8 @@
 
 package kalix.javasdk.impl
 
+import java.time.Duration
+
 import com.google.protobuf.ByteString._
 import com.google.protobuf.any.{ Any => ScalaPbAny }
 import kalix.javasdk.JsonSupport
@@ -26,7 +28,9 @@ import kalix.javasdk.eventsourcedentity.OldTestESEvent.OldEvent3
 import kalix.javasdk.eventsourcedentity.TestESEvent
 import kalix.javasdk.eventsourcedentity.TestESEvent.Event4
 import kalix.javasdk.eventsourcedentity.TestESState
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy
 import kalix.javasdk.eventsourcedentity.TestEventSourcedEntity
+import kalix.javasdk.eventsourcedentity.TestSnapshotEventSourcedEntity
 import kalix.javasdk.impl.eventsourcedentity.TestEventSourcedService
 import kalix.testkit.TestProtocol
 import org.scalatest.BeforeAndAfterAll
@@ -65,6 +69,26 @@ class EvenSourcedEntitiesImplSpec extends AnyWordSpec with Matchers with BeforeA
       protocol.terminate()
       service.terminate()
     }
+
+    "make snapshots according to the @Snapshot annotation" in {
+      val provider = ReflectiveEventSourcedEntityProvider
+        .of[TestESState, TestESEvent, TestSnapshotEventSourcedEntity](
+          classOf[TestSnapshotEventSourcedEntity],
+          new JsonMessageCodec(),
+          _ => new TestSnapshotEventSourcedEntity())
+      val policy = provider.options().snapshotPolicy().get()
+
+      def stats(events: Long, bytes: Long): SnapshotPolicy.Stats = new SnapshotPolicy.Stats {
+        override def sequenceNumber(): Long = events
+        override def eventsSinceSnapshot(): Long = events
+        override def eventBytesSinceSnapshot(): Long = bytes
+        override def replayTime(): Duration = Duration.ZERO
+      }
+
+      policy.shouldSnapshot(stats(events = 3, bytes = 300)) shouldBe false
+      policy.shouldSnapshot(stats(events = 10, bytes = 300)) shouldBe true
+      policy.shouldSnapshot(stats(events = 3, bytes = 1000)) shouldBe true
+    }
   }
 
   private def emptySyntheticRequest(methodName: String) = {
@@ -23,16 +23,24 @@ import com.fasterxml.jackson.annotation.JsonCreator
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.IntNode
 import com.fasterxml.jackson.databind.node.ObjectNode
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider
 import com.google.protobuf.any.{ Any => ScalaPbAny }
 import com.google.protobuf.{ Any => JavaPbAny }
 import kalix.javasdk.JsonMigration
 import kalix.javasdk.JsonSupport
+import kalix.javasdk.Metadata
+import kalix.javasdk.annotations.BinaryJson
 import kalix.javasdk.annotations.Migration
 import kalix.javasdk.annotations.TypeName
+import kalix.javasdk.impl.JsonMessageCodecSpec.BinaryClass
 import kalix.javasdk.impl.JsonMessageCodecSpec.Cat
 import kalix.javasdk.impl.JsonMessageCodecSpec.Dog
 import kalix.javasdk.impl.JsonMessageCodecSpec.SimpleClass
 import kalix.javasdk.impl.JsonMessageCodecSpec.SimpleClassUpdated
+import kalix.javasdk.impl.JsonMessageCodecSpec.WarmUpClass
+import kalix.javasdk.impl.effect.EffectSupport
+import kalix.javasdk.impl.effect.MessageReplyImpl
+import org.scalatest.OptionValues
 import org.scalatest.matchers.should.Matchers
 import org.scalatest.wordspec.AnyWordSpec
 
@@ -49,6 +57,13 @@ object JsonMessageCodecSpec {
   @JsonCreator
   case class SimpleClass(str: String, in: Int)
 
+  @JsonCreator
+  @BinaryJson
+  case class BinaryClass(str: String, in: Int)
+
+  @JsonCreator
+  case class WarmUpClass(str: String, in: Int)
+
   class SimpleClassUpdatedMigration extends JsonMigration {
     override def currentVersion(): Int = 1
     override def transform(fromVersion: Int, jsonNode: JsonNode): JsonNode = {
@@ -94,7 +109,7 @@ object JsonMessageCodecSpec {
   }
 
 }
-class JsonMessageCodecSpec extends AnyWordSpec with Matchers {
+class JsonMessageCodecSpec extends AnyWordSpec with Matchers with OptionValues {
 
   def jsonTypeUrlWith(typ: String) = JsonSupport.KALIX_JSON + typ
 
@@ -230,6 +245,67 @@ class JsonMessageCodecSpec extends AnyWordSpec with Matchers {
       decoded shouldBe SimpleClassUpdated(value.str, value.in, 1)
     }
 
+    "encode and decode binary JSON for persistence" in {
+      val value = BinaryClass("abc", 10)
+      val persistenceCodec = messageCodec.persistenceCodec
+      val encoded = persistenceCodec.encodeScala(value)
+      encoded.typeUrl shouldBe JsonSupport.KALIX_SMILE + classOf[BinaryClass].getName
+      persistenceCodec.typeUrlFor(classOf[BinaryClass]) shouldBe encoded.typeUrl
+      ScalaPbAny.fromJavaProto(persistenceCodec.encodeJava(value)) shouldBe encoded
+
+      new StrictJsonMessageCodec(messageCodec).decodeMessage(encoded) shouldBe value
+      JsonSupport.decodeJson(classOf[BinaryClass], ScalaPbAny.toJavaProto(encoded)) shouldBe value
+    }
+
+    "encode replies and view rows with the same bytes and type url as JsonSupport.encodeJson" in {
+      //new codec to avoid collision with SimpleClass
+      val codec = new JsonMessageCodec()
+      val value = SimpleClassUpdated("abc", 10, 123)
+      val expected = JsonSupport.encodeJson(value, "kalix.javasdk.impl.JsonMessageCodecSpec$SimpleClassUpdated#1")
+
+      codec.encodeJava(value) shouldBe expected
+      // view upserts carry the result of encodeScala as row value
+      val encoded = codec.encodeScala(value)
+      encoded shouldBe ScalaPbAny.fromJavaProto(expected)
+
+      val reply = MessageReplyImpl(encoded, Metadata.EMPTY, Vector.empty)
+      EffectSupport.asProtocol(reply).payload.value shouldBe encoded
+      reply.replyToClientAction(codec, commandId = 1).value.action.reply.value.payload.value shouldBe encoded
+    }
+
+    "encode binary JSON types as JSON in replies" in {
+      val value = BinaryClass("abc", 10)
+      val jsonTypeUrl = JsonSupport.KALIX_JSON + classOf[BinaryClass].getName
+      messageCodec.typeUrlFor(classOf[BinaryClass]) shouldBe jsonTypeUrl
+      messageCodec.encodeJava(value).getTypeUrl shouldBe jsonTypeUrl
+
+      // the way entities turn a reply into the protocol reply
+      val reply = MessageReplyImpl(messageCodec.encodeScala(value), Metadata.EMPTY, Vector.empty)
+      val payload = reply.replyToClientAction(messageCodec, commandId = 1).value.action.reply.value.payload.value
+      payload.typeUrl shouldBe jsonTypeUrl
+      JsonSupport.decodeJson(classOf[BinaryClass], ScalaPbAny.toJavaProto(payload)) shouldBe value
+    }
+
+    "warm up the registered types, including the ones that can not be created from an empty JSON object" in {
+      val codec = new JsonMessageCodec
+      codec.registerTypeHints(classOf[WarmUpClass])
+      codec.registerTypeHints(classOf[String])
+      val serializers = JsonSupport.getObjectMapper.getSerializerProvider.asInstanceOf[DefaultSerializerProvider]
+      val cachedBefore = serializers.cachedSerializersCount()
+
+      // a String can't be created from an empty JSON object, only the round trips of WarmUpClass run
+      codec.warmUp(roundTrips = 2) shouldBe 2
+      serializers.cachedSerializersCount() should be > cachedBefore
+    }
+
+    "decode values stored as JSON before enabling binary JSON" in {
+      val encoded = JsonSupport.encodeJson(BinaryClass("abc", 10), classOf[BinaryClass].getName)
+      messageCodec.typeUrlsFor(classOf[BinaryClass]) should contain(encoded.getTypeUrl)
+      new StrictJsonMessageCodec(messageCodec).decodeMessage(ScalaPbAny.fromJavaProto(encoded)) shouldBe BinaryClass(
+        "abc",
+        10)
+    }
+
     {
       import JsonMessageCodecSpec.AnnotatedWithTypeName.Elephant
       import JsonMessageCodecSpec.AnnotatedWithTypeName.IndianElephant
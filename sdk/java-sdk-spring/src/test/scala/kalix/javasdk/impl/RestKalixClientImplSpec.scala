@@ -21,6 +21,8 @@ import java.nio.charset.StandardCharsets
 
 import scala.jdk.CollectionConverters.CollectionHasAsScala
 
+import akka.http.scaladsl.model.HttpMethods
+import akka.http.scaladsl.model.ParsingException
 import com.google.protobuf.ByteString
 import com.google.protobuf.Descriptors
 import com.google.protobuf.DynamicMessage
@@ -168,6 +170,65 @@ class RestKalixClientImplSpec extends AnyWordSpec with Matchers with BeforeAndAf
         }
       }
     }
+
+    "return a DeferredCall for a path template with typed path variables" in {
+      val actionWithTwoParams = ComponentDescriptor.descriptorFor(classOf[GetClassLevel], messageCodec)
+      restKalixClient.registerComponent(actionWithTwoParams.serviceDescriptor)
+
+      val restDefCall = restKalixClient.runWithoutBody(
+        HttpMethods.GET,
+        "/action/{one}/message/{two}",
+        Map("one" -> "test", "two" -> 2L),
+        Map.empty,
+        classOf[Message])
+
+      val targetMethod = actionWithTwoParams.serviceDescriptor.findMethodByName("Message")
+      restDefCall.methodName shouldBe targetMethod.getName
+      assertMethodParamsMatch(targetMethod, restDefCall.message, List("test", 2): _*)
+    }
+
+    "fail for typed path variables that are not fields of the request" in {
+      val actionWithTwoParams = ComponentDescriptor.descriptorFor(classOf[GetClassLevel], messageCodec)
+      restKalixClient.registerComponent(actionWithTwoParams.serviceDescriptor)
+
+      val exception = intercept[ParsingException] {
+        restKalixClient.runWithoutBody(
+          HttpMethods.GET,
+          "/action/{one}/message/{two}",
+          Map("one" -> "test", "three" -> 2L),
+          Map.empty,
+          classOf[Message])
+      }
+      val targetMethod = actionWithTwoParams.serviceDescriptor.findMethodByName("Message")
+      exception.getMessage shouldBe
+      s"HTTP API path template for [${targetMethod.getFullName}] references an unknown field named [three], methDesc)"
+    }
+
+    "match each path template once until another component is registered" in {
+      val actionWithOneParam = ComponentDescriptor.descriptorFor(classOf[GetWithOneParam], messageCodec)
+      restKalixClient.registerComponent(actionWithOneParam.serviceDescriptor)
+      val targetMethod = actionWithOneParam.serviceDescriptor.findMethodByName("Message")
+
+      def call(param: String) =
+        restKalixClient.runWithoutBody(
+          HttpMethods.GET,
+          "/message/{one_param}",
+          Map("one_param" -> param),
+          Map.empty,
+          classOf[Message])
+
+      restKalixClient.matchedTemplates shouldBe 0
+      assertMethodParamsMatch(targetMethod, call("hello").message, "hello")
+      assertMethodParamsMatch(targetMethod, call("again").message, "again")
+      restKalixClient.matchedTemplates shouldBe 1
+
+      restKalixClient.registerComponent(
+        ComponentDescriptor.descriptorFor(classOf[PostWithoutParam], messageCodec).serviceDescriptor)
+      restKalixClient.matchedTemplates shouldBe 0
+
+      assertMethodParamsMatch(targetMethod, call("after").message, "after")
+      restKalixClient.matchedTemplates shouldBe 1
+    }
   }
 
   private def assertRestDeferredCall[M, R](defCall: DeferredCall[M, R])(
@@ -16,15 +16,19 @@
 
 package kalix.javasdk.impl
 
+import java.util.Optional
+
 import com.google.protobuf.ByteString._
 import com.google.protobuf.any.{ Any => ScalaPbAny }
 import kalix.javasdk.impl.valueentity.TestValueService
 import kalix.javasdk.valueentity.ReflectiveValueEntityProvider
+import kalix.javasdk.valueentity.TestCompressedValueEntity
 import kalix.javasdk.valueentity.TestVEState0
 import kalix.javasdk.valueentity.TestVEState1
 import kalix.javasdk.valueentity.TestVEState2
 import kalix.javasdk.valueentity.TestValueEntity
 import kalix.javasdk.valueentity.TestValueEntityMigration
+import kalix.javasdk.valueentity.ValueEntity
 import kalix.testkit.TestProtocol
 import kalix.testkit.valueentity.ValueEntityMessages
 import org.scalatest.BeforeAndAfterAll
@@ -84,6 +88,18 @@ class ValueEntitiesImplSpec extends AnyWordSpec with Matchers with BeforeAndAfte
       protocol.terminate()
       service.terminate()
     }
+
+    "enable compression of the states of an entity annotated with @Compression" in {
+      val jsonMessageCodec = new JsonMessageCodec()
+      def provider[E <: ValueEntity[TestVEState1]](cls: Class[E], entity: E) =
+        ReflectiveValueEntityProvider.of[TestVEState1, E](cls, jsonMessageCodec, _ => entity)
+
+      val compressed = provider(classOf[TestCompressedValueEntity], new TestCompressedValueEntity())
+      compressed.options().compressionThreshold() shouldBe Optional.of(Int.box(1024))
+
+      val uncompressed = provider(classOf[TestValueEntity], new TestValueEntity())
+      uncompressed.options().compressionThreshold() shouldBe Optional.empty()
+    }
   }
 
   private def emptySyntheticRequest(methodName: String) = {
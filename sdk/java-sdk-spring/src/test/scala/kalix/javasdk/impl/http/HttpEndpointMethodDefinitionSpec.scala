@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.javasdk.impl.http
+
+import scala.jdk.CollectionConverters._
+
+import akka.http.scaladsl.model.IllegalRequestException
+import akka.http.scaladsl.model.ParsingException
+import com.google.api.AnnotationsProto
+import com.google.api.HttpRule
+import com.google.protobuf.DescriptorProtos.DescriptorProto
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto
+import com.google.protobuf.DescriptorProtos.MessageOptions
+import com.google.protobuf.DescriptorProtos.MethodDescriptorProto
+import com.google.protobuf.DescriptorProtos.MethodOptions
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto
+import com.google.protobuf.Descriptors.FileDescriptor
+import com.google.protobuf.DurationProto
+import com.google.protobuf.DynamicMessage
+import com.google.protobuf.TimestampProto
+import com.google.protobuf.util.Durations
+import com.google.protobuf.util.Timestamps
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class HttpEndpointMethodDefinitionSpec extends AnyWordSpec with Matchers {
+  import FieldDescriptorProto.Label._
+  import FieldDescriptorProto.Type._
+
+  private def field(
+      name: String,
+      number: Int,
+      fieldType: FieldDescriptorProto.Type,
+      typeName: String = "",
+      label: FieldDescriptorProto.Label = LABEL_OPTIONAL): FieldDescriptorProto =
+    FieldDescriptorProto
+      .newBuilder()
+      .setName(name)
+      .setNumber(number)
+      .setType(fieldType)
+      .setTypeName(typeName)
+      .setLabel(label)
+      .build()
+
+  // package kalix.test.http;
+  //
+  // message Nested { string name = 1; google.protobuf.Timestamp at = 2; }
+  //
+  // message Request {
+  //   string id = 1;
+  //   int64 count = 2;
+  //   google.protobuf.Timestamp at = 3;
+  //   google.protobuf.Duration timeout = 4;
+  //   repeated string tags = 5;
+  //   Nested nested = 6;
+  //   map<string, string> labels = 7;
+  // }
+  //
+  // service TestService {
+  //   rpc Get(Request) returns (Nested) { option (google.api.http).get = "/things/{id}/{count}"; }
+  // }
+  private val fileDescriptor: FileDescriptor = {
+    val nested = DescriptorProto
+      .newBuilder()
+      .setName("Nested")
+      .addField(field("name", 1, TYPE_STRING))
+      .addField(field("at", 2, TYPE_MESSAGE, ".google.protobuf.Timestamp"))
+
+    val labelsEntry = DescriptorProto
+      .newBuilder()
+      .setName("LabelsEntry")
+      .addField(field("key", 1, TYPE_STRING))
+      .addField(field("value", 2, TYPE_STRING))
+      .setOptions(MessageOptions.newBuilder().setMapEntry(true))
+
+    val request = DescriptorProto
+      .newBuilder()
+      .setName("Request")
+      .addNestedType(labelsEntry)
+      .addField(field("id", 1, TYPE_STRING))
+      .addField(field("count", 2, TYPE_INT64))
+      .addField(field("at", 3, TYPE_MESSAGE, ".google.protobuf.Timestamp"))
+      .addField(field("timeout", 4, TYPE_MESSAGE, ".google.protobuf.Duration"))
+      .addField(field("tags", 5, TYPE_STRING, label = LABEL_REPEATED))
+      .addField(field("nested", 6, TYPE_MESSAGE, ".kalix.test.http.Nested"))
+      .addField(field("labels", 7, TYPE_MESSAGE, ".kalix.test.http.Request.LabelsEntry", LABEL_REPEATED))
+
+    val service = ServiceDescriptorProto
+      .newBuilder()
+      .setName("TestService")
+      .addMethod(
+        MethodDescriptorProto
+          .newBuilder()
+          .setName("Get")
+          .setInputType(".kalix.test.http.Request")
+          .setOutputType(".kalix.test.http.Nested")
+          .setOptions(MethodOptions
+            .newBuilder()
+            .setExtension(AnnotationsProto.http, HttpRule.newBuilder().setGet("/things/{id}/{count}").build())))
+
+    val proto = FileDescriptorProto
+      .newBuilder()
+      .setName("kalix/test/http/endpoint_test.proto")
+      .setPackage("kalix.test.http")
+      .setSyntax("proto3")
+      .addDependency("google/protobuf/timestamp.proto")
+      .addDependency("google/protobuf/duration.proto")
+      .addMessageType(nested)
+      .addMessageType(request)
+      .addService(service)
+      .build()
+
+    FileDescriptor.buildFrom(proto, Array(TimestampProto.getDescriptor, DurationProto.getDescriptor))
+  }
+
+  private val service = fileDescriptor.findServiceByName("TestService")
+  private val requestType = fileDescriptor.findMessageTypeByName("Request")
+
+  private val endpoint: HttpEndpointMethodDefinition = HttpEndpointMethodDefinition.extractForService(service).head
+
+  private def newRequest(): DynamicMessage.Builder = DynamicMessage.newBuilder(requestType)
+
+  private def requestField(name: String) = requestType.findFieldByName(name)
+
+  private def pathError(fieldName: String): String =
+    intercept[ParsingException] {
+      endpoint.parseTypedPathParametersInto(Map(fieldName -> "value"), newRequest())
+    }.getMessage
+
+  private def typedQueryError(params: (String, List[Any])*): String =
+    intercept[IllegalRequestException] {
+      endpoint.parseTypedRequestParametersInto(params.toMap.map { case (k, v) => k -> v.asJava }, newRequest())
+    }.info.summary
+
+  private def queryError(params: (String, List[String])*): String =
+    intercept[IllegalRequestException](endpoint.parseRequestParametersInto(params.toMap, newRequest())).info.summary
+
+  "An HttpEndpointMethodDefinition" should {
+
+    "set typed path variables on the request" in {
+      val request = newRequest()
+      endpoint.parseTypedPathParametersInto(Map("id" -> "abc", "count" -> 42L), request)
+      request.getField(requestField("id")) shouldBe "abc"
+      request.getField(requestField("count")) shouldBe 42L
+    }
+
+    "parse path variables from the path" in {
+      val request = newRequest()
+      endpoint.parsePathParametersInto("/things/abc/42", request)
+      request.getField(requestField("id")) shouldBe "abc"
+      request.getField(requestField("count")) shouldBe 42L
+    }
+
+    "fail typed path variables for unknown, map and repeated fields with the same errors as before" in {
+      val template = "HTTP API path template for [kalix.test.http.TestService.Get]"
+      pathError("missing") shouldBe s"$template references an unknown field named [missing], methDesc)"
+      pathError("labels") shouldBe s"$template references [labels] but that is a map field"
+      pathError("tags") shouldBe s"$template references [tags] but that is a repeated fieldfield"
+    }
+
+    "set typed query parameters on the request" in {
+      val request = newRequest()
+      endpoint.parseTypedRequestParametersInto(
+        Map("id" -> List[Any]("abc").asJava, "tags" -> List[Any]("a", "b").asJava),
+        request)
+      request.getField(requestField("id")) shouldBe "abc"
+      request.getField(requestField("tags")) shouldBe List("a", "b").asJava
+    }
+
+    "fail typed query parameters for unknown, repeated values and message fields" in {
+      typedQueryError("missing" -> List("a")) shouldBe
+      "Query parameter [missing] refers to a non-existent field."
+      typedQueryError("id" -> List("a", "b")) shouldBe
+      "Query parameter [id] has multiple values for a non-repeated field."
+      typedQueryError("at" -> List("a")) shouldBe
+      "Query parameter [at] refers to a message type. Only scalar value types are supported."
+    }
+
+    "parse scalar query parameters" in {
+      val request = newRequest()
+      endpoint.parseRequestParametersInto(Map("count" -> List("7"), "tags" -> List("a", "b")), request)
+      request.getField(requestField("count")) shouldBe 7L
+      request.getField(requestField("tags")) shouldBe List("a", "b").asJava
+    }
+
+    "parse Timestamp and Duration query parameters" in {
+      val request = newRequest()
+      endpoint.parseRequestParametersInto(
+        Map("at" -> List("2024-01-02T03:04:05Z"), "timeout" -> List("1.5s")),
+        request)
+      request.getField(requestField("at")) shouldBe Timestamps.parse("2024-01-02T03:04:05Z")
+      request.getField(requestField("timeout")) shouldBe Durations.parse("1.5s")
+    }
+
+    "fail query parameters with the same errors as before" in {
+      queryError("missing" -> List("a")) shouldBe
+      "Query parameter [missing] refers to a non-existent field."
+      queryError("id" -> List("a", "b")) shouldBe
+      "Query parameter [id] has multiple values for a non-repeated field."
+      queryError("count" -> List("seven")) shouldBe
+      "Malformed query parameter [count]. Expected field of type INT64."
+      queryError("at" -> List("yesterday")) should startWith(
+        "Query parameter [at] refers to a field of message type [kalix.test.http.Request.at], " +
+        "but could not be parsed into that type.")
+      queryError("nested" -> List("a")) shouldBe
+      "Query parameter [nested] refers to a message type. Only scalar value types and message types " +
+      "[google.protobuf.Timestamp, google.protobuf.Duration] are supported."
+    }
+
+    "resolve dotted query parameter selectors to the fields of nested messages" in {
+      queryError("nested.missing" -> List("a")) shouldBe
+      "Query parameter [nested.missing] refers to a non-existent field."
+      queryError("nested.name" -> List("a", "b")) shouldBe
+      "Query parameter [nested.name] has multiple values for a non-repeated field."
+      queryError("nested.at" -> List("yesterday")) should startWith(
+        "Query parameter [nested.at] refers to a field of message type [kalix.test.http.Nested.at]")
+    }
+  }
+}
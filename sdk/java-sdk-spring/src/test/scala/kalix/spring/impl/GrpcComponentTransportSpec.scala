@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import akka.http.scaladsl.model.HttpMethods
+import com.google.protobuf.ByteString
+import com.google.protobuf.any.{ Any => ScalaPbAny }
+import com.google.protobuf.{ Any => JavaPbAny }
+import io.grpc.CallOptions
+import io.grpc.Channel
+import io.grpc.ClientCall
+import io.grpc.MethodDescriptor
+import io.grpc.Status
+import io.grpc.{ Metadata => GrpcMetadata }
+import kalix.javasdk.DeferredCallResponseException
+import kalix.javasdk.HttpResponse
+import kalix.javasdk.JsonSupport
+import kalix.javasdk.StatusCode.ErrorCode
+import kalix.javasdk.impl.ComponentDescriptor
+import kalix.javasdk.impl.JsonMessageCodec
+import kalix.javasdk.impl.MetadataImpl
+import kalix.spring.testmodels.Message
+import kalix.spring.testmodels.action.ActionsTestModels.GetWithoutParam
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.http.codec.ClientCodecConfigurer
+import org.springframework.http.codec.json.Jackson2JsonDecoder
+import org.springframework.web.reactive.function.client.ClientRequest
+import org.springframework.web.reactive.function.client.ClientResponse
+import org.springframework.web.reactive.function.client.WebClient
+import reactor.core.publisher.Mono
+
+object GrpcComponentTransportSpec {
+
+  /** Records the calls made on it and answers each of them with the given reply. */
+  final class FakeChannel(reply: ClientCall.Listener[JavaPbAny] => Unit) extends Channel {
+    val calledMethods = new ConcurrentLinkedQueue[String]()
+    @volatile var headers: GrpcMetadata = _
+    @volatile var sent: ByteString = _
+
+    override def authority(): String = "fake"
+
+    override def newCall[Req, Resp](method: MethodDescriptor[Req, Resp], options: CallOptions): ClientCall[Req, Resp] = {
+      calledMethods.add(method.getFullMethodName)
+      new ClientCall[Req, Resp] {
+        private var listener: ClientCall.Listener[Resp] = _
+
+        override def start(responseListener: ClientCall.Listener[Resp], requestHeaders: GrpcMetadata): Unit = {
+          listener = responseListener
+          headers = requestHeaders
+        }
+        override def request(numMessages: Int): Unit = ()
+        override def cancel(message: String, cause: Throwable): Unit = ()
+        override def sendMessage(message: Req): Unit = sent = message.asInstanceOf[ByteString]
+        override def halfClose(): Unit = reply(listener.asInstanceOf[ClientCall.Listener[JavaPbAny]])
+      }
+    }
+  }
+
+  def replying(value: Any): FakeChannel =
+    new FakeChannel(listener => {
+      listener.onMessage(JsonSupport.encodeJson(value))
+      listener.onClose(Status.OK, new GrpcMetadata())
+    })
+
+  def failing(status: Status): FakeChannel =
+    new FakeChannel(listener => listener.onClose(status, new GrpcMetadata()))
+}
+
+class GrpcComponentTransportSpec extends AnyWordSpec with Matchers {
+  import GrpcComponentTransportSpec._
+
+  private val messageCodec = new JsonMessageCodec
+  private val action = ComponentDescriptor.descriptorFor(classOf[GetWithoutParam], messageCodec)
+  private val method = action.serviceDescriptor.findMethodByName("Message")
+  private val request = ScalaPbAny("type.googleapis.com/kalix.Request", ByteString.copyFromUtf8("request"))
+
+  private def callThrough(channel: Channel): Message =
+    new GrpcComponentTransport(() => channel)
+      .call(method, request, MetadataImpl.Empty, classOf[Message])
+      .toCompletableFuture
+      .get(3, TimeUnit.SECONDS)
+
+  private def failureOf(channel: Channel): Throwable =
+    intercept[ExecutionException](callThrough(channel)).getCause
+
+  "The GrpcComponentTransport" should {
+
+    "only support return types encoded as JSON" in {
+      GrpcComponentTransport.supports(classOf[Message]) shouldBe true
+      GrpcComponentTransport.supports(classOf[String]) shouldBe true
+      GrpcComponentTransport.supports(classOf[HttpResponse]) shouldBe false
+      GrpcComponentTransport.supports(classOf[Array[Byte]]) shouldBe false
+    }
+
+    "send the request bytes and text metadata to the gRPC method of the component" in {
+      val channel = replying(new Message("reply"))
+      new GrpcComponentTransport(() => channel)
+        .call(method, request, MetadataImpl.Empty.add("x-custom", "value"), classOf[Message])
+        .toCompletableFuture
+        .get(3, TimeUnit.SECONDS) shouldBe new Message("reply")
+
+      channel.calledMethods.peek() shouldBe s"${method.getService.getFullName}/${method.getName}"
+      channel.sent shouldBe request.value
+      channel.headers.get(GrpcMetadata.Key.of("x-custom", GrpcMetadata.ASCII_STRING_MARSHALLER)) shouldBe "value"
+    }
+
+    "map a failed status to a DeferredCallResponseException with the corresponding error code" in {
+      val notFound = failureOf(failing(Status.NOT_FOUND.withDescription("no such counter")))
+      notFound shouldBe a[DeferredCallResponseException]
+      notFound.asInstanceOf[DeferredCallResponseException].errorCode shouldBe ErrorCode.NOT_FOUND
+      notFound.asInstanceOf[DeferredCallResponseException].description shouldBe "no such counter"
+
+      val invalid = failureOf(failing(Status.INVALID_ARGUMENT)).asInstanceOf[DeferredCallResponseException]
+      invalid.errorCode shouldBe ErrorCode.BAD_REQUEST
+
+      val unavailable = failureOf(failing(Status.UNAVAILABLE)).asInstanceOf[DeferredCallResponseException]
+      unavailable.errorCode shouldBe ErrorCode.SERVICE_UNAVAILABLE
+    }
+
+    "fail when the call completes without a response" in {
+      failureOf(failing(Status.OK)) shouldBe an[IllegalStateException]
+    }
+  }
+
+  "The RestKalixClientImpl" should {
+
+    def clientWith(transport: Option[Channel], httpRequests: AtomicInteger): RestKalixClientImpl = {
+      val client = new RestKalixClientImpl(messageCodec)
+      client.registerComponent(action.serviceDescriptor)
+      client.setWebClient(
+        WebClient
+          .builder()
+          .codecs((configurer: ClientCodecConfigurer) =>
+            configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(JsonSupport.getObjectMapper)))
+          .exchangeFunction((_: ClientRequest) => {
+            httpRequests.incrementAndGet()
+            Mono.just(
+              ClientResponse
+                .create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("""{"value":"from http"}""")
+                .build())
+          })
+          .build())
+      transport.foreach(channel => client.setGrpcTransport(new GrpcComponentTransport(() => channel)))
+      client
+    }
+
+    def get[R](client: RestKalixClientImpl, returnType: Class[R]): R =
+      client
+        .runWithoutBody(HttpMethods.GET, "/message", Map.empty, Map.empty, returnType)
+        .execute()
+        .toCompletableFuture
+        .get(3, TimeUnit.SECONDS)
+
+    "send calls over HTTP when no gRPC transport is set" in {
+      val httpRequests = new AtomicInteger
+      get(clientWith(None, httpRequests), classOf[Message]) shouldBe new Message("from http")
+      httpRequests.get() shouldBe 1
+    }
+
+    "send calls through the gRPC transport once set" in {
+      val httpRequests = new AtomicInteger
+      val channel = replying(new Message("from grpc"))
+      get(clientWith(Some(channel), httpRequests), classOf[Message]) shouldBe new Message("from grpc")
+      channel.calledMethods.size shouldBe 1
+      httpRequests.get() shouldBe 0
+    }
+
+    "keep sending calls returning an HttpResponse over HTTP" in {
+      val httpRequests = new AtomicInteger
+      val channel = replying(new Message("from grpc"))
+      val response = get(clientWith(Some(channel), httpRequests), classOf[HttpResponse])
+      new String(response.getBody) shouldBe """{"value":"from http"}"""
+      channel.calledMethods shouldBe empty
+      httpRequests.get() shouldBe 1
+    }
+  }
+}
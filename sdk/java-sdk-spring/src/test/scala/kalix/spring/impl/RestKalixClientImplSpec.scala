@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import akka.http.scaladsl.model.HttpMethods
+import kalix.javasdk.JsonSupport
+import kalix.javasdk.impl.ComponentDescriptor
+import kalix.javasdk.impl.JsonMessageCodec
+import kalix.spring.testmodels.Message
+import kalix.spring.testmodels.action.ActionsTestModels.GetWithoutParam
+import kalix.spring.testmodels.view.ViewTestModels.UserByEmailWithGet
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.http.codec.ClientCodecConfigurer
+import org.springframework.http.codec.json.Jackson2JsonDecoder
+import org.springframework.web.reactive.function.client.ClientRequest
+import org.springframework.web.reactive.function.client.ClientResponse
+import org.springframework.web.reactive.function.client.WebClient
+import reactor.core.publisher.Mono
+
+class RestKalixClientImplSpec extends AnyWordSpec with Matchers {
+
+  private val messageCodec = new JsonMessageCodec
+
+  private def clientCaching(paths: String*) =
+    new RestKalixClientImpl(
+      messageCodec,
+      coalesceReads = false,
+      ViewCacheSettings(paths.toSet, Duration.ofSeconds(5), maxEntries = 100))
+
+  private def reply(request: Int): ClientResponse =
+    ClientResponse
+      .create(HttpStatus.OK)
+      .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+      .body(s"""{"value":"reply to request $request"}""")
+      .build()
+
+  // the response to each request is given by its number, starting from 1
+  private def coalescingClient(httpRequests: AtomicInteger)(
+      responseTo: Int => Mono[ClientResponse]): RestKalixClientImpl = {
+    val client = new RestKalixClientImpl(messageCodec, coalesceReads = true)
+    client.registerComponent(ComponentDescriptor.descriptorFor(classOf[GetWithoutParam], messageCodec).serviceDescriptor)
+    client.setWebClient(
+      WebClient
+        .builder()
+        .codecs((configurer: ClientCodecConfigurer) =>
+          configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(JsonSupport.getObjectMapper)))
+        .exchangeFunction((_: ClientRequest) => responseTo(httpRequests.incrementAndGet()))
+        .build())
+    client
+  }
+
+  private def getMessage(client: RestKalixClientImpl) =
+    client.runWithoutBody(HttpMethods.GET, "/message", Map.empty, Map.empty, classOf[Message])
+
+  private def resultOf[R](stage: CompletionStage[R]): R =
+    stage.toCompletableFuture.get(3, TimeUnit.SECONDS)
+
+  "RestKalixClientImpl" should {
+
+    "coalesce identical concurrent reads" in {
+      val httpRequests = new AtomicInteger
+      val released = new CompletableFuture[Unit]()
+      val client = coalescingClient(httpRequests)(request => Mono.fromFuture(released).map(_ => reply(request)))
+
+      val first = getMessage(client).execute()
+      val second = getMessage(client).execute()
+      released.complete(())
+
+      resultOf(first) shouldBe new Message("reply to request 1")
+      resultOf(second) shouldBe new Message("reply to request 1")
+      httpRequests.get() shouldBe 1
+    }
+
+    "not coalesce the hedged attempt of a read with its first attempt" in {
+      val httpRequests = new AtomicInteger
+      val client = coalescingClient(httpRequests) { request =>
+        if (request == 1) Mono.never[ClientResponse]() else Mono.just(reply(request))
+      }
+
+      val result = getMessage(client).withHedging(Duration.ofMillis(50)).execute()
+
+      resultOf(result) shouldBe new Message("reply to request 2")
+      httpRequests.get() shouldBe 2
+    }
+
+    "accept View query endpoints in the view cache paths" in {
+      val client = clientCaching("/users/{email}")
+      val view = ComponentDescriptor.descriptorFor(classOf[UserByEmailWithGet], messageCodec)
+      noException should be thrownBy client.registerComponent(view.serviceDescriptor)
+    }
+
+    "reject other endpoints in the view cache paths" in {
+      val client = clientCaching("/message")
+      val action = ComponentDescriptor.descriptorFor(classOf[GetWithoutParam], messageCodec)
+      val exception = intercept[IllegalArgumentException](client.registerComponent(action.serviceDescriptor))
+      exception.getMessage should include("[/message]")
+      exception.getMessage should include("not a View query endpoint")
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.time.Duration
+import java.util
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import kalix.javasdk.client.ViewCacheStats
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class ResultCacheSpec extends AnyWordSpec with Matchers {
+
+  private class ManualClock {
+    var nanos = 0L
+    def advance(duration: Duration): Unit = nanos += duration.toNanos
+  }
+
+  private def cache(maxEntries: Int = 10, clock: ManualClock = new ManualClock) =
+    new ResultCache[String](Duration.ofSeconds(5), maxEntries, () => clock.nanos)
+
+  private def get[R](cache: ResultCache[String], key: String)(call: => R): R =
+    cache(key)(CompletableFuture.completedFuture(call)).toCompletableFuture.get(3, TimeUnit.SECONDS)
+
+  "ResultCache" should {
+
+    "give each cache hit its own copy of the result" in {
+      val resultCache = cache()
+      val copier = ResultCopier.forType(classOf[util.ArrayList[String]])
+      def getList(): util.ArrayList[String] =
+        resultCache("key", copier)(CompletableFuture.completedFuture(new util.ArrayList(util.List.of("a", "b"))))
+          .toCompletableFuture
+          .get(3, TimeUnit.SECONDS)
+
+      getList().add("changed by the first caller")
+      val hit = getList()
+      hit shouldBe util.List.of("a", "b")
+      hit.clear()
+      getList() shouldBe util.List.of("a", "b")
+      resultCache.stats.hits shouldBe 2
+    }
+
+    "serve a cached result for the same key" in {
+      val resultCache = cache()
+      val calls = new AtomicInteger(0)
+
+      get(resultCache, "key")(calls.incrementAndGet()) shouldBe 1
+      get(resultCache, "key")(calls.incrementAndGet()) shouldBe 1
+      get(resultCache, "other")(calls.incrementAndGet()) shouldBe 2
+
+      resultCache.stats shouldBe ViewCacheStats(hits = 1, misses = 2, evictions = 0, size = 2)
+    }
+
+    "execute the call again once the cached result expired" in {
+      val clock = new ManualClock
+      val resultCache = cache(clock = clock)
+      val calls = new AtomicInteger(0)
+
+      get(resultCache, "key")(calls.incrementAndGet()) shouldBe 1
+      clock.advance(Duration.ofSeconds(4))
+      get(resultCache, "key")(calls.incrementAndGet()) shouldBe 1
+      clock.advance(Duration.ofSeconds(1))
+      get(resultCache, "key")(calls.incrementAndGet()) shouldBe 2
+    }
+
+    "not cache failed calls" in {
+      val resultCache = cache()
+
+      resultCache("key")(CompletableFuture.failedFuture[String](new RuntimeException("boom")))
+        .toCompletableFuture
+        .isCompletedExceptionally shouldBe true
+      get(resultCache, "key")("result") shouldBe "result"
+      resultCache.stats.misses shouldBe 2
+    }
+
+    "keep frequently requested results when full" in {
+      val resultCache = cache(maxEntries = 2)
+      val calls = new AtomicInteger(0)
+
+      (1 to 5).foreach(_ => get(resultCache, "frequent-1")(calls.incrementAndGet()))
+      (1 to 5).foreach(_ => get(resultCache, "frequent-2")(calls.incrementAndGet()))
+      calls.get() shouldBe 2
+
+      // requested once, not admitted in place of the least recently used frequent result
+      (1 to 20).foreach(i => get(resultCache, s"one-off-$i")(calls.incrementAndGet()))
+
+      get(resultCache, "frequent-1")(calls.incrementAndGet()) shouldBe 1
+      get(resultCache, "frequent-2")(calls.incrementAndGet()) shouldBe 2
+      resultCache.stats.size shouldBe 2
+    }
+
+    "replace the least recently used result by a more frequently requested one" in {
+      val resultCache = cache(maxEntries = 1)
+      val calls = new AtomicInteger(0)
+
+      get(resultCache, "old")(calls.incrementAndGet()) shouldBe 1
+      // not admitted on the first requests, admitted once requested more often than the cached one
+      (1 to 3).foreach(_ => get(resultCache, "new")(calls.incrementAndGet()))
+      get(resultCache, "new")(calls.incrementAndGet()) shouldBe calls.get()
+
+      resultCache.stats.evictions shouldBe 1
+      resultCache.stats.size shouldBe 1
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.util
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class SingleFlightSpec extends AnyWordSpec with Matchers {
+
+  "SingleFlight" should {
+
+    "share one in-flight call between identical concurrent calls" in {
+      val singleFlight = new SingleFlight[String]
+      val calls = new AtomicInteger(0)
+      val underlying = new CompletableFuture[String]()
+
+      val first = singleFlight("key") { calls.incrementAndGet(); underlying }
+      val second = singleFlight("key") { calls.incrementAndGet(); underlying }
+      singleFlight.inFlightCount shouldBe 1
+
+      underlying.complete("result")
+      first.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      second.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      calls.get() shouldBe 1
+      singleFlight.inFlightCount shouldBe 0
+    }
+
+    "not share calls with different keys" in {
+      val singleFlight = new SingleFlight[String]
+      val calls = new AtomicInteger(0)
+
+      singleFlight("a") { calls.incrementAndGet(); new CompletableFuture[String]() }
+      singleFlight("b") { calls.incrementAndGet(); new CompletableFuture[String]() }
+
+      calls.get() shouldBe 2
+    }
+
+    "execute the call again once the previous one completed" in {
+      val singleFlight = new SingleFlight[String]
+      val calls = new AtomicInteger(0)
+
+      singleFlight("key") { CompletableFuture.completedFuture(calls.incrementAndGet()) }
+        .toCompletableFuture
+        .get(3, TimeUnit.SECONDS) shouldBe 1
+      singleFlight("key") { CompletableFuture.completedFuture(calls.incrementAndGet()) }
+        .toCompletableFuture
+        .get(3, TimeUnit.SECONDS) shouldBe 2
+    }
+
+    "give each caller its own copy of the result" in {
+      val singleFlight = new SingleFlight[String]
+      val copier = ResultCopier.forType(classOf[util.ArrayList[String]])
+      val underlying = new CompletableFuture[util.ArrayList[String]]()
+
+      val first = singleFlight("key", copier)(underlying)
+      val second = singleFlight("key", copier)(underlying)
+      val third = singleFlight("key", copier)(underlying)
+      underlying.complete(new util.ArrayList(util.List.of("a", "b")))
+
+      val firstResult = first.toCompletableFuture.get(3, TimeUnit.SECONDS)
+      firstResult.add("changed by first")
+      val secondResult = second.toCompletableFuture.get(3, TimeUnit.SECONDS)
+      secondResult.clear()
+
+      secondResult should not be theSameInstanceAs(firstResult)
+      third.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe util.List.of("a", "b")
+    }
+
+    "only copy the result when another caller joined" in {
+      val singleFlight = new SingleFlight[String]
+      val freezes = new AtomicInteger(0)
+      val countingCopier = new ResultCopier[String] {
+        override def freeze(value: String): Any = { freezes.incrementAndGet(); value }
+        override def thaw(frozen: Any): String = frozen.asInstanceOf[String]
+      }
+
+      val alone = new CompletableFuture[String]()
+      val aloneResult = singleFlight("alone", countingCopier)(alone)
+      alone.complete("result")
+      aloneResult.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      freezes.get() shouldBe 0
+
+      val joined = new CompletableFuture[String]()
+      val first = singleFlight("joined", countingCopier)(joined)
+      val second = singleFlight("joined", countingCopier)(joined)
+      val third = singleFlight("joined", countingCopier)(joined)
+      joined.complete("result")
+      first.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      second.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      third.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      freezes.get() shouldBe 1
+    }
+
+    "fail only the joining callers when the result can't be copied" in {
+      val singleFlight = new SingleFlight[String]
+      val failingCopier = new ResultCopier[String] {
+        override def freeze(value: String): Any = throw new IllegalStateException("not copyable")
+        override def thaw(frozen: Any): String = frozen.asInstanceOf[String]
+      }
+      val underlying = new CompletableFuture[String]()
+
+      val first = singleFlight("key", failingCopier)(underlying)
+      val second = singleFlight("key", failingCopier)(underlying)
+      underlying.complete("result")
+
+      first.toCompletableFuture.get(3, TimeUnit.SECONDS) shouldBe "result"
+      second.toCompletableFuture.isCompletedExceptionally shouldBe true
+      singleFlight.inFlightCount shouldBe 0
+    }
+
+    "propagate failures to all callers and remove the failed call" in {
+      val singleFlight = new SingleFlight[String]
+      val underlying = new CompletableFuture[String]()
+
+      val first = singleFlight("key")(underlying)
+      val second = singleFlight("key")(underlying)
+      underlying.completeExceptionally(new RuntimeException("boom"))
+
+      first.toCompletableFuture.isCompletedExceptionally shouldBe true
+      second.toCompletableFuture.isCompletedExceptionally shouldBe true
+      singleFlight.inFlightCount shouldBe 0
+    }
+  }
+}
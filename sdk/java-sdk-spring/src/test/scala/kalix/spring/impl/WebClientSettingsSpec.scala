@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.spring.impl
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+import com.typesafe.config.ConfigFactory
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class WebClientSettingsSpec extends AnyWordSpec with Matchers {
+
+  private def settings(overrides: String) =
+    WebClientSettings(ConfigFactory.parseString(overrides).withFallback(ConfigFactory.load()))
+
+  "The WebClientSettings" should {
+
+    "read the defaults from the reference configuration" in {
+      WebClientSettings(ConfigFactory.load()) shouldBe WebClientSettings(
+        maxConnections = 0,
+        pendingAcquireMaxCount = 0,
+        pendingAcquireTimeout = Duration.ofSeconds(45),
+        maxIdleTime = Duration.ofSeconds(30),
+        evictInBackground = Duration.ofSeconds(30),
+        disposeInactivePoolsAfter = Duration.ofMinutes(10),
+        http2 = false,
+        compression = false,
+        eventLoopThreads = 0,
+        maxCachedClients = 256)
+    }
+
+    "read the configured pool settings" in {
+      val configured = settings("""
+        kalix.web-client {
+          connection-pool {
+            max-connections = 50
+            pending-acquire-max-count = -1
+            pending-acquire-timeout = 2s
+            max-idle-time = 10s
+            evict-in-background = 0s
+            dispose-inactive-pools-after = 0s
+          }
+          http2 = on
+          compression = on
+          event-loop-threads = 4
+          max-cached-clients = 10
+        }""")
+
+      configured.maxConnections shouldBe 50
+      configured.pendingAcquireMaxCount shouldBe -1
+      configured.pendingAcquireTimeout shouldBe Duration.ofSeconds(2)
+      configured.maxIdleTime shouldBe Duration.ofSeconds(10)
+      configured.evictInBackground shouldBe Duration.ZERO
+      configured.disposeInactivePoolsAfter shouldBe Duration.ZERO
+      configured.http2 shouldBe true
+      configured.compression shouldBe true
+      configured.eventLoopThreads shouldBe 4
+      configured.maxCachedClients shouldBe 10
+    }
+
+    "reject invalid pool settings" in {
+      intercept[IllegalArgumentException](settings("kalix.web-client.connection-pool.max-connections = -1"))
+      intercept[IllegalArgumentException](settings("kalix.web-client.connection-pool.pending-acquire-max-count = -2"))
+      intercept[IllegalArgumentException](settings("kalix.web-client.event-loop-threads = -1"))
+      intercept[IllegalArgumentException](settings("kalix.web-client.max-cached-clients = 0"))
+    }
+  }
+
+  "The ClientCache" should {
+
+    "create one client per key" in {
+      val cache = new ClientCache[String](maxEntries = 10)
+      val created = new AtomicInteger
+
+      cache.getOrCreate("a")(s"a-${created.incrementAndGet()}") shouldBe "a-1"
+      cache.getOrCreate("a")(s"a-${created.incrementAndGet()}") shouldBe "a-1"
+      cache.getOrCreate("b")(s"b-${created.incrementAndGet()}") shouldBe "b-2"
+      created.get() shouldBe 2
+    }
+
+    "drop the least recently used client when full" in {
+      val cache = new ClientCache[String](maxEntries = 2)
+      cache.getOrCreate("a")("a-1")
+      cache.getOrCreate("b")("b-1")
+      cache.getOrCreate("a")("a-2") shouldBe "a-1"
+      cache.getOrCreate("c")("c-1")
+
+      cache.size shouldBe 2
+      cache.getOrCreate("a")("a-2") shouldBe "a-1"
+      cache.getOrCreate("b")("b-2") shouldBe "b-2"
+    }
+  }
+}
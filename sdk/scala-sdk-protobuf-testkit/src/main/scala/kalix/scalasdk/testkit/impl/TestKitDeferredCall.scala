@@ -23,6 +23,8 @@ import kalix.scalasdk.impl.MetadataConverters
 import kalix.scalasdk.testkit.DeferredCallDetails
 
 import scala.concurrent.Future
+import scala.concurrent.duration.FiniteDuration
+import scala.jdk.DurationConverters._
 
 final case class TestKitDeferredCall[I, O](deferredCall: GrpcDeferredCall[I, O]) extends DeferredCallDetails[I, O] {
   // public API for inspection
@@ -36,4 +38,13 @@ final case class TestKitDeferredCall[I, O](deferredCall: GrpcDeferredCall[I, O])
   override def withMetadata(metadata: Metadata): DeferredCall[I, O] = {
     TestKitDeferredCall(deferredCall.withMetadata(metadata.impl))
   }
+
+  override def withTimeout(timeout: FiniteDuration): DeferredCall[I, O] =
+    TestKitDeferredCall(deferredCall.withTimeout(timeout.toJava))
+
+  override def withRetry(maxRetries: Int, delay: FiniteDuration): DeferredCall[I, O] =
+    TestKitDeferredCall(deferredCall.withRetry(maxRetries, delay.toJava))
+
+  override def withHedging(hedgeDelay: FiniteDuration): DeferredCall[I, O] =
+    TestKitDeferredCall(deferredCall.withHedging(hedgeDelay.toJava))
 }
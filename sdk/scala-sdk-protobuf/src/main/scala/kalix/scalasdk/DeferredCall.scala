@@ -16,7 +16,12 @@
 
 package kalix.scalasdk
 
+import scala.concurrent.Await
 import scala.concurrent.Future
+import scala.concurrent.duration.Duration
+import scala.concurrent.duration.FiniteDuration
+
+import kalix.javasdk.impl.VirtualThreadExecutorConfigurator
 
 /**
  * Represents a call to a component service that has not yet happened, but will be handed to Kalix for execution. Used
@@ -47,8 +52,50 @@ trait DeferredCall[I, O] {
    */
   def execute(): Future[O]
 
+  /**
+   * Execute this call right away and wait for the result. Blocks the calling thread, so should only be used from
+   * components running on virtual threads, see `kalix.system.virtual-thread-dispatcher` in the reference configuration,
+   * or on another dispatcher dedicated to blocking calls. A warning is logged the first time it is called on a thread
+   * that is not a virtual thread.
+   *
+   * A failed call throws the exception it failed with.
+   */
+  def executeBlocking(): O = {
+    VirtualThreadExecutorConfigurator.checkBlockingCall("DeferredCall.executeBlocking()")
+    Await.result(execute(), Duration.Inf)
+  }
+
   /**
    * Update with given metadata
    */
   def withMetadata(metadata: Metadata): DeferredCall[I, O]
+
+  /**
+   * Limit how long `execute()` waits for a reply. Each attempt, including retries and hedged attempts, fails with a
+   * `java.util.concurrent.TimeoutException` if no reply arrived within the timeout.
+   *
+   * Only applies when the call is executed right away, not when it is used as a forward or a side effect. The default
+   * implementation ignores the timeout and returns this call unchanged, the calls created by the SDK override it.
+   */
+  def withTimeout(timeout: FiniteDuration): DeferredCall[I, O] = this
+
+  /**
+   * Retry a failed `execute()` up to `maxRetries` times, waiting `delay` between attempts. Only errors that may succeed
+   * on a new attempt, such as timeouts or an unavailable service, are retried. Should only be used for idempotent
+   * calls.
+   *
+   * Only applies when the call is executed right away, not when it is used as a forward or a side effect. The default
+   * implementation ignores the retry policy and returns this call unchanged, the calls created by the SDK override it.
+   */
+  def withRetry(maxRetries: Int, delay: FiniteDuration): DeferredCall[I, O] = this
+
+  /**
+   * Issue a second, identical, attempt if `execute()` did not complete within `hedgeDelay`. The first successful reply
+   * is used and the other attempt is cancelled. Should only be used for idempotent calls, since both attempts may reach
+   * the called component.
+   *
+   * Only applies when the call is executed right away, not when it is used as a forward or a side effect. The default
+   * implementation ignores the hedging and returns this call unchanged, the calls created by the SDK override it.
+   */
+  def withHedging(hedgeDelay: FiniteDuration): DeferredCall[I, O] = this
 }
@@ -22,12 +22,20 @@ import kalix.scalasdk.impl.ComponentOptions
 
 object ActionOptions {
 
-  def defaults: ActionOptions = ActionOptionsImpl(Set.empty)
+  def defaults: ActionOptions = ActionOptionsImpl(Set.empty, None)
 
-  private[kalix] final case class ActionOptionsImpl(forwardHeaders: Set[String]) extends ActionOptions {
+  private[kalix] final case class ActionOptionsImpl(
+      forwardHeaders: Set[String],
+      override val concurrencyLimit: Option[Int])
+      extends ActionOptions {
 
     override def withForwardHeaders(headers: Set[String]): ActionOptions =
       copy(forwardHeaders = headers)
+
+    override def withConcurrencyLimit(maxConcurrency: Int): ActionOptions = {
+      require(maxConcurrency > 0, s"maxConcurrency must be positive, was [$maxConcurrency]")
+      copy(concurrencyLimit = Some(maxConcurrency))
+    }
   }
 }
 trait ActionOptions extends ComponentOptions {
@@ -37,4 +45,18 @@ trait ActionOptions extends ComponentOptions {
    * default no headers except "X-Server-Timing" are forwarded.
    */
   override def withForwardHeaders(headers: Set[String]): ActionOptions
+
+  /** The maximum number of concurrent requests, if limited with `withConcurrencyLimit`. */
+  def concurrencyLimit: Option[Int] = None
+
+  /**
+   * Limit the number of unary requests the action handles concurrently. The actual limit adapts to the latency of the
+   * action, shrinking when requests start to queue up and latencies grow, and growing up to `maxConcurrency` as long as
+   * latencies stay stable. Requests over the limit are rejected right away with the gRPC status `UNAVAILABLE`, so that
+   * they can be retried, instead of adding to the latency of all requests.
+   *
+   * The default implementation ignores the limit and returns these options unchanged, the options created by
+   * `ActionOptions.defaults` override it.
+   */
+  def withConcurrencyLimit(maxConcurrency: Int): ActionOptions = this
 }
@@ -36,6 +36,29 @@ trait EventSourcedEntityOptions extends EntityOptions {
    */
   def withSnapshotEvery(numberOfEvents: Int): EventSourcedEntityOptions
 
+  /** The snapshot policy of the entity, if one was set with `withSnapshotPolicy`. */
+  def snapshotPolicy: Option[SnapshotPolicy]
+
+  /**
+   * Specifies when snapshots of the entity state should be made, based on the number, the size of the events or the
+   * time it takes to apply them. Takes precedence over `withSnapshotEvery` and the default from the configuration file.
+   */
+  def withSnapshotPolicy(snapshotPolicy: SnapshotPolicy): EventSourcedEntityOptions
+
+  /** The size in bytes from which events and snapshots are compressed, if enabled with `withCompression`. */
+  def compressionThreshold: Option[Int]
+
+  /**
+   * Compress events and snapshots of at least the given size in bytes before sending them to Kalix, to reduce storage
+   * and network usage. Compressed payloads are transparently decompressed when read by the entity itself.
+   *
+   * Compressed events are stored with a different type url (with a `;deflate` suffix) and can not be read by anything
+   * else: views and subscriptions consuming the events of the entity, in this service or in other services, no longer
+   * match or decode them, and neither can Kalix itself. Only enable this for entities whose events are not consumed
+   * elsewhere.
+   */
+  def withCompression(thresholdBytes: Int): EventSourcedEntityOptions
+
   @deprecated(message = "passivation strategy is ignored", since = "1.1.4")
   override def withPassivationStrategy(strategy: PassivationStrategy): EventSourcedEntityOptions
   override def withForwardHeaders(headers: Set[String]): EventSourcedEntityOptions
@@ -50,22 +73,32 @@ object EventSourcedEntityOptions {
    *   the entity option
    */
   def defaults: EventSourcedEntityOptions = {
-    EventSourcedEntityOptionsImpl(0, PassivationStrategy.defaultTimeout, Set.empty)
+    EventSourcedEntityOptionsImpl(0, PassivationStrategy.defaultTimeout, Set.empty, None, None)
   }
 
   private[kalix] final case class EventSourcedEntityOptionsImpl(
       override val snapshotEvery: Int,
       override val passivationStrategy: PassivationStrategy,
-      override val forwardHeaders: Set[String])
+      override val forwardHeaders: Set[String],
+      override val compressionThreshold: Option[Int],
+      override val snapshotPolicy: Option[SnapshotPolicy])
       extends EventSourcedEntityOptions {
 
     override def withSnapshotEvery(numberOfEvents: Int): EventSourcedEntityOptions =
       copy(snapshotEvery = numberOfEvents)
 
+    override def withSnapshotPolicy(snapshotPolicy: SnapshotPolicy): EventSourcedEntityOptions =
+      copy(snapshotPolicy = Some(snapshotPolicy))
+
     override def withPassivationStrategy(strategy: PassivationStrategy): EventSourcedEntityOptions =
       copy(passivationStrategy = strategy)
 
     override def withForwardHeaders(headers: Set[String]): EventSourcedEntityOptions =
       copy(forwardHeaders = headers)
+
+    override def withCompression(thresholdBytes: Int): EventSourcedEntityOptions = {
+      require(thresholdBytes >= 0, s"thresholdBytes must not be negative, was [$thresholdBytes]")
+      copy(compressionThreshold = Some(thresholdBytes))
+    }
   }
 }
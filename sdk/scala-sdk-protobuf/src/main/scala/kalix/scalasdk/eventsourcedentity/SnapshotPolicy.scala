@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.eventsourcedentity
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+ * Decides when a snapshot of the state of an event sourced entity should be stored, to bound the cost of recovering
+ * the entity. The policy is consulted after each command that persisted events.
+ *
+ * Policies can be combined with `or`, for example to snapshot after 100 events or 1 MB of events, whatever comes
+ * first:
+ * {{{
+ * EventSourcedEntityOptions.defaults
+ *   .withSnapshotPolicy(SnapshotPolicy.everyEvents(100).or(SnapshotPolicy.everyEventBytes(1024 * 1024)))
+ * }}}
+ */
+trait SnapshotPolicy {
+
+  /** @return true if the current state should be stored as a snapshot */
+  def shouldSnapshot(stats: SnapshotPolicy.Stats): Boolean
+
+  /** @return A policy that snapshots when either this or the other policy asks for it */
+  def or(other: SnapshotPolicy): SnapshotPolicy =
+    stats => shouldSnapshot(stats) || other.shouldSnapshot(stats)
+}
+
+object SnapshotPolicy {
+
+  /** Statistics about the events of an entity instance since its last snapshot. */
+  trait Stats {
+
+    /** @return The sequence number of the last persisted event */
+    def sequenceNumber: Long
+
+    /** @return The number of events persisted since the last snapshot */
+    def eventsSinceSnapshot: Long
+
+    /**
+     * @return
+     *   The serialized size of the events persisted since the last snapshot, as far as known by this entity instance
+     */
+    def eventBytesSinceSnapshot: Long
+
+    /**
+     * @return
+     *   The time spent in the event handler applying the events since the last snapshot, as far as known by this
+     *   entity instance. This approximates the time it takes to recover the entity from its last snapshot.
+     */
+    def replayTime: FiniteDuration
+  }
+
+  /** Snapshot once the given number of events were persisted since the last snapshot. */
+  def everyEvents(numberOfEvents: Int): SnapshotPolicy = {
+    require(numberOfEvents > 0, s"numberOfEvents must be positive, was [$numberOfEvents]")
+    stats => stats.eventsSinceSnapshot >= numberOfEvents
+  }
+
+  /** Snapshot once the serialized size of the events since the last snapshot reaches the given number of bytes. */
+  def everyEventBytes(bytes: Long): SnapshotPolicy = {
+    require(bytes > 0, s"bytes must be positive, was [$bytes]")
+    stats => stats.eventBytesSinceSnapshot >= bytes
+  }
+
+  /**
+   * Snapshot once applying the events since the last snapshot took longer than the given threshold, for entities with
+   * expensive event handlers.
+   */
+  def whenReplayTimeExceeds(threshold: FiniteDuration): SnapshotPolicy = {
+    require(threshold.length >= 0, s"threshold must not be negative, was [$threshold]")
+    stats => stats.replayTime > threshold
+  }
+
+  /** Never snapshot. Not recommended unless the entities are known to only ever have a few events. */
+  def never: SnapshotPolicy = _ => false
+}
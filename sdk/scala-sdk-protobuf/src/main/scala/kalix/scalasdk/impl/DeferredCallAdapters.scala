@@ -21,6 +21,8 @@ import kalix.scalasdk.DeferredCall
 import kalix.scalasdk.Metadata
 import kalix.scalasdk.SideEffect
 import scala.concurrent.Future
+import scala.concurrent.duration.FiniteDuration
+import scala.jdk.DurationConverters._
 import scala.jdk.FutureConverters._
 
 /**
@@ -56,6 +58,15 @@ private[scalasdk] final case class ScalaDeferredCallAdapter[I, O](javaSdkDeferre
   override def withMetadata(metadata: Metadata): ScalaDeferredCallAdapter[I, O] = {
     ScalaDeferredCallAdapter(javaSdkDeferredCall.withMetadata(metadata.impl))
   }
+
+  override def withTimeout(timeout: FiniteDuration): ScalaDeferredCallAdapter[I, O] =
+    ScalaDeferredCallAdapter(javaSdkDeferredCall.withTimeout(timeout.toJava))
+
+  override def withRetry(maxRetries: Int, delay: FiniteDuration): ScalaDeferredCallAdapter[I, O] =
+    ScalaDeferredCallAdapter(javaSdkDeferredCall.withRetry(maxRetries, delay.toJava))
+
+  override def withHedging(hedgeDelay: FiniteDuration): ScalaDeferredCallAdapter[I, O] =
+    ScalaDeferredCallAdapter(javaSdkDeferredCall.withHedging(hedgeDelay.toJava))
 }
 
 private[scalasdk] object ScalaSideEffectAdapter {
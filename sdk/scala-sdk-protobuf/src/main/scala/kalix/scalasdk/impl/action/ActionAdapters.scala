@@ -33,6 +33,7 @@ import com.google.protobuf.Descriptors
 
 import java.util.Optional
 import scala.jdk.CollectionConverters.SetHasAsJava
+import scala.jdk.OptionConverters.RichOption
 import scala.jdk.OptionConverters.RichOptional
 
 private[scalasdk] final case class JavaActionAdapter(scalaSdkAction: Action) extends javasdk.action.Action {
@@ -46,7 +47,9 @@ private[scalasdk] final case class JavaActionProviderAdapter[A <: Action](scalaS
     extends javasdk.action.ActionProvider[javasdk.action.Action] {
 
   override def options(): javasdk.action.ActionOptions =
-    ActionOptionsImpl(scalaSdkProvider.options.forwardHeaders.asJava)
+    ActionOptionsImpl(
+      scalaSdkProvider.options.forwardHeaders.asJava,
+      scalaSdkProvider.options.concurrencyLimit.map(Int.box).toJava)
 
   override def newRouter(
       javaSdkContext: javasdk.action.ActionCreationContext): javasdk.impl.action.ActionRouter[javasdk.action.Action] = {
@@ -26,6 +26,7 @@ import kalix.javasdk.eventsourcedentity.{ EventSourcedEntity => JavaSdkEventSour
 import kalix.javasdk.eventsourcedentity.{ EventSourcedEntityContext => JavaSdkEventSourcedEntityContext }
 import kalix.javasdk.eventsourcedentity.{ EventSourcedEntityOptions => JavaSdkEventSourcedEntityOptions }
 import kalix.javasdk.eventsourcedentity.{ EventSourcedEntityProvider => JavaSdkEventSourcedEntityProvider }
+import kalix.javasdk.eventsourcedentity.SnapshotPolicy
 import kalix.javasdk.impl.eventsourcedentity.{ EventSourcedEntityRouter => JavaSdkEventSourcedEntityRouter }
 import kalix.scalasdk.eventsourcedentity.CommandContext
 import kalix.scalasdk.eventsourcedentity.EventContext
@@ -45,13 +46,28 @@ import scala.jdk.OptionConverters._
 private[scalasdk] final class JavaEventSourcedEntityAdapter[S](scalaSdkEventSourcedEntity: EventSourcedEntity[S])
     extends JavaSdkEventSourcedEntity[S, Any] {
 
+  // the adapter for the context of the current command, shared by the command handler and the side effects, which
+  // each set the same context, rather than created each time, adapters are never rebound to another command
+  private var commandContext: Option[JavaCommandContextAdapter] = None
+
   override def emptyState(): S = scalaSdkEventSourcedEntity.emptyState
 
   override def _internalSetEventContext(context: Optional[JavaSdkEventContext]): Unit =
     scalaSdkEventSourcedEntity._internalSetEventContext(context.map(new JavaEventContextAdapter(_)).toScala)
 
   override def _internalSetCommandContext(context: Optional[JavaSdkCommandContext]): Unit =
-    scalaSdkEventSourcedEntity._internalSetCommandContext(context.map(new JavaCommandContextAdapter(_)).toScala)
+    if (context.isPresent) {
+      commandContextFor(context.get)
+      scalaSdkEventSourcedEntity._internalSetCommandContext(commandContext)
+    } else {
+      scalaSdkEventSourcedEntity._internalSetCommandContext(None)
+    }
+
+  def commandContextFor(context: JavaSdkCommandContext): CommandContext = {
+    if (commandContext.forall(_.javaSdkContext ne context))
+      commandContext = Some(new JavaCommandContextAdapter(context))
+    commandContext.get
+  }
 
 }
 
@@ -81,28 +97,43 @@ private[scalasdk] final class JavaEventSourcedEntityOptionsAdapter(
     scalaSdkEventSourcedEntityOptions: EventSourcedEntityOptions)
     extends JavaSdkEventSourcedEntityOptions {
 
+  private def withScalaSdkOptions(options: EventSourcedEntityOptions) =
+    new JavaEventSourcedEntityOptionsAdapter(options)
+
   def forwardHeaders(): java.util.Set[String] = scalaSdkEventSourcedEntityOptions.forwardHeaders.asJava
 
   def snapshotEvery(): Int = scalaSdkEventSourcedEntityOptions.snapshotEvery
 
-  def withSnapshotEvery(numberOfEvents: Int) = new JavaEventSourcedEntityOptionsAdapter(
-    scalaSdkEventSourcedEntityOptions.withSnapshotEvery(numberOfEvents))
+  def withSnapshotEvery(numberOfEvents: Int) =
+    withScalaSdkOptions(scalaSdkEventSourcedEntityOptions.withSnapshotEvery(numberOfEvents))
+
+  override def snapshotPolicy(): Optional[SnapshotPolicy] =
+    scalaSdkEventSourcedEntityOptions.snapshotPolicy.map(SnapshotPolicyConverters.toJava).toJava
+
+  def withSnapshotPolicy(snapshotPolicy: SnapshotPolicy): JavaSdkEventSourcedEntityOptions =
+    withScalaSdkOptions(
+      scalaSdkEventSourcedEntityOptions.withSnapshotPolicy(SnapshotPolicyConverters.toScala(snapshotPolicy)))
+
+  override def compressionThreshold(): Optional[Integer] =
+    scalaSdkEventSourcedEntityOptions.compressionThreshold.map(Int.box).toJava
+
+  def withCompression(thresholdBytes: Int): JavaSdkEventSourcedEntityOptions =
+    withScalaSdkOptions(scalaSdkEventSourcedEntityOptions.withCompression(thresholdBytes))
 
   def withForwardHeaders(headers: java.util.Set[String]): JavaSdkEventSourcedEntityOptions =
-    new JavaEventSourcedEntityOptionsAdapter(
-      scalaSdkEventSourcedEntityOptions.withForwardHeaders(Set.from(headers.asScala)))
+    withScalaSdkOptions(scalaSdkEventSourcedEntityOptions.withForwardHeaders(Set.from(headers.asScala)))
 
   def passivationStrategy(): javasdk.PassivationStrategy =
     PassivationStrategyConverters.toJava(scalaSdkEventSourcedEntityOptions.passivationStrategy)
 
   def withPassivationStrategy(passivationStrategy: javasdk.PassivationStrategy): JavaSdkEventSourcedEntityOptions =
-    new JavaEventSourcedEntityOptionsAdapter(
+    withScalaSdkOptions(
       scalaSdkEventSourcedEntityOptions.withPassivationStrategy(
         PassivationStrategyConverters.toScala(passivationStrategy)))
 }
 
 private[scalasdk] final class JavaEventSourcedEntityRouterAdapter[S](
-    javaSdkEventSourcedEntity: JavaSdkEventSourcedEntity[S, Any],
+    javaSdkEventSourcedEntity: JavaEventSourcedEntityAdapter[S],
     scalaSdkRouter: EventSourcedEntityRouter[S, EventSourcedEntity[S]])
     extends JavaSdkEventSourcedEntityRouter[S, Any, JavaSdkEventSourcedEntity[S, Any]](javaSdkEventSourcedEntity) {
 
@@ -115,7 +146,8 @@ private[scalasdk] final class JavaEventSourcedEntityRouterAdapter[S](
       state: S,
       command: Any,
       context: JavaSdkCommandContext): JavaSdkEventSourcedEntity.Effect[_] = {
-    scalaSdkRouter.handleCommand(commandName, state, command, new JavaCommandContextAdapter(context)) match {
+    val scalaSdkContext = javaSdkEventSourcedEntity.commandContextFor(context)
+    scalaSdkRouter.handleCommand(commandName, state, command, scalaSdkContext) match {
       case EventSourcedEntityEffectImpl(javasdkEffectImpl) => javasdkEffectImpl
     }
   }
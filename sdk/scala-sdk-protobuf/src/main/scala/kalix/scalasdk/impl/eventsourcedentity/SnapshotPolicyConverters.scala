@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.impl.eventsourcedentity
+
+import scala.compat.java8.DurationConverters.DurationOps
+import scala.compat.java8.DurationConverters.FiniteDurationops
+import scala.concurrent.duration.FiniteDuration
+
+import kalix.javasdk
+import kalix.scalasdk
+
+private[scalasdk] object SnapshotPolicyConverters {
+
+  def toJava(policy: scalasdk.eventsourcedentity.SnapshotPolicy): javasdk.eventsourcedentity.SnapshotPolicy =
+    (stats: javasdk.eventsourcedentity.SnapshotPolicy.Stats) => policy.shouldSnapshot(new ScalaStatsAdapter(stats))
+
+  def toScala(policy: javasdk.eventsourcedentity.SnapshotPolicy): scalasdk.eventsourcedentity.SnapshotPolicy =
+    (stats: scalasdk.eventsourcedentity.SnapshotPolicy.Stats) => policy.shouldSnapshot(new JavaStatsAdapter(stats))
+
+  private final class ScalaStatsAdapter(stats: javasdk.eventsourcedentity.SnapshotPolicy.Stats)
+      extends scalasdk.eventsourcedentity.SnapshotPolicy.Stats {
+    override def sequenceNumber: Long = stats.sequenceNumber()
+    override def eventsSinceSnapshot: Long = stats.eventsSinceSnapshot()
+    override def eventBytesSinceSnapshot: Long = stats.eventBytesSinceSnapshot()
+    override def replayTime: FiniteDuration = stats.replayTime().toScala
+  }
+
+  private final class JavaStatsAdapter(stats: scalasdk.eventsourcedentity.SnapshotPolicy.Stats)
+      extends javasdk.eventsourcedentity.SnapshotPolicy.Stats {
+    override def sequenceNumber(): Long = stats.sequenceNumber
+    override def eventsSinceSnapshot(): Long = stats.eventsSinceSnapshot
+    override def eventBytesSinceSnapshot(): Long = stats.eventBytesSinceSnapshot
+    override def replayTime(): java.time.Duration = stats.replayTime.toJava
+  }
+}
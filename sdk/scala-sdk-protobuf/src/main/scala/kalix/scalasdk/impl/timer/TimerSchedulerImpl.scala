@@ -16,10 +16,11 @@
 
 package kalix.scalasdk.impl.timer
 
-import scala.concurrent.ExecutionContext
+import scala.concurrent.ExecutionContext.parasitic
 import scala.concurrent.Future
 import scala.concurrent.duration.FiniteDuration
 import scala.jdk.DurationConverters.ScalaDurationOps
+import scala.util.control.NonFatal
 
 import akka.Done
 import akka.actor.ActorSystem
@@ -28,9 +29,11 @@ import com.google.protobuf.wrappers.StringValue
 import kalix.javasdk.impl.GrpcDeferredCall
 import kalix.javasdk.impl.GrpcClients
 import kalix.javasdk.impl.MessageCodec
+import kalix.javasdk.impl.timer.{ TimerSchedulerImpl => JavaTimerSchedulerImpl }
 import kalix.scalasdk.DeferredCall
 import kalix.scalasdk.impl.ScalaDeferredCallAdapter
 import kalix.scalasdk.timer.TimerScheduler
+import kalix.scalasdk.timer.TimerSpec
 import kalix.timers.timers.Call
 import kalix.timers.timers.SingleTimer
 import kalix.timers.timers.TimerService
@@ -38,6 +41,8 @@ import kalix.timers.timers.TimerService
 /** INTERNAL API */
 private[kalix] final class TimerSchedulerImpl(messageCodec: MessageCodec, system: ActorSystem) extends TimerScheduler {
 
+  private lazy val timerServiceClient = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
+
   override def startSingleTimer[I, O](
       name: String,
       delay: FiniteDuration,
@@ -48,12 +53,33 @@ private[kalix] final class TimerSchedulerImpl(messageCodec: MessageCodec, system
       name: String,
       delay: FiniteDuration,
       maxRetries: Int,
-      deferredCall: DeferredCall[I, O]): Future[Done] = {
-    val timerServiceClient = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
+      deferredCall: DeferredCall[I, O]): Future[Done] =
+    timerServiceClient.addSingle(singleTimer(name, delay, maxRetries, deferredCall)).map(_ => Done)(parasitic)
+
+  override def startSingleTimers(timers: Iterable[TimerSpec]): Future[Done] =
+    try {
+      // encode all timers before sending any of them, so that an invalid call doesn't leave a partially scheduled batch
+      val singleTimers =
+        timers.iterator.map(timer => singleTimer(timer.name, timer.delay, timer.maxRetries, timer.deferredCall)).toList
+      JavaTimerSchedulerImpl.sendAll(singleTimers, system)(timerServiceClient.addSingle)
+    } catch {
+      case NonFatal(ex) => Future.failed(ex)
+    }
 
+  override def cancel(name: String): Future[Done] =
+    timerServiceClient.remove(StringValue(name)).map(_ => Done)(parasitic)
+
+  override def cancel(names: Iterable[String]): Future[Done] =
+    JavaTimerSchedulerImpl.sendAll(names.iterator.map(StringValue(_)).toList, system)(timerServiceClient.remove)
+
+  private def singleTimer(
+      name: String,
+      delay: FiniteDuration,
+      maxRetries: Int,
+      deferredCall: DeferredCall[_, _]): SingleTimer = {
     val deferredCallImpl =
       deferredCall match {
-        case ScalaDeferredCallAdapter(deferredCallImpl: GrpcDeferredCall[I, O] @unchecked) => deferredCallImpl
+        case ScalaDeferredCallAdapter(deferredCallImpl: GrpcDeferredCall[_, _]) => deferredCallImpl
         // should not happen as we always need to pass ScalaDeferredCallAdapter(DeferredCallImpl)
         case other =>
           throw new RuntimeException(
@@ -66,13 +92,6 @@ private[kalix] final class TimerSchedulerImpl(messageCodec: MessageCodec, system
         deferredCallImpl.methodName,
         Some(messageCodec.encodeScala(deferredCall.message)))
 
-    val singleTimer = SingleTimer(name, Some(call), Some(ProtoDuration(delay.toJava)))
-    timerServiceClient.addSingle(singleTimer).map(_ => Done)(ExecutionContext.parasitic)
-
-  }
-
-  override def cancel(name: String): Future[Done] = {
-    val timerServiceClient = GrpcClients(system).getProxyGrpcClient(classOf[TimerService])
-    timerServiceClient.remove(StringValue(name)).map(_ => Done)(ExecutionContext.parasitic)
+    SingleTimer(name, Some(call), Some(ProtoDuration(delay.toJava)), maxRetries)
   }
 }
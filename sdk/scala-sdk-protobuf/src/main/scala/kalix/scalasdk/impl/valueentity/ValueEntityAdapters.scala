@@ -37,10 +37,25 @@ import scala.jdk.OptionConverters._
 private[scalasdk] final class JavaValueEntityAdapter[S](scalaSdkValueEntity: ValueEntity[S])
     extends javasdk.valueentity.ValueEntity[S] {
 
+  // the adapter for the context of the current command, shared by the command handler and the side effects, which
+  // each set the same context, rather than created each time, adapters are never rebound to another command
+  private var commandContext: Option[ScalaCommandContextAdapter] = None
+
   override def emptyState(): S = scalaSdkValueEntity.emptyState
 
   override def _internalSetCommandContext(context: Optional[javasdk.valueentity.CommandContext]): Unit =
-    scalaSdkValueEntity._internalSetCommandContext(context.map(new ScalaCommandContextAdapter(_)).toScala)
+    if (context.isPresent) {
+      commandContextFor(context.get)
+      scalaSdkValueEntity._internalSetCommandContext(commandContext)
+    } else {
+      scalaSdkValueEntity._internalSetCommandContext(None)
+    }
+
+  def commandContextFor(context: javasdk.valueentity.CommandContext): CommandContext = {
+    if (commandContext.forall(_.javaSdkContext ne context))
+      commandContext = Some(new ScalaCommandContextAdapter(context))
+    commandContext.get
+  }
 }
 
 private[scalasdk] final class JavaValueEntityProviderAdapter[S, E <: ValueEntity[S]](
@@ -69,7 +84,7 @@ private[scalasdk] final class JavaValueEntityProviderAdapter[S, E <: ValueEntity
 }
 
 private[scalasdk] final class JavaValueEntityRouterAdapter[S](
-    javaSdkValueEntity: javasdk.valueentity.ValueEntity[S],
+    javaSdkValueEntity: JavaValueEntityAdapter[S],
     scalaSdkRouter: ValueEntityRouter[S, ValueEntity[S]])
     extends javasdk.impl.valueentity.ValueEntityRouter[S, javasdk.valueentity.ValueEntity[S]](javaSdkValueEntity) {
 
@@ -78,7 +93,8 @@ private[scalasdk] final class JavaValueEntityRouterAdapter[S](
       state: S,
       command: Any,
       context: javasdk.valueentity.CommandContext): javasdk.valueentity.ValueEntity.Effect[_] = {
-    scalaSdkRouter.handleCommand(commandName, state, command, new ScalaCommandContextAdapter(context)) match {
+    val scalaSdkContext = javaSdkValueEntity.commandContextFor(context)
+    scalaSdkRouter.handleCommand(commandName, state, command, scalaSdkContext) match {
       case ValueEntityEffectImpl(javaSdkEffectImpl) => javaSdkEffectImpl
     }
   }
@@ -99,6 +115,12 @@ private[scalasdk] final class JavaValueEntityOptionsAdapter(scalaSdkValueEntityO
       passivationStrategy: javasdk.PassivationStrategy): javasdk.valueentity.ValueEntityOptions =
     new JavaValueEntityOptionsAdapter(
       scalaSdkValueEntityOptions.withPassivationStrategy(PassivationStrategyConverters.toScala(passivationStrategy)))
+
+  override def compressionThreshold(): Optional[Integer] =
+    scalaSdkValueEntityOptions.compressionThreshold.map(Int.box).toJava
+
+  def withCompression(thresholdBytes: Int): javasdk.valueentity.ValueEntityOptions =
+    new JavaValueEntityOptionsAdapter(scalaSdkValueEntityOptions.withCompression(thresholdBytes))
 }
 
 private[scalasdk] final class ScalaCommandContextAdapter(val javaSdkContext: javasdk.valueentity.CommandContext)
@@ -16,6 +16,7 @@
 
 package kalix.scalasdk.timer
 
+import scala.concurrent.ExecutionContext
 import scala.concurrent.Future
 import scala.concurrent.duration.FiniteDuration
 
@@ -77,4 +78,36 @@ trait TimerScheduler {
    */
   def cancel(name: String): Future[Done]
 
+  /**
+   * Schedule several single timers in Kalix, see `startSingleTimer`. The timer scheduler provided by the SDK schedules
+   * them with a bounded number of concurrent requests instead of one after the other.
+   *
+   * The returned `Future` completes once all timers are scheduled. If scheduling one of them fails, it fails and the
+   * timers not scheduled yet are skipped. Timers already scheduled are kept, and since a timer with the same name
+   * replaces the previous one, the whole batch can be retried.
+   *
+   * The default implementation schedules the timers one after the other.
+   *
+   * @param timers
+   *   the timers to schedule
+   */
+  def startSingleTimers(timers: Iterable[TimerSpec]): Future[Done] =
+    timers.foldLeft(Future.successful[Done](Done)) { (previous, timer) =>
+      previous.flatMap(_ => startSingleTimer(timer.name, timer.delay, timer.maxRetries, timer.deferredCall))(
+        ExecutionContext.parasitic)
+    }
+
+  /**
+   * Cancel several existing timers. The timer scheduler provided by the SDK cancels them with a bounded number of
+   * concurrent requests, the default implementation one after the other. The returned `Future` completes once all
+   * timers are cancelled, timers that are not registered are ignored.
+   *
+   * @param names
+   *   the names of the timers to cancel
+   */
+  def cancel(names: Iterable[String]): Future[Done] =
+    names.foldLeft(Future.successful[Done](Done)) { (previous, name) =>
+      previous.flatMap(_ => cancel(name))(ExecutionContext.parasitic)
+    }
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.timer
+
+import scala.concurrent.duration.FiniteDuration
+
+import kalix.scalasdk.DeferredCall
+
+/**
+ * A single timer to schedule together with others through `TimerScheduler.startSingleTimers`. The parameters have the
+ * same meaning as for `TimerScheduler.startSingleTimer`.
+ *
+ * @param name
+ *   unique name for the timer
+ * @param delay
+ *   delay, starting from now, in which the timer should be triggered
+ * @param maxRetries
+ *   Retry up to this many times
+ * @param deferredCall
+ *   a call to component that will be executed when the timer is triggered
+ */
+final case class TimerSpec(name: String, delay: FiniteDuration, maxRetries: Int, deferredCall: DeferredCall[_, _])
+
+object TimerSpec {
+
+  /** A timer that is retried until the call succeeds. */
+  def apply(name: String, delay: FiniteDuration, deferredCall: DeferredCall[_, _]): TimerSpec =
+    TimerSpec(name, delay, 0, deferredCall)
+}
@@ -25,14 +25,29 @@ trait ValueEntityOptions extends EntityOptions {
   @deprecated(message = "passivation strategy is ignored", since = "1.1.4")
   def withPassivationStrategy(strategy: PassivationStrategy): ValueEntityOptions
   def withForwardHeaders(headers: Set[String]): ValueEntityOptions
+
+  /** The size in bytes from which states are compressed, if enabled with `withCompression`. */
+  def compressionThreshold: Option[Int]
+
+  /**
+   * Compress states of at least the given size in bytes before sending them to Kalix, to reduce storage and network
+   * usage. Compressed payloads are transparently decompressed when read by the entity itself.
+   *
+   * Compressed states are stored with a different type url (with a `;deflate` suffix) and can not be read by anything
+   * else: views and subscriptions consuming the state changes of the entity, in this service or in other services, no
+   * longer match or decode them, and neither can Kalix itself. Only enable this for entities whose state changes are
+   * not consumed elsewhere.
+   */
+  def withCompression(thresholdBytes: Int): ValueEntityOptions
 }
 object ValueEntityOptions {
   val defaults: ValueEntityOptions =
-    ValueEntityOptionsImpl(PassivationStrategy.defaultTimeout, Set.empty)
+    ValueEntityOptionsImpl(PassivationStrategy.defaultTimeout, Set.empty, None)
 
   private[kalix] final case class ValueEntityOptionsImpl(
       passivationStrategy: scalasdk.PassivationStrategy,
-      forwardHeaders: Set[String])
+      forwardHeaders: Set[String],
+      compressionThreshold: Option[Int])
       extends ValueEntityOptions {
 
     override def withForwardHeaders(headers: Set[String]): ValueEntityOptions =
@@ -40,5 +55,10 @@ object ValueEntityOptions {
 
     override def withPassivationStrategy(passivationStrategy: scalasdk.PassivationStrategy): ValueEntityOptions =
       copy(passivationStrategy = passivationStrategy)
+
+    override def withCompression(thresholdBytes: Int): ValueEntityOptions = {
+      require(thresholdBytes >= 0, s"thresholdBytes must not be negative, was [$thresholdBytes]")
+      copy(compressionThreshold = Some(thresholdBytes))
+    }
   }
 }
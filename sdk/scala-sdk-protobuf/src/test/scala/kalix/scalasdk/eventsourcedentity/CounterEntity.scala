@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.eventsourcedentity
+
+final case class Increase(value: Int)
+final case class Decrease(value: Int)
+
+class Increased(val value: Int)
+final class IncreasedTwice(value: Int) extends Increased(value * 2)
+final case class Decreased(value: Int)
+
+class CounterEntity extends EventSourcedEntity[Int] {
+
+  override def emptyState: Int = 0
+
+  def increase(state: Int, command: Increase): EventSourcedEntity.Effect[Int] =
+    effects.emitEvent(new Increased(command.value)).thenReply(state => state)
+
+  def decrease(state: Int, command: Decrease): EventSourcedEntity.Effect[Int] =
+    effects.emitEvent(Decreased(command.value)).thenReply(state => state)
+
+  def increased(state: Int, event: Increased): Int = state + event.value
+
+  def decreased(state: Int, event: Decreased): Int = state - event.value
+}
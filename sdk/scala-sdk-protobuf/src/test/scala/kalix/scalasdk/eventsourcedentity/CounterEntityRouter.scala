@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.eventsourcedentity
+
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.CommandHandlerNotFound
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.EventHandlerNotFound
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.eventClassIndex
+import kalix.scalasdk.impl.eventsourcedentity.EventSourcedEntityRouter
+
+// in the form generated by the Scala codegen, so that the SDK build compiles and runs it
+
+object CounterEntityRouter {
+  private val eventClasses =
+    eventClassIndex(
+      classOf[Increased],
+      classOf[Decreased])
+}
+
+/** Generated, does the routing from command name to concrete method */
+class CounterEntityRouter(entity: CounterEntity) extends EventSourcedEntityRouter[Int, CounterEntity](entity) {
+  def handleCommand(
+      commandName: String,
+      state: Int,
+      command: Any,
+      context: CommandContext): EventSourcedEntity.Effect[_] = {
+    commandName match {
+      case "Increase" =>
+        entity.increase(state, command.asInstanceOf[Increase])
+
+      case "Decrease" =>
+        entity.decrease(state, command.asInstanceOf[Decrease])
+
+      case _ =>
+        throw new CommandHandlerNotFound(commandName)
+    }
+  }
+  def handleEvent(state: Int, event: Any): Int = {
+    CounterEntityRouter.eventClasses.indexOf(event) match {
+      case 0 =>
+        entity.increased(state, event.asInstanceOf[Increased])
+
+      case 1 =>
+        entity.decreased(state, event.asInstanceOf[Decreased])
+
+      case _ =>
+        throw new EventHandlerNotFound(event.getClass)
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.impl.eventsourcedentity
+
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.CommandHandlerNotFound
+import kalix.javasdk.impl.eventsourcedentity.EventSourcedEntityRouter.EventHandlerNotFound
+import kalix.scalasdk.eventsourcedentity.CounterEntity
+import kalix.scalasdk.eventsourcedentity.CounterEntityRouter
+import kalix.scalasdk.eventsourcedentity.Decreased
+import kalix.scalasdk.eventsourcedentity.Increased
+import kalix.scalasdk.eventsourcedentity.IncreasedTwice
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class EventSourcedEntityRouterSpec extends AnyWordSpec with Matchers {
+
+  private val router = new CounterEntityRouter(new CounterEntity)
+
+  "A router in the generated form" should {
+
+    "dispatch events to the handler of their class" in {
+      router.handleEvent(0, new Increased(3)) shouldBe 3
+      router.handleEvent(3, Decreased(1)) shouldBe 2
+    }
+
+    "dispatch events to the handler of their superclass" in {
+      router.handleEvent(0, new IncreasedTwice(2)) shouldBe 4
+    }
+
+    "fail for events without handler" in {
+      intercept[EventHandlerNotFound](router.handleEvent(0, "unknown")).eventClass shouldBe classOf[String]
+    }
+
+    "fail for commands without handler" in {
+      val exception = intercept[CommandHandlerNotFound](router.handleCommand("Unknown", 0, "unknown", null))
+      exception.commandName shouldBe "Unknown"
+    }
+  }
+}
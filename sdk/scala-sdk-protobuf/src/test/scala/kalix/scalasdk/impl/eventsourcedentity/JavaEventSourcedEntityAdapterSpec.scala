@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.impl.eventsourcedentity
+
+import java.util.Optional
+
+import akka.stream.Materializer
+import kalix.javasdk
+import kalix.javasdk.impl.MetadataImpl
+import kalix.scalasdk.eventsourcedentity.CommandContext
+import kalix.scalasdk.eventsourcedentity.EventSourcedEntity
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class JavaEventSourcedEntityAdapterSpec extends AnyWordSpec with Matchers {
+
+  private class ContextCapturingEntity extends EventSourcedEntity[Int] {
+    override def emptyState: Int = 0
+    def currentCommandContext(): CommandContext = commandContext()
+  }
+
+  private def javaContext(name: String, id: Long): javasdk.eventsourcedentity.CommandContext =
+    new javasdk.eventsourcedentity.CommandContext {
+      override def sequenceNumber(): Long = id
+      override def commandName(): String = name
+      override def commandId(): Long = id
+      override def entityId(): String = "entity"
+      override def metadata(): javasdk.Metadata = MetadataImpl.Empty.add("authorization", s"Bearer $name")
+      override def materializer(): Materializer = null
+    }
+
+  "The Java event sourced entity adapter" should {
+
+    "not change a captured command context when the next command arrives" in {
+      val entity = new ContextCapturingEntity
+      val adapter = new JavaEventSourcedEntityAdapter(entity)
+
+      adapter._internalSetCommandContext(Optional.of(javaContext("first", 1)))
+      val captured = entity.currentCommandContext()
+      adapter._internalSetCommandContext(Optional.empty())
+      adapter._internalSetCommandContext(Optional.of(javaContext("second", 2)))
+
+      entity.currentCommandContext().commandName shouldBe "second"
+      captured.commandName shouldBe "first"
+      captured.commandId shouldBe 1
+      captured.sequenceNumber shouldBe 1
+      captured.metadata.get("authorization") shouldBe Some("Bearer first")
+    }
+
+    "share the command context between the command handler and the side effects of a command" in {
+      val entity = new ContextCapturingEntity
+      val adapter = new JavaEventSourcedEntityAdapter(entity)
+      val context = javaContext("first", 1)
+
+      adapter._internalSetCommandContext(Optional.of(context))
+      val handlerContext = adapter.commandContextFor(context)
+      entity.currentCommandContext() should be theSameInstanceAs handlerContext
+      adapter._internalSetCommandContext(Optional.empty())
+      adapter._internalSetCommandContext(Optional.of(context))
+      entity.currentCommandContext() should be theSameInstanceAs handlerContext
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Lightbend Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kalix.scalasdk.impl.eventsourcedentity
+
+import java.time.Duration
+import java.util.Optional
+
+import scala.concurrent.duration._
+
+import kalix.javasdk
+import kalix.scalasdk.eventsourcedentity.EventSourcedEntityOptions
+import kalix.scalasdk.eventsourcedentity.SnapshotPolicy
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class JavaEventSourcedEntityOptionsAdapterSpec extends AnyWordSpec with Matchers {
+
+  private def javaStats(events: Long, replay: Duration): javasdk.eventsourcedentity.SnapshotPolicy.Stats =
+    new javasdk.eventsourcedentity.SnapshotPolicy.Stats {
+      override def sequenceNumber(): Long = events
+      override def eventsSinceSnapshot(): Long = events
+      override def eventBytesSinceSnapshot(): Long = 0
+      override def replayTime(): Duration = replay
+    }
+
+  "The Java options adapter" should {
+
+    "pass the Scala snapshot policy to the Java SDK" in {
+      val options = EventSourcedEntityOptions.defaults
+        .withSnapshotPolicy(SnapshotPolicy.everyEvents(10).or(SnapshotPolicy.whenReplayTimeExceeds(1.second)))
+      val policy = new JavaEventSourcedEntityOptionsAdapter(options).snapshotPolicy().get()
+
+      policy.shouldSnapshot(javaStats(3, Duration.ofMillis(10))) shouldBe false
+      policy.shouldSnapshot(javaStats(10, Duration.ofMillis(10))) shouldBe true
+      policy.shouldSnapshot(javaStats(3, Duration.ofSeconds(2))) shouldBe true
+    }
+
+    "pass the Scala compression threshold to the Java SDK" in {
+      val adapter = new JavaEventSourcedEntityOptionsAdapter(EventSourcedEntityOptions.defaults)
+      adapter.snapshotPolicy() shouldBe Optional.empty()
+      adapter.compressionThreshold() shouldBe Optional.empty()
+      adapter.withCompression(512).compressionThreshold() shouldBe Optional.of(Int.box(512))
+    }
+  }
+}